@@ -1,23 +1,38 @@
 package com.example.codegardener.community.controller;
 
-import com.example.codegardener.community.dto.MainPageResponseDto;
-import com.example.codegardener.community.service.MainPageService;
+import com.example.codegardener.community.service.MainPageSnapshotService;
+import com.example.codegardener.community.service.MainPageSnapshotService.Snapshot;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
+import java.time.Instant;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/main")
 public class MainPageController {
 
-    private final MainPageService mainPageService;
+    private final MainPageSnapshotService mainPageSnapshotService;
 
+    /**
+     * 미리 계산된 스냅샷을 그대로 내려준다 (요청마다 DB 접근 없음).
+     * 응답 헤더로 스냅샷 생성 시각(Last-Modified)과 경과 시간(Age, 초 / X-Snapshot-Age-Ms, 밀리초)을 알려준다.
+     */
     @GetMapping
-    public ResponseEntity<MainPageResponseDto> getMainPage() {
-        MainPageResponseDto mainPageData = mainPageService.getMainPageData();
-        return ResponseEntity.ok(mainPageData);
+    public ResponseEntity<byte[]> getMainPage() {
+        Snapshot snapshot = mainPageSnapshotService.current();
+        long ageMs = Math.max(0, Duration.between(snapshot.generatedAt(), Instant.now()).toMillis());
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .lastModified(snapshot.generatedAt())
+                .header("Age", String.valueOf(ageMs / 1000))
+                .header("X-Snapshot-Age-Ms", String.valueOf(ageMs))
+                .body(snapshot.json());
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,6 @@
 package com.example.codegardener.community.dto;
 
-import com.example.codegardener.post.dto.PostResponseDto;
+import com.example.codegardener.post.dto.PostCardDto;
 import com.example.codegardener.user.dto.UserResponseDto;
 import lombok.Builder;
 import lombok.Getter;
@@ -12,6 +12,6 @@ import java.util.List;
 public class MainPageResponseDto {
     private UserResponseDto userInfo; // 로그인한 사용자 정보 (비로그인 시 null)
 
-    private List<PostResponseDto> popularDevPosts; // 인기 개발 게시물
-    private List<PostResponseDto> popularCodingTestPosts; // 인기 코테 게시물
+    private List<PostCardDto> popularDevPosts; // 인기 개발 게시물
+    private List<PostCardDto> popularCodingTestPosts; // 인기 코테 게시물
 }
\ No newline at end of file
@@ -1,23 +1,32 @@
 package com.example.codegardener.community.service;
 
 import com.example.codegardener.community.dto.MainPageResponseDto;
-import com.example.codegardener.post.dto.PostResponseDto;
+import com.example.codegardener.post.dto.PostCardDto;
 import com.example.codegardener.post.service.PostService;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
 @Service
-@RequiredArgsConstructor
 public class MainPageService {
 
+    private static final int POPULAR_LIMIT = 4;
+
     private final PostService postService;
+    private final String popularOrder; // likes: 누적 좋아요순 / trending: 시간 감쇠 트렌딩순
+
+    public MainPageService(PostService postService,
+                           @Value("${main.popular-order:likes}") String popularOrder) {
+        this.postService = postService;
+        this.popularOrder = popularOrder;
+    }
 
+    /** 메인 페이지 데이터 계산 — 요청 경로가 아니라 MainPageSnapshotService 가 주기적으로 호출 */
     public MainPageResponseDto getMainPageData() {
         // PostService를 호출하여 각각의 인기 게시물 목록을 가져옴
-        List<PostResponseDto> devPosts = postService.getPopularPosts(true); // true: 개발
-        List<PostResponseDto> codingTestPosts = postService.getPopularPosts(false); // false: 코테
+        List<PostCardDto> devPosts = popularPosts(true); // true: 개발
+        List<PostCardDto> codingTestPosts = popularPosts(false); // false: 코테
 
         // Builder를 사용하여 DTO를 생성하고 반환
         return MainPageResponseDto.builder()
@@ -25,4 +34,11 @@ public class MainPageService {
                 .popularCodingTestPosts(codingTestPosts)
                 .build();
     }
-}
\ No newline at end of file
+
+    private List<PostCardDto> popularPosts(boolean contentsType) {
+        if ("trending".equalsIgnoreCase(popularOrder)) {
+            return postService.getTrendingPosts(contentsType, POPULAR_LIMIT);
+        }
+        return postService.getPopularPosts(contentsType);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.codegardener.community.service;
+
+import com.example.codegardener.community.dto.MainPageResponseDto;
+import com.example.codegardener.post.counter.PostLikeChangedEvent;
+import com.example.codegardener.post.dto.PostCardDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 메인 페이지 응답을 미리 계산해 직렬화된 JSON 바이트로 들고 있는 스냅샷.
+ * - 주기적으로 다시 계산하고, 의미 있는 좋아요 변화가 있으면 앞당겨 갱신
+ *   (스냅샷에 노출 중인 게시물의 좋아요, 또는 마지막 갱신 이후 누적 좋아요 변화가 임계치 이상)
+ *   갱신 시 순위는 쓰기 지연 버퍼의 미반영 좋아요까지 더해 매기므로 버퍼 플러시를 기다릴 필요가 없다
+ *   (PostService.getPopularPosts, 트렌딩은 PostTrendingIndex 가 기록 시점에 바로 반영)
+ * - 좋아요 폭주 시에도 갱신은 짧은 주기의 dirty 검사로 합쳐져 한 번만 일어난다
+ * - /api/main 은 이 바이트를 그대로 내려보내므로 요청 경로에서 DB 접근이 없다
+ */
+@Slf4j
+@Service
+public class MainPageSnapshotService {
+
+    private static final int SIGNIFICANT_LIKE_CHANGES = 50;
+
+    private final MainPageService mainPageService;
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot current;
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private final AtomicInteger likeChangesSinceRefresh = new AtomicInteger();
+
+    public MainPageSnapshotService(MainPageService mainPageService, ObjectMapper objectMapper) {
+        this.mainPageService = mainPageService;
+        this.objectMapper = objectMapper;
+    }
+
+    /** 현재 스냅샷 (아직 없으면 한 번 계산) */
+    public Snapshot current() {
+        Snapshot s = current;
+        return (s != null) ? s : refresh();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${main.snapshot.refresh-interval-ms:60000}")
+    public void scheduledRefresh() {
+        refreshQuietly();
+    }
+
+    /** 좋아요 이벤트로 표시된 갱신 요청을 모아서 처리 */
+    @Scheduled(fixedDelayString = "${main.snapshot.dirty-check-interval-ms:1000}")
+    public void refreshIfDirty() {
+        if (dirty.get()) {
+            refreshQuietly();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLikeChanged(PostLikeChangedEvent event) {
+        Snapshot s = current;
+        boolean shown = s != null && s.postIds().contains(event.getPostId());
+        int accumulated = likeChangesSinceRefresh.incrementAndGet();
+        if (shown || accumulated >= SIGNIFICANT_LIKE_CHANGES) {
+            dirty.set(true);
+        }
+    }
+
+    public synchronized Snapshot refresh() {
+        // 계산 도중 들어온 좋아요는 다음 갱신 대상이 되도록 먼저 초기화
+        dirty.set(false);
+        likeChangesSinceRefresh.set(0);
+
+        MainPageResponseDto data = mainPageService.getMainPageData();
+        try {
+            Set<Long> postIds = Stream.concat(data.getPopularDevPosts().stream(), data.getPopularCodingTestPosts().stream())
+                    .map(PostCardDto::getPostId)
+                    .collect(Collectors.toUnmodifiableSet());
+            Snapshot s = new Snapshot(objectMapper.writeValueAsBytes(data), Instant.now(), postIds);
+            current = s;
+            return s;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("메인 페이지 스냅샷 직렬화 실패", e);
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            // 갱신에 실패하면 이전 스냅샷을 계속 제공
+            dirty.set(true);
+            log.warn("[MAIN] snapshot refresh failed, serving previous one: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 불변 스냅샷. json 배열은 외부에서 수정하지 않는다는 약속하에 그대로 응답 본문으로 쓴다.
+     * postIds 는 노출 중인 게시물 (좋아요 이벤트의 갱신 판단용)
+     */
+    public record Snapshot(byte[] json, Instant generatedAt, Set<Long> postIds) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.codegardener.feedback.controller;
+
+import com.example.codegardener.feedback.dto.RatingRebuildReportDto;
+import com.example.codegardener.feedback.rating.RatingAggregateStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+/** 피드백 관리 작업 (관리자 전용 — SecurityConfig 의 /api/admin/**) */
+@RestController
+@RequestMapping("/api/admin/feedback")
+@RequiredArgsConstructor
+public class FeedbackAdminController {
+
+    private final RatingAggregateStore ratingAggregateStore;
+
+    /** 평점 집계 전체 재계산 (최초 백필 / 집계가 어긋났을 때) — 피드백 작성을 막지 않는다 */
+    @PostMapping("/ratings/rebuild")
+    public RatingRebuildReportDto rebuildRatings() {
+        return ratingAggregateStore.rebuild();
+    }
+}
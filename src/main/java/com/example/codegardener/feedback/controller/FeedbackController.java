@@ -79,6 +79,48 @@ public class FeedbackController {
         return ResponseEntity.ok(feedbackService.getFeedbackListByPost(postId));
     }
 
+    /**
+     * ✅ [GET] 게시물별 피드백 커서 목록 (sort: latest | likes | rating, 채택된 피드백은 첫 페이지 맨 앞)
+     */
+    @GetMapping("/post/{postId}/scroll")
+    public ResponseEntity<FeedbackScrollResponseDto> scrollFeedbacksByPost(
+            @PathVariable Long postId,
+            @RequestParam(defaultValue = "latest") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        int safeSize = Math.min(Math.max(size, 1), 50);
+        return ResponseEntity.ok(feedbackService.scrollFeedbacksByPost(postId, sort, cursor, safeSize));
+    }
+
+    /**
+     * ✅ [GET] 게시물의 피드백 스레드 (라인피드백 + 댓글 포함, 한 번에)
+     */
+    @GetMapping("/post/{postId}/thread")
+    public ResponseEntity<List<FeedbackDetailResponseDto>> getFeedbackThread(@PathVariable Long postId) {
+        return ResponseEntity.ok(feedbackService.getFeedbackThread(postId));
+    }
+
+    /**
+     * ✅ [GET] 게시물에서 from~to 줄과 겹치는 라인피드백
+     */
+    @GetMapping("/post/{postId}/lines")
+    public ResponseEntity<List<LineFeedbackDto>> getLineFeedbacksInRange(
+            @PathVariable Long postId,
+            @RequestParam int from,
+            @RequestParam int to
+    ) {
+        return ResponseEntity.ok(feedbackService.getLineFeedbacksInRange(postId, from, to));
+    }
+
+    /**
+     * ✅ [GET] 게시물의 줄별 라인피드백 수 (히트맵)
+     */
+    @GetMapping("/post/{postId}/heatmap")
+    public ResponseEntity<LineHeatmapDto> getLineHeatmap(@PathVariable Long postId) {
+        return ResponseEntity.ok(feedbackService.getLineHeatmap(postId));
+    }
+
     /**
      * ✅ [POST] 피드백 채택
      */
@@ -8,7 +8,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "feedback")
+@Table(name = "feedback", indexes = {
+        // 게시물별 커서 목록(채택 우선 + 정렬 키 + feedbackId) 용 복합 인덱스
+        @Index(name = "idx_feedback_post_latest", columnList = "post_id, adopted_tf, created_at, feedback_id"),
+        @Index(name = "idx_feedback_post_likes", columnList = "post_id, adopted_tf, likes_count, feedback_id"),
+        @Index(name = "idx_feedback_post_rating", columnList = "post_id, adopted_tf, rating, feedback_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
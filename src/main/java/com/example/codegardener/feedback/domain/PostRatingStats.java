@@ -0,0 +1,42 @@
+package com.example.codegardener.feedback.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 게시물별 평점 집계 (피드백 작성/수정/삭제 때 증감분만 반영 — RatingAggregateStore).
+ * 합계는 "평점 × 2" (0.5 단위로 반올림) 의 정수 합으로 오차 없이 쌓는다.
+ * rXX 는 평점별 피드백 수 (r05 = 0.5점, r10 = 1.0점, ... r50 = 5.0점).
+ */
+@Entity
+@Table(name = "post_rating_stats")
+@Getter
+@NoArgsConstructor
+public class PostRatingStats {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "half_point_sum", nullable = false)
+    private long halfPointSum;
+
+    @Column(nullable = false) private long r05;
+    @Column(nullable = false) private long r10;
+    @Column(nullable = false) private long r15;
+    @Column(nullable = false) private long r20;
+    @Column(nullable = false) private long r25;
+    @Column(nullable = false) private long r30;
+    @Column(nullable = false) private long r35;
+    @Column(nullable = false) private long r40;
+    @Column(nullable = false) private long r45;
+    @Column(nullable = false) private long r50;
+
+    /** histogram[i] = 평점 (i+1) × 0.5 인 피드백 수 */
+    public long[] histogram() {
+        return new long[]{r05, r10, r15, r20, r25, r30, r35, r40, r45, r50};
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.codegardener.feedback.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 사용자별 평점 집계 — 내가 준 평점(given)과 내 게시물이 받은 평점(received).
+ * 합계는 PostRatingStats 와 같이 "평점 × 2" 의 정수 합.
+ */
+@Entity
+@Table(name = "user_rating_stats")
+@Getter
+@NoArgsConstructor
+public class UserRatingStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "given_count", nullable = false)
+    private long givenCount;
+
+    @Column(name = "given_half_sum", nullable = false)
+    private long givenHalfSum;
+
+    @Column(name = "received_count", nullable = false)
+    private long receivedCount;
+
+    @Column(name = "received_half_sum", nullable = false)
+    private long receivedHalfSum;
+}
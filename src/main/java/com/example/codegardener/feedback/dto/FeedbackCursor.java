@@ -0,0 +1,78 @@
+package com.example.codegardener.feedback.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 게시물별 피드백 목록 커서.
+ * 정렬은 항상 채택 여부 → 정렬 키(작성 시간/좋아요/평점) → feedbackId 내림차순이며,
+ * 마지막으로 내려준 피드백의 값들을 담는다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class FeedbackCursor {
+
+    private static final String VERSION = "v1";
+
+    // 첫 페이지는 "채택된 피드백보다도 앞" 인 가상의 위치에서 시작한다
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final String sort;
+    private final boolean adopted;
+    private final Long feedbackId;
+    private final LocalDateTime createdAt;
+    private final int likesCount;
+    private final double rating;
+
+    public static FeedbackCursor first(String sort) {
+        return new FeedbackCursor(sort, true, Long.MAX_VALUE, MAX_TIME, Integer.MAX_VALUE, Double.MAX_VALUE);
+    }
+
+    public static FeedbackCursor after(String sort, FeedbackResponseDto last) {
+        return new FeedbackCursor(sort, Boolean.TRUE.equals(last.getAdoptedTF()), last.getFeedbackId(),
+                last.getCreatedAt(), last.getLikesCount(), last.getRating());
+    }
+
+    /** 토큰이 비어 있으면 첫 페이지 커서 */
+    public static FeedbackCursor decodeOrFirst(String token, String sort) {
+        if (token == null || token.isBlank()) return first(sort);
+
+        FeedbackCursor cursor = decode(token);
+        if (!cursor.sort.equals(sort)) {
+            throw new IllegalArgumentException("커서와 정렬 기준이 다릅니다.");
+        }
+        return cursor;
+    }
+
+    private static FeedbackCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length == 7 && VERSION.equals(parts[0])) {
+                return new FeedbackCursor(
+                        parts[1],
+                        Boolean.parseBoolean(parts[2]),
+                        Long.parseLong(parts[3]),
+                        LocalDateTime.parse(parts[4]),
+                        Integer.parseInt(parts[5]),
+                        Double.parseDouble(parts[6])
+                );
+            }
+        } catch (RuntimeException e) {
+            // 아래에서 동일한 메시지로 처리
+        }
+        throw new IllegalArgumentException("잘못된 커서입니다.");
+    }
+
+    public String encode() {
+        String raw = String.join("|",
+                VERSION, sort, String.valueOf(adopted), String.valueOf(feedbackId), createdAt.toString(),
+                String.valueOf(likesCount), String.valueOf(rating));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
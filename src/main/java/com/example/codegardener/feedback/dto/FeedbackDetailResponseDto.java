@@ -1,6 +1,8 @@
 package com.example.codegardener.feedback.dto;
 
 import com.example.codegardener.feedback.domain.Feedback;
+import com.example.codegardener.feedback.domain.FeedbackComment;
+import com.example.codegardener.feedback.domain.LineFeedback;
 import lombok.*;
 
 import java.time.LocalDateTime;
@@ -49,4 +51,21 @@ public class FeedbackDetailResponseDto {
                 )
                 .build();
     }
+
+    // 라인 피드백/댓글을 미리 모아 둔 경우 (연관관계 지연 로딩을 건드리지 않는다)
+    public static FeedbackDetailResponseDto of(Feedback feedback, List<LineFeedback> lineFeedbacks, List<FeedbackComment> comments) {
+        return FeedbackDetailResponseDto.builder()
+                .feedbackId(feedback.getFeedbackId())
+                .postId(feedback.getPostId())
+                .userId(feedback.getUserId())
+                .content(feedback.getContent())
+                .rating(feedback.getRating())
+                .adoptedTF(feedback.getAdoptedTF())
+                .likesCount(feedback.getLikesCount())
+                .createdAt(feedback.getCreatedAt())
+                .updatedAt(feedback.getUpdatedAt())
+                .lineFeedbacks(lineFeedbacks.stream().map(LineFeedbackDto::fromEntity).collect(Collectors.toList()))
+                .comments(comments.stream().map(FeedbackCommentDto::fromEntity).collect(Collectors.toList()))
+                .build();
+    }
 }
@@ -0,0 +1,19 @@
+package com.example.codegardener.feedback.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 게시물별 피드백 커서 목록 응답 — 채택된 피드백은 항상 첫 페이지 맨 앞.
+ * 다음 페이지는 nextCursor 를 cursor 파라미터로 그대로 넘기면 된다 (hasNext=false 면 null).
+ */
+@Getter
+@Builder
+public class FeedbackScrollResponseDto {
+    private List<FeedbackResponseDto> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
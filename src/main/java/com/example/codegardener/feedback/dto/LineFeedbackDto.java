@@ -12,6 +12,7 @@ import java.time.LocalDateTime;
 @Builder
 public class LineFeedbackDto {
     private Long lineFeedbackId;
+    private Long feedbackId;
     private Long userId;
     private Integer lineNumber;
     private Integer endLineNumber;
@@ -21,6 +22,7 @@ public class LineFeedbackDto {
     public static LineFeedbackDto fromEntity(LineFeedback entity) {
         return LineFeedbackDto.builder()
                 .lineFeedbackId(entity.getLineFeedbackId())
+                .feedbackId(entity.getFeedback() != null ? entity.getFeedback().getFeedbackId() : null)
                 .userId(entity.getUserId())
                 .lineNumber(entity.getLineNumber())
                 .endLineNumber(entity.getEndLineNumber())
@@ -0,0 +1,14 @@
+package com.example.codegardener.feedback.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LineHeatmapDto {
+    private Long postId;
+    private int[] counts;   // counts[i] = (i+1)번째 줄에 걸린 라인 피드백 수
+    private int maxCount;
+}
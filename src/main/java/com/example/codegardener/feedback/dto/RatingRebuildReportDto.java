@@ -0,0 +1,14 @@
+package com.example.codegardener.feedback.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RatingRebuildReportDto {
+    private int postRows;   // 값을 바로잡은 게시물 집계 행 수
+    private int userRows;   // 값을 바로잡은 사용자 집계 행 수
+    private long elapsedMs;
+}
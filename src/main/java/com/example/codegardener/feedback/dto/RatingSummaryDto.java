@@ -0,0 +1,33 @@
+package com.example.codegardener.feedback.dto;
+
+import com.example.codegardener.feedback.domain.PostRatingStats;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RatingSummaryDto {
+    private long count;
+    private double average;     // 소수 둘째 자리까지, 피드백이 없으면 0
+    private long[] histogram;   // histogram[i] = 평점 (i+1) × 0.5 인 피드백 수 (10칸)
+
+    public static RatingSummaryDto empty() {
+        return new RatingSummaryDto(0, 0.0, new long[10]);
+    }
+
+    public static RatingSummaryDto from(PostRatingStats stats) {
+        return new RatingSummaryDto(
+                stats.getRatingCount(),
+                average(stats.getHalfPointSum(), stats.getRatingCount()),
+                stats.histogram()
+        );
+    }
+
+    /** "평점 × 2" 합계 → 평균 평점 */
+    public static double average(long halfPointSum, long count) {
+        if (count <= 0) return 0.0;
+        return Math.round(halfPointSum * 50.0 / count) / 100.0;
+    }
+}
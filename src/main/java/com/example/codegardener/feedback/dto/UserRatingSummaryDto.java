@@ -0,0 +1,29 @@
+package com.example.codegardener.feedback.dto;
+
+import com.example.codegardener.feedback.domain.UserRatingStats;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserRatingSummaryDto {
+    private long givenCount;
+    private double givenAverage;      // 내가 남긴 피드백의 평균 평점
+    private long receivedCount;
+    private double receivedAverage;   // 내 게시물에 달린 피드백의 평균 평점
+
+    public static UserRatingSummaryDto empty() {
+        return new UserRatingSummaryDto(0, 0.0, 0, 0.0);
+    }
+
+    public static UserRatingSummaryDto from(UserRatingStats stats) {
+        return new UserRatingSummaryDto(
+                stats.getGivenCount(),
+                RatingSummaryDto.average(stats.getGivenHalfSum(), stats.getGivenCount()),
+                stats.getReceivedCount(),
+                RatingSummaryDto.average(stats.getReceivedHalfSum(), stats.getReceivedCount())
+        );
+    }
+}
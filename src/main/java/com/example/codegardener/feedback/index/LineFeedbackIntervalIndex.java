@@ -0,0 +1,203 @@
+package com.example.codegardener.feedback.index;
+
+import com.example.codegardener.post.index.PostDocument;
+import com.example.codegardener.post.index.PostIndexer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 게시물별 라인 피드백 범위(lineNumber ~ endLineNumber) 구간 색인.
+ * - 시작 줄 순으로 정렬한 배열 위에 암시적 균형 트리(가운데 원소가 루트)를 두고 서브트리 최대 끝 줄을 함께 저장
+ *   → "X~Y 줄과 겹치는 라인 피드백" 을 O(log n + 결과 수)로 찾는다
+ * - 줄마다 걸린 라인 피드백 수(히트맵)를 미리 계산해 둔다
+ * 게시물은 처음 조회될 때 DB 에서 한 번 읽어 채우고(크기 + TTL 제한), 이후 라인 피드백 등록/수정/삭제는
+ * 커밋 후 lineFeedbackId 기준 put/remove 로 반영한다 (같은 변경이 두 번 들어와도 결과가 같다).
+ */
+@Component
+public class LineFeedbackIntervalIndex implements PostIndexer {
+
+    private static final long MAX_POSTS = 10_000;
+    private static final Duration TTL = Duration.ofMinutes(30);
+    private static final int MAX_HEATMAP_LINES = 100_000; // 잘못 들어온 큰 줄 번호로 배열이 커지지 않도록
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<Long, PostIntervals> cache = Caffeine.newBuilder()
+            .maximumSize(MAX_POSTS)
+            .expireAfterAccess(TTL)
+            .build();
+
+    /** 라인 피드백 하나의 범위 (endLine 은 포함, 한 줄짜리는 startLine == endLine) */
+    public record Interval(long lineFeedbackId, long feedbackId, int startLine, int endLine) {
+
+        public static Interval of(long lineFeedbackId, long feedbackId, Integer lineNumber, Integer endLineNumber) {
+            int start = lineNumber;
+            int end = (endLineNumber == null) ? start : endLineNumber;
+            return new Interval(lineFeedbackId, feedbackId, Math.min(start, end), Math.max(start, end));
+        }
+    }
+
+    public LineFeedbackIntervalIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // ====================== 조회 ======================
+
+    /** from~to 줄과 겹치는 라인 피드백 (시작 줄, id 순) */
+    public List<Interval> overlapping(Long postId, int from, int to) {
+        return snapshot(postId).overlapping(Math.min(from, to), Math.max(from, to));
+    }
+
+    /** heatmap[i] = (i+1)번째 줄에 걸린 라인 피드백 수. 복사본이다 */
+    public int[] heatmap(Long postId) {
+        return snapshot(postId).heatmap();
+    }
+
+    private PostIntervals snapshot(Long postId) {
+        return cache.get(postId, this::load);
+    }
+
+    private PostIntervals load(Long postId) {
+        List<Interval> intervals = jdbcTemplate.query("""
+                SELECT l.line_feedback_id, l.feedback_id, l.line_number, l.end_line_number
+                FROM line_feedback l
+                JOIN feedback f ON f.feedback_id = l.feedback_id
+                WHERE f.post_id = ?
+                """, (rs, i) -> Interval.of(rs.getLong(1), rs.getLong(2),
+                rs.getInt(3), rs.getObject(4, Integer.class)), postId);
+        Map<Long, Interval> byId = new HashMap<>();
+        intervals.forEach(iv -> byId.put(iv.lineFeedbackId(), iv));
+        return PostIntervals.build(byId);
+    }
+
+    // ====================== 변경 반영 ======================
+
+    /** 등록/수정 — 커밋 후 반영. 아직 읽어 둔 적 없는 게시물은 다음 조회 때 DB 에서 읽는다 */
+    public void putAfterCommit(Long postId, Interval interval) {
+        afterCommit(() -> cache.asMap().computeIfPresent(postId, (k, cur) -> cur.with(interval)));
+    }
+
+    public void removeAfterCommit(Long postId, Long lineFeedbackId) {
+        afterCommit(() -> cache.asMap().computeIfPresent(postId, (k, cur) -> cur.without(lineFeedbackId)));
+    }
+
+    /** 피드백 삭제처럼 여러 라인 피드백이 한꺼번에 바뀔 때 — 다음 조회에서 다시 읽는다 */
+    public void invalidateAfterCommit(Long postId) {
+        afterCommit(() -> cache.invalidate(postId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @Override
+    public void index(PostDocument document) {
+        // 코드가 바뀌어도 기존 라인 피드백의 줄 번호는 그대로 둔다
+    }
+
+    @Override
+    public void remove(Long postId) {
+        cache.invalidate(postId);
+    }
+
+    // ====================== 게시물 하나의 구간 (불변) ======================
+
+    static final class PostIntervals {
+
+        private final Map<Long, Interval> byId;
+        private final Interval[] sorted;   // 시작 줄, id 순
+        private final int[] maxEnd;        // 암시적 트리에서 sorted[mid] 를 루트로 하는 서브트리의 최대 끝 줄
+        private final int[] heatmap;
+
+        private PostIntervals(Map<Long, Interval> byId, int[] heatmap) {
+            this.byId = byId;
+            this.sorted = byId.values().stream()
+                    .sorted(Comparator.comparingInt(Interval::startLine).thenComparingLong(Interval::lineFeedbackId))
+                    .toArray(Interval[]::new);
+            this.maxEnd = new int[sorted.length];
+            buildMaxEnd(0, sorted.length);
+            this.heatmap = heatmap;
+        }
+
+        static PostIntervals build(Map<Long, Interval> byId) {
+            int[] heatmap = new int[0];
+            for (Interval iv : byId.values()) {
+                heatmap = addRange(heatmap, iv, 1);
+            }
+            return new PostIntervals(byId, heatmap);
+        }
+
+        PostIntervals with(Interval interval) {
+            Map<Long, Interval> next = new HashMap<>(byId);
+            Interval old = next.put(interval.lineFeedbackId(), interval);
+            if (interval.equals(old)) return this;
+            int[] heatmap = this.heatmap.clone();
+            if (old != null) heatmap = addRange(heatmap, old, -1);
+            heatmap = addRange(heatmap, interval, 1);
+            return new PostIntervals(next, heatmap);
+        }
+
+        PostIntervals without(Long lineFeedbackId) {
+            if (!byId.containsKey(lineFeedbackId)) return this;
+            Map<Long, Interval> next = new HashMap<>(byId);
+            Interval old = next.remove(lineFeedbackId);
+            return new PostIntervals(next, addRange(this.heatmap.clone(), old, -1));
+        }
+
+        int[] heatmap() {
+            return heatmap.clone();
+        }
+
+        List<Interval> overlapping(int from, int to) {
+            List<Interval> out = new ArrayList<>();
+            collect(0, sorted.length, from, to, out);
+            return out;
+        }
+
+        // [lo, hi) 구간의 가운데가 루트 — 왼쪽 서브트리는 [lo, mid), 오른쪽은 [mid+1, hi)
+        private int buildMaxEnd(int lo, int hi) {
+            if (lo >= hi) return Integer.MIN_VALUE;
+            int mid = (lo + hi) >>> 1;
+            int max = Math.max(sorted[mid].endLine(), Math.max(buildMaxEnd(lo, mid), buildMaxEnd(mid + 1, hi)));
+            maxEnd[mid] = max;
+            return max;
+        }
+
+        private void collect(int lo, int hi, int from, int to, List<Interval> out) {
+            if (lo >= hi) return;
+            int mid = (lo + hi) >>> 1;
+            if (maxEnd[mid] < from) return;            // 이 서브트리는 모두 from 전에 끝남
+            collect(lo, mid, from, to, out);
+            if (sorted[mid].startLine() > to) return;  // 오른쪽은 더 늦게 시작하므로 볼 필요 없음
+            if (sorted[mid].endLine() >= from) out.add(sorted[mid]);
+            collect(mid + 1, hi, from, to, out);
+        }
+
+        // 필요하면 히트맵을 늘린다 (줄 번호는 1부터, 1 미만은 무시)
+        private static int[] addRange(int[] heatmap, Interval iv, int delta) {
+            int start = Math.max(iv.startLine(), 1);
+            int end = Math.min(iv.endLine(), MAX_HEATMAP_LINES);
+            if (end < start) return heatmap;
+            if (end > heatmap.length) heatmap = Arrays.copyOf(heatmap, end);
+            for (int line = start; line <= end; line++) {
+                heatmap[line - 1] += delta;
+            }
+            return heatmap;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.codegardener.feedback.rating;
+
+import com.example.codegardener.feedback.dto.RatingRebuildReportDto;
+import com.example.codegardener.feedback.dto.RatingSummaryDto;
+import com.example.codegardener.feedback.dto.UserRatingSummaryDto;
+import com.example.codegardener.feedback.repository.PostRatingStatsRepository;
+import com.example.codegardener.feedback.repository.UserRatingStatsRepository;
+import com.example.codegardener.post.cache.PostDetailCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * 평점 집계 저장소 (post_rating_stats / user_rating_stats).
+ * 피드백 작성/수정/삭제 때 호출한 쪽 트랜잭션 안에서 "col = col + ?" 증감분 upsert 로만 갱신하므로
+ * 동시에 여러 피드백이 달려도 읽고-고쳐-쓰기 경합이 없고, 조회는 기본키 한 건 읽기다.
+ * 집계는 "평점 × 2" (1~10) 정수로 다룬다 — 합계 오차가 없고 그대로 히스토그램 칸 번호가 된다.
+ * 평점 입력 범위는 예전 그대로 제한하지 않는다. 0.5 단위가 아니거나 범위를 벗어난 평점은
+ * 집계에서만 가장 가까운 0.5 단위 칸(양끝은 0.5 / 5.0)으로 반올림되므로 평균도 그만큼 근사값이다.
+ * 게시물 상세 캐시(PostDetailCache)에 평점 요약이 함께 들어가므로 집계가 바뀌면 커밋 후 무효화한다.
+ * 처음 도입할 때나 어긋났을 때는 rebuild() 로 feedback 테이블 기준으로 바로잡는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RatingAggregateStore {
+
+    private static final String[] BUCKET_COLUMNS = {"r05", "r10", "r15", "r20", "r25", "r30", "r35", "r40", "r45", "r50"};
+    private static final String[] POST_COLUMNS = Stream.concat(
+            Stream.of("rating_count", "half_point_sum"), Arrays.stream(BUCKET_COLUMNS)).toArray(String[]::new);
+    private static final String[] USER_COLUMNS = {"given_count", "given_half_sum", "received_count", "received_half_sum"};
+
+    // 행이 없으면 증감분을 그대로 넣고, 있으면 칸마다 더한다
+    private static final String UPSERT_POST_SQL = upsertSql("post_rating_stats", "post_id", POST_COLUMNS);
+    private static final String UPSERT_USER_SQL = upsertSql("user_rating_stats", "user_id", USER_COLUMNS);
+
+    // toHalfPoints 와 같은 반올림 (MySQL ROUND 는 DOUBLE 에서 짝수 쪽으로 반올림하므로 쓰지 않는다)
+    private static final String HALF_POINTS_SQL = "LEAST(GREATEST(FLOOR(f.rating * 2 + 0.5), 1), 10)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PostRatingStatsRepository postRatingStatsRepository;
+    private final UserRatingStatsRepository userRatingStatsRepository;
+    private final PostDetailCache postDetailCache;
+
+    /** 평점 → 집계 칸 1 ~ 10 (0.5 단위로 반올림, 0.5 ~ 5.0 밖은 양끝 칸) */
+    public static int toHalfPoints(double rating) {
+        return (int) Math.max(1, Math.min(Math.round(rating * 2), BUCKET_COLUMNS.length));
+    }
+
+    // ====================== 조회 ======================
+
+    public RatingSummaryDto postSummary(Long postId) {
+        return postRatingStatsRepository.findById(postId)
+                .map(RatingSummaryDto::from)
+                .orElseGet(RatingSummaryDto::empty);
+    }
+
+    public UserRatingSummaryDto userSummary(Long userId) {
+        return userRatingStatsRepository.findById(userId)
+                .map(UserRatingSummaryDto::from)
+                .orElseGet(UserRatingSummaryDto::empty);
+    }
+
+    // ====================== 증감분 반영 ======================
+
+    /** 피드백 작성 — postAuthorId 는 게시물 작성자 (없으면 받은 평점은 건너뜀) */
+    public void add(Long postId, Long postAuthorId, Long raterId, double rating) {
+        apply(postId, postAuthorId, raterId, toHalfPoints(rating), 1);
+    }
+
+    /** 피드백 삭제 */
+    public void remove(Long postId, Long postAuthorId, Long raterId, double rating) {
+        apply(postId, postAuthorId, raterId, toHalfPoints(rating), -1);
+    }
+
+    /** 피드백 평점 수정 — 이전 칸에서 빼고 새 칸에 더한다 (건수는 그대로) */
+    public void change(Long postId, Long postAuthorId, Long raterId, double oldRating, double newRating) {
+        int before = toHalfPoints(oldRating);
+        int after = toHalfPoints(newRating);
+        if (before == after) return;
+        apply(postId, postAuthorId, raterId, before, -1);
+        apply(postId, postAuthorId, raterId, after, 1);
+    }
+
+    /**
+     * 게시물 삭제 — 게시물 집계 행을 지우고 작성자의 받은 평점에서 그 게시물 몫을 뺀다.
+     * 피드백 행은 남으므로 평가한 사용자의 준 평점은 그대로 둔다 (rebuild 기준과 같다).
+     */
+    public void removePost(Long postId, Long postAuthorId) {
+        postRatingStatsRepository.findById(postId).ifPresent(stats -> {
+            if (postAuthorId != null && stats.getRatingCount() != 0) {
+                upsertUser(postAuthorId, new long[]{0, 0, -stats.getRatingCount(), -stats.getHalfPointSum()});
+            }
+            jdbcTemplate.update("DELETE FROM post_rating_stats WHERE post_id = ?", postId);
+        });
+    }
+
+    private void apply(Long postId, Long postAuthorId, Long raterId, int halfPoints, int sign) {
+        long[] post = new long[POST_COLUMNS.length];
+        post[0] = sign;
+        post[1] = (long) sign * halfPoints;
+        post[1 + halfPoints] = sign; // 칸 번호 1~10 → r05~r50
+        upsertPost(postId, post);
+        upsertUser(raterId, new long[]{sign, (long) sign * halfPoints, 0, 0});
+        if (postAuthorId != null) {
+            upsertUser(postAuthorId, new long[]{0, 0, sign, (long) sign * halfPoints});
+        }
+        postDetailCache.evictAfterCommit(postId);
+    }
+
+    private void upsertPost(Long postId, long[] deltas) {
+        jdbcTemplate.update(UPSERT_POST_SQL, row(postId, deltas));
+    }
+
+    private void upsertUser(Long userId, long[] deltas) {
+        jdbcTemplate.update(UPSERT_USER_SQL, row(userId, deltas));
+    }
+
+    private static Object[] row(Long id, long[] deltas) {
+        Object[] row = new Object[deltas.length + 1];
+        row[0] = id;
+        for (int i = 0; i < deltas.length; i++) row[i + 1] = deltas[i];
+        return row;
+    }
+
+    private static String upsertSql(String table, String idColumn, String[] columns) {
+        return "INSERT INTO " + table + " (" + idColumn + ", " + String.join(", ", columns) + ") "
+                + "VALUES (?" + ", ?".repeat(columns.length) + ") ON DUPLICATE KEY UPDATE "
+                + Arrays.stream(columns)
+                        .map(c -> c + " = " + c + " + VALUES(" + c + ")")
+                        .collect(Collectors.joining(", "));
+    }
+
+    // ====================== 전체 재계산 ======================
+
+    /**
+     * feedback 테이블 기준으로 두 집계 테이블을 바로잡는다 (최초 백필 / 어긋났을 때).
+     * 지우고 다시 넣으면 그 사이 커밋된 피드백의 증감분이 사라지거나 두 번 들어가므로,
+     * 한 스냅샷(REPEATABLE READ)에서 "feedback 으로 센 값 - 집계 테이블 값" 차이를 구해
+     * 평소와 같은 증감분 upsert 로만 더한다. 스냅샷 뒤에 커밋된 피드백은 feedback 과 집계 양쪽에
+     * 함께 반영되어 차이에 영향을 주지 않으므로, 재계산 중에도 피드백 작성/수정/삭제를 막지 않는다.
+     * 한 트랜잭션이라 도중에 실패하면 이전 값이 그대로 남는다.
+     */
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public RatingRebuildReportDto rebuild() {
+        long started = System.currentTimeMillis();
+
+        // 1) 같은 스냅샷에서 기준 값과 현재 집계를 읽는다
+        String bucketSums = IntStream.rangeClosed(1, BUCKET_COLUMNS.length)
+                .mapToObj(h -> "SUM(" + HALF_POINTS_SQL + " = " + h + ")")
+                .collect(Collectors.joining(", "));
+        Map<Long, long[]> postExpected = readVectors(
+                "SELECT f.post_id, COUNT(*), SUM(" + HALF_POINTS_SQL + "), " + bucketSums + " "
+                        + "FROM feedback f JOIN post p ON p.post_id = f.post_id GROUP BY f.post_id",
+                POST_COLUMNS.length);
+        Map<Long, long[]> postCurrent = readVectors(
+                "SELECT post_id, " + String.join(", ", POST_COLUMNS) + " FROM post_rating_stats",
+                POST_COLUMNS.length);
+
+        Map<Long, long[]> userExpected = readVectors(
+                "SELECT f.user_id, COUNT(*), SUM(" + HALF_POINTS_SQL + "), 0, 0 FROM feedback f GROUP BY f.user_id",
+                USER_COLUMNS.length);
+        // 받은 평점 — 삭제된 게시물의 피드백은 빠진다 (removePost 와 같은 기준)
+        readVectors("SELECT p.user_id, 0, 0, COUNT(*), SUM(" + HALF_POINTS_SQL + ") "
+                        + "FROM feedback f JOIN post p ON p.post_id = f.post_id "
+                        + "WHERE p.user_id IS NOT NULL GROUP BY p.user_id",
+                USER_COLUMNS.length)
+                .forEach((userId, received) -> userExpected.merge(userId, received, RatingAggregateStore::plus));
+        Map<Long, long[]> userCurrent = readVectors(
+                "SELECT user_id, " + String.join(", ", USER_COLUMNS) + " FROM user_rating_stats",
+                USER_COLUMNS.length);
+
+        // 2) 차이만 증감분으로 더한다 (id 순 — 평소 upsert 와 락 순서가 엇갈리지 않도록)
+        List<Object[]> postRows = corrections(postExpected, postCurrent);
+        List<Object[]> userRows = corrections(userExpected, userCurrent);
+        if (!postRows.isEmpty()) jdbcTemplate.batchUpdate(UPSERT_POST_SQL, postRows);
+        if (!userRows.isEmpty()) jdbcTemplate.batchUpdate(UPSERT_USER_SQL, userRows);
+
+        // 3) 삭제된 게시물의 집계 행 정리
+        jdbcTemplate.update("""
+                DELETE s FROM post_rating_stats s
+                LEFT JOIN post p ON p.post_id = s.post_id
+                WHERE p.post_id IS NULL
+                """);
+
+        postDetailCache.evictAllAfterCommit(postRows.stream().map(r -> (Long) r[0]).toList());
+
+        long elapsed = System.currentTimeMillis() - started;
+        log.info("Rating aggregates rebuilt: {} posts, {} users corrected in {} ms",
+                postRows.size(), userRows.size(), elapsed);
+        return new RatingRebuildReportDto(postRows.size(), userRows.size(), elapsed);
+    }
+
+    private Map<Long, long[]> readVectors(String sql, int width) {
+        Map<Long, long[]> vectors = new HashMap<>();
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            long[] values = new long[width];
+            for (int i = 0; i < width; i++) values[i] = rs.getLong(i + 2);
+            vectors.put(rs.getLong(1), values);
+        });
+        return vectors;
+    }
+
+    /** expected - current 가 0 이 아닌 id 만, id 순 upsert 행으로 */
+    private static List<Object[]> corrections(Map<Long, long[]> expected, Map<Long, long[]> current) {
+        Set<Long> ids = new TreeSet<>(expected.keySet());
+        ids.addAll(current.keySet());
+        List<Object[]> rows = new ArrayList<>();
+        for (Long id : ids) {
+            long[] want = expected.get(id);
+            long[] have = current.get(id);
+            int width = want != null ? want.length : have.length;
+            long[] deltas = new long[width];
+            boolean any = false;
+            for (int i = 0; i < width; i++) {
+                deltas[i] = (want == null ? 0 : want[i]) - (have == null ? 0 : have[i]);
+                if (deltas[i] != 0) any = true;
+            }
+            if (any) rows.add(row(id, deltas));
+        }
+        return rows;
+    }
+
+    private static long[] plus(long[] a, long[] b) {
+        long[] sum = new long[a.length];
+        for (int i = 0; i < a.length; i++) sum[i] = a[i] + b[i];
+        return sum;
+    }
+}
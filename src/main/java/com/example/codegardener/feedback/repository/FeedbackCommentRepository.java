@@ -2,8 +2,11 @@ package com.example.codegardener.feedback.repository;
 
 import com.example.codegardener.feedback.domain.FeedbackComment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,4 +14,8 @@ public interface FeedbackCommentRepository extends JpaRepository<FeedbackComment
 
     // 특정 피드백에 달린 모든 댓글 조회
     List<FeedbackComment> findByFeedback_FeedbackId(Long feedbackId);
+
+    // 여러 피드백의 댓글을 한 번에 (스레드 조회용 IN 배치)
+    @Query("SELECT c FROM FeedbackComment c WHERE c.feedback.feedbackId IN :feedbackIds ORDER BY c.commentId ASC")
+    List<FeedbackComment> findByFeedbackIdIn(@Param("feedbackIds") Collection<Long> feedbackIds);
 }
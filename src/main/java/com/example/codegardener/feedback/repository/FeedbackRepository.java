@@ -17,6 +17,9 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     // 특정 게시물에 달린 피드백 전체 조회
     List<Feedback> findByPostId(Long postId);
 
+    // 특정 게시물의 피드백 (작성 순)
+    List<Feedback> findByPostIdOrderByFeedbackIdAsc(Long postId);
+
     // 특정 사용자가 작성한 피드백 전체 조회
     List<Feedback> findByUserId(Long userId);
 
@@ -41,4 +44,48 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     @Query(value = "SELECT f.userId AS userId, COUNT(f) AS count FROM Feedback f WHERE f.adoptedTF = true AND f.createdAt >= :startDate GROUP BY f.userId ORDER BY count DESC",
             countQuery = "SELECT COUNT(DISTINCT f.userId) FROM Feedback f WHERE f.adoptedTF = true AND f.createdAt >= :startDate")
     Page<UserFeedbackCount> findUsersByAdoptedFeedbackCount(@Param("startDate") LocalDateTime startDate, Pageable pageable);
+
+    // 게시물별 커서(keyset) 목록 — 채택된 피드백이 먼저, 그 안에서 정렬 키 + feedbackId 내림차순
+    // (커서가 채택 구간에 있으면 채택 안 된 피드백은 모두 뒤에 온다)
+    @Query("""
+        SELECT f FROM Feedback f
+        WHERE f.postId = :postId
+          AND ((:adopted = true AND f.adoptedTF = false)
+               OR (f.adoptedTF = :adopted
+                   AND (f.createdAt < :createdAt OR (f.createdAt = :createdAt AND f.feedbackId < :feedbackId))))
+        ORDER BY f.adoptedTF DESC, f.createdAt DESC, f.feedbackId DESC
+        """)
+    List<Feedback> scrollLatest(@Param("postId") Long postId,
+                                @Param("adopted") boolean adopted,
+                                @Param("createdAt") LocalDateTime createdAt,
+                                @Param("feedbackId") Long feedbackId,
+                                Pageable limit);
+
+    @Query("""
+        SELECT f FROM Feedback f
+        WHERE f.postId = :postId
+          AND ((:adopted = true AND f.adoptedTF = false)
+               OR (f.adoptedTF = :adopted
+                   AND (f.likesCount < :likesCount OR (f.likesCount = :likesCount AND f.feedbackId < :feedbackId))))
+        ORDER BY f.adoptedTF DESC, f.likesCount DESC, f.feedbackId DESC
+        """)
+    List<Feedback> scrollByLikes(@Param("postId") Long postId,
+                                 @Param("adopted") boolean adopted,
+                                 @Param("likesCount") int likesCount,
+                                 @Param("feedbackId") Long feedbackId,
+                                 Pageable limit);
+
+    @Query("""
+        SELECT f FROM Feedback f
+        WHERE f.postId = :postId
+          AND ((:adopted = true AND f.adoptedTF = false)
+               OR (f.adoptedTF = :adopted
+                   AND (f.rating < :rating OR (f.rating = :rating AND f.feedbackId < :feedbackId))))
+        ORDER BY f.adoptedTF DESC, f.rating DESC, f.feedbackId DESC
+        """)
+    List<Feedback> scrollByRating(@Param("postId") Long postId,
+                                  @Param("adopted") boolean adopted,
+                                  @Param("rating") double rating,
+                                  @Param("feedbackId") Long feedbackId,
+                                  Pageable limit);
 }
@@ -2,8 +2,11 @@ package com.example.codegardener.feedback.repository;
 
 import com.example.codegardener.feedback.domain.LineFeedback;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,4 +14,10 @@ public interface LineFeedbackRepository extends JpaRepository<LineFeedback, Long
 
     // 특정 Feedback에 속한 모든 라인 피드백 조회
     List<LineFeedback> findByFeedback_FeedbackId(Long feedbackId);
+
+    // 여러 피드백의 라인 피드백을 한 번에 (스레드 조회용 IN 배치)
+    @Query("SELECT l FROM LineFeedback l WHERE l.feedback.feedbackId IN :feedbackIds ORDER BY l.lineNumber ASC, l.lineFeedbackId ASC")
+    List<LineFeedback> findByFeedbackIdIn(@Param("feedbackIds") Collection<Long> feedbackIds);
+
+    List<LineFeedback> findByLineFeedbackIdIn(Collection<Long> lineFeedbackIds);
 }
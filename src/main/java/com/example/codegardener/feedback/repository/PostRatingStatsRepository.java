@@ -0,0 +1,7 @@
+package com.example.codegardener.feedback.repository;
+
+import com.example.codegardener.feedback.domain.PostRatingStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PostRatingStatsRepository extends JpaRepository<PostRatingStats, Long> {
+}
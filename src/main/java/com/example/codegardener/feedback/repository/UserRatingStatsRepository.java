@@ -0,0 +1,7 @@
+package com.example.codegardener.feedback.repository;
+
+import com.example.codegardener.feedback.domain.UserRatingStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface UserRatingStatsRepository extends JpaRepository<UserRatingStats, Long> {
+}
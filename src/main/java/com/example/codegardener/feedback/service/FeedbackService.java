@@ -2,7 +2,11 @@ package com.example.codegardener.feedback.service;
 
 import com.example.codegardener.feedback.domain.*;
 import com.example.codegardener.feedback.dto.*;
+import com.example.codegardener.feedback.index.LineFeedbackIntervalIndex;
+import com.example.codegardener.feedback.rating.RatingAggregateStore;
 import com.example.codegardener.feedback.repository.*;
+import com.example.codegardener.post.counter.PostCounter;
+import com.example.codegardener.post.counter.PostCounterBuffer;
 import com.example.codegardener.post.domain.Post;
 import com.example.codegardener.post.repository.PostRepository;
 import com.example.codegardener.user.domain.User;
@@ -11,13 +15,16 @@ import com.example.codegardener.user.domain.UserProfile;
 import com.example.codegardener.user.repository.UserRepository;
 import com.example.codegardener.user.service.UserService;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -35,6 +42,9 @@ public class FeedbackService {
     private final UserRepository userRepository;
     private final PostRepository postRepository;
     private final UserService userService;
+    private final PostCounterBuffer postCounterBuffer;
+    private final LineFeedbackIntervalIndex lineFeedbackIntervalIndex;
+    private final RatingAggregateStore ratingAggregateStore;
 
     private User findUserByUsername(String username) {
         return userRepository.findByUserName(username)
@@ -48,8 +58,10 @@ public class FeedbackService {
     // ✅ 피드백 작성
     public FeedbackResponseDto createFeedback(FeedbackRequestDto dto, String currentUsername) {
         User currentUser = findUserByUsername(currentUsername);
-        Post post = postRepository.findById(dto.getPostId())
-                .orElseThrow(() -> new IllegalArgumentException("게시물을 찾을 수 없습니다."));
+        if (dto.getPostId() == null || !postRepository.existsById(dto.getPostId())) {
+            throw new IllegalArgumentException("게시물을 찾을 수 없습니다.");
+        }
+        validateRating(dto.getRating());
 
         Feedback feedback = Feedback.builder()
                 .postId(dto.getPostId())
@@ -62,7 +74,10 @@ public class FeedbackService {
 
         Feedback savedFeedback = feedbackRepository.save(feedback);
 
-        post.setFeedbackCount(post.getFeedbackCount() + 1);
+        // feedbackCount 는 post 행을 잠그지 않고 증감분만 쌓아 두었다가 모아서 반영
+        postCounterBuffer.add(dto.getPostId(), PostCounter.FEEDBACKS, 1);
+        ratingAggregateStore.add(dto.getPostId(), postRepository.findAuthorIdById(dto.getPostId()).orElse(null),
+                currentUser.getId(), dto.getRating());
 
         UserProfile authorProfile = currentUser.getUserProfile();
         if (authorProfile != null) {
@@ -87,6 +102,13 @@ public class FeedbackService {
         if (feedback.getAdoptedTF()) {
             throw new IllegalStateException("채택된 피드백은 수정할 수 없습니다.");
         }
+        validateRating(dto.getRating());
+
+        if (!feedback.getRating().equals(dto.getRating())) {
+            ratingAggregateStore.change(feedback.getPostId(),
+                    postRepository.findAuthorIdById(feedback.getPostId()).orElse(null),
+                    feedback.getUserId(), feedback.getRating(), dto.getRating());
+        }
 
         feedback.setContent(dto.getContent());
         feedback.setRating(dto.getRating());
@@ -101,8 +123,9 @@ public class FeedbackService {
         Feedback feedback = feedbackRepository.findById(feedbackId)
                 .orElseThrow(() -> new IllegalArgumentException("피드백을 찾을 수 없습니다."));
 
-        Post post = postRepository.findById(feedback.getPostId())
-                .orElseThrow(() -> new IllegalArgumentException("게시물을 찾을 수 없습니다."));
+        if (!postRepository.existsById(feedback.getPostId())) {
+            throw new IllegalArgumentException("게시물을 찾을 수 없습니다.");
+        }
 
         Long ownerId = feedback.getUserId();
 
@@ -119,7 +142,18 @@ public class FeedbackService {
 
         feedbackRepository.delete(feedback);
 
-        post.setFeedbackCount(Math.max(0, post.getFeedbackCount() - 1));
+        postCounterBuffer.add(feedback.getPostId(), PostCounter.FEEDBACKS, -1);
+        ratingAggregateStore.remove(feedback.getPostId(),
+                postRepository.findAuthorIdById(feedback.getPostId()).orElse(null),
+                ownerId, feedback.getRating());
+        lineFeedbackIntervalIndex.invalidateAfterCommit(feedback.getPostId()); // 라인 피드백도 함께 삭제됨
+    }
+
+    // 범위는 예전처럼 제한하지 않는다 (집계에서 0.5 단위로 반올림 — RatingAggregateStore.toHalfPoints)
+    private void validateRating(Double rating) {
+        if (rating == null) {
+            throw new IllegalArgumentException("평점을 입력해 주세요.");
+        }
     }
 
     // ✅ 피드백 상세조회 (라인피드백 + 댓글 포함)
@@ -136,6 +170,64 @@ public class FeedbackService {
                 .collect(Collectors.toList());
     }
 
+    // ✅ 게시물별 피드백 커서 목록 (sort: latest | likes | rating, 채택된 피드백은 첫 페이지 맨 앞)
+    @Transactional(readOnly = true)
+    public FeedbackScrollResponseDto scrollFeedbacksByPost(Long postId, String sort, String cursorToken, int size) {
+        String sortKey = (sort == null) ? "latest" : sort.toLowerCase();
+        if (!List.of("latest", "likes", "rating").contains(sortKey)) {
+            throw new IllegalArgumentException("지원하지 않는 정렬 기준입니다: " + sort);
+        }
+        FeedbackCursor cursor = FeedbackCursor.decodeOrFirst(cursorToken, sortKey);
+        PageRequest limit = PageRequest.of(0, size + 1); // 한 건 더 읽어 다음 페이지 여부 판단
+
+        List<Feedback> rows = switch (sortKey) {
+            case "likes" -> feedbackRepository.scrollByLikes(
+                    postId, cursor.isAdopted(), cursor.getLikesCount(), cursor.getFeedbackId(), limit);
+            case "rating" -> feedbackRepository.scrollByRating(
+                    postId, cursor.isAdopted(), cursor.getRating(), cursor.getFeedbackId(), limit);
+            default -> feedbackRepository.scrollLatest(
+                    postId, cursor.isAdopted(), cursor.getCreatedAt(), cursor.getFeedbackId(), limit);
+        };
+
+        boolean hasNext = rows.size() > size;
+        List<FeedbackResponseDto> content = rows.stream()
+                .limit(size)
+                .map(FeedbackResponseDto::fromEntity)
+                .collect(Collectors.toList());
+        String nextCursor = hasNext
+                ? FeedbackCursor.after(sortKey, content.get(content.size() - 1)).encode()
+                : null;
+
+        return FeedbackScrollResponseDto.builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // ✅ 게시물의 피드백 스레드 (피드백 + 라인피드백 + 댓글) — 피드백 수와 상관없이 쿼리 3번
+    @Transactional(readOnly = true)
+    public List<FeedbackDetailResponseDto> getFeedbackThread(Long postId) {
+        List<Feedback> feedbacks = feedbackRepository.findByPostIdOrderByFeedbackIdAsc(postId);
+        if (feedbacks.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = feedbacks.stream().map(Feedback::getFeedbackId).toList();
+
+        // 프록시의 id 만 읽으므로 Feedback 을 다시 조회하지 않는다
+        Map<Long, List<LineFeedback>> linesByFeedback = lineFeedbackRepository.findByFeedbackIdIn(ids).stream()
+                .collect(Collectors.groupingBy(l -> l.getFeedback().getFeedbackId()));
+        Map<Long, List<FeedbackComment>> commentsByFeedback = feedbackCommentRepository.findByFeedbackIdIn(ids).stream()
+                .collect(Collectors.groupingBy(c -> c.getFeedback().getFeedbackId()));
+
+        return feedbacks.stream()
+                .map(f -> FeedbackDetailResponseDto.of(f,
+                        linesByFeedback.getOrDefault(f.getFeedbackId(), List.of()),
+                        commentsByFeedback.getOrDefault(f.getFeedbackId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
     // ✅ 좋아요 토글
     public String toggleLike(Long feedbackId, String currentUsername) {
         User currentUser = findUserByUsername(currentUsername);
@@ -219,7 +311,9 @@ public class FeedbackService {
                 .content(dto.getContent())
                 .build();
 
-        return LineFeedbackDto.fromEntity(lineFeedbackRepository.save(lineFeedback));
+        LineFeedback saved = lineFeedbackRepository.save(lineFeedback);
+        lineFeedbackIntervalIndex.putAfterCommit(feedback.getPostId(), toInterval(saved));
+        return LineFeedbackDto.fromEntity(saved);
     }
 
     // ✅ [READ] 특정 피드백의 라인피드백 목록 조회
@@ -246,7 +340,9 @@ public class FeedbackService {
 
         lineFeedback.setContent(dto.getContent());
         lineFeedback.setEndLineNumber(dto.getEndLineNumber());
-        return LineFeedbackDto.fromEntity(lineFeedbackRepository.save(lineFeedback));
+        LineFeedback saved = lineFeedbackRepository.save(lineFeedback);
+        lineFeedbackIntervalIndex.putAfterCommit(saved.getFeedback().getPostId(), toInterval(saved));
+        return LineFeedbackDto.fromEntity(saved);
     }
 
     // ✅ [DELETE] 라인피드백 삭제
@@ -263,7 +359,45 @@ public class FeedbackService {
             throw new IllegalStateException("본인만 삭제할 수 있습니다.");
         }
 
+        Long postId = lineFeedback.getFeedback().getPostId();
         lineFeedbackRepository.delete(lineFeedback);
+        lineFeedbackIntervalIndex.removeAfterCommit(postId, lineFeedbackId);
+    }
+
+    // ✅ 게시물의 from~to 줄과 겹치는 라인피드백 (코드 뷰어가 화면에 보이는 줄만 요청)
+    @Transactional(readOnly = true)
+    public List<LineFeedbackDto> getLineFeedbacksInRange(Long postId, int from, int to) {
+        List<Long> ids = lineFeedbackIntervalIndex.overlapping(postId, from, to).stream()
+                .map(LineFeedbackIntervalIndex.Interval::lineFeedbackId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, LineFeedback> byId = lineFeedbackRepository.findByLineFeedbackIdIn(ids).stream()
+                .collect(Collectors.toMap(LineFeedback::getLineFeedbackId, l -> l));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(LineFeedbackDto::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    // ✅ 게시물의 줄별 라인피드백 수 (히트맵)
+    public LineHeatmapDto getLineHeatmap(Long postId) {
+        int[] counts = lineFeedbackIntervalIndex.heatmap(postId);
+        return LineHeatmapDto.builder()
+                .postId(postId)
+                .counts(counts)
+                .maxCount(Arrays.stream(counts).max().orElse(0))
+                .build();
+    }
+
+    private static LineFeedbackIntervalIndex.Interval toInterval(LineFeedback lineFeedback) {
+        return LineFeedbackIntervalIndex.Interval.of(
+                lineFeedback.getLineFeedbackId(),
+                lineFeedback.getFeedback().getFeedbackId(),
+                lineFeedback.getLineNumber(),
+                lineFeedback.getEndLineNumber());
     }
 
     // ============================================================
@@ -292,7 +426,7 @@ public class FeedbackService {
                 .collect(Collectors.toList());
     }
 
-    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    @Transactional(readOnly = true)
     public List<FeedbackResponseDto> getFeedbacksByUserId(Long userId) {
         List<Feedback> feedbacks = feedbackRepository.findByUserId(userId);
         return feedbacks.stream()
@@ -0,0 +1,12 @@
+package com.example.codegardener.global.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Scheduled 작업(조회수 등 쓰기 지연 카운터 플러시) 활성화
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -37,12 +37,25 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET,
                                 "/api/posts",
                                 "/api/posts/{id}",
+                                "/api/posts/{id}/code",
+                                "/api/posts/{id}/similar",
+                                "/api/posts/{id}/solutions",
                                 "/api/posts/search",
+                                "/api/posts/search/scroll",
+                                "/api/posts/search/slice",
+                                "/api/posts/search/code",
+                                "/api/search/autocomplete",
                                 "/api/feedback/post/{postId}",
+                                "/api/feedback/post/{postId}/thread",
+                                "/api/feedback/post/{postId}/scroll",
+                                "/api/feedback/post/{postId}/lines",
+                                "/api/feedback/post/{postId}/heatmap",
                                 "/api/feedback/{feedbackId}",
                                 "/api/leaderboard/**",
                                 "/api/main").permitAll()
                         .requestMatchers(HttpMethod.DELETE, "/api/user/{userId}/admin").hasRole("ADMIN")
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         // 그 외 "모든 요청"은 인증 필요
                         .anyRequest().authenticated()
                 )
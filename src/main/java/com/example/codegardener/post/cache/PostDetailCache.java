@@ -0,0 +1,101 @@
+package com.example.codegardener.post.cache;
+
+import com.example.codegardener.post.dto.PostResponseDto;
+import com.example.codegardener.post.index.PostDocument;
+import com.example.codegardener.post.index.PostIndexer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * 게시물 상세 DTO 읽기 캐시 (크기 + TTL 제한).
+ * - 같은 postId 의 동시 미스는 한 번의 DB 로딩으로 합쳐진다 (Caffeine get(key, loader))
+ * - 수정/삭제는 커밋된 PostChangedEvent(PostIndexer)로, AI 피드백/집계/평점 반영은 직접 무효화
+ * - 캐시된 DTO 는 공유 원본이므로 꺼낼 때마다 복사본을 돌려준다
+ * 메트릭: cache.gets{cache=post.detail,result=hit|miss}, post.detail.load (DB 로딩 시간)
+ */
+@Component
+public class PostDetailCache implements PostIndexer {
+
+    private static final String CACHE_NAME = "post.detail";
+    private static final long MAX_ENTRIES = 5_000;
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final Cache<Long, PostResponseDto> cache = Caffeine.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .expireAfterWrite(TTL)
+            .recordStats()
+            .build();
+    private final Timer loadTimer;
+
+    public PostDetailCache(MeterRegistry meterRegistry) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.loadTimer = Timer.builder("post.detail.load")
+                .description("게시물 상세 캐시 미스 시 DB 로딩 시간")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /** 캐시에서 꺼내거나 loader 로 한 번만 읽어 채운다. 없는 게시물(null)은 캐시하지 않는다. */
+    public PostResponseDto get(Long postId, Function<Long, PostResponseDto> loader) {
+        PostResponseDto cached = cache.get(postId, id -> loadTimer.record(() -> loader.apply(id)));
+        return cached == null ? null : cached.copy();
+    }
+
+    public void evict(Long postId) {
+        cache.invalidate(postId);
+    }
+
+    public void evictAll(Collection<Long> postIds) {
+        cache.invalidateAll(postIds);
+    }
+
+    /** 진행 중인 트랜잭션이 있으면 커밋 후에 무효화 (커밋 전 재적재로 옛 값이 다시 들어가지 않도록) */
+    public void evictAfterCommit(Long postId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(postId);
+                }
+            });
+        } else {
+            evict(postId);
+        }
+    }
+
+    public void evictAllAfterCommit(Collection<Long> postIds) {
+        if (postIds.isEmpty()) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictAll(postIds);
+                }
+            });
+        } else {
+            evictAll(postIds);
+        }
+    }
+
+    // ====================== PostIndexer ======================
+
+    @Override
+    public void index(PostDocument document) {
+        evict(document.getPostId());
+    }
+
+    @Override
+    public void remove(Long postId) {
+        evict(postId);
+    }
+}
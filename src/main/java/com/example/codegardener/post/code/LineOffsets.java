@@ -0,0 +1,67 @@
+package com.example.codegardener.post.code;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 코드의 줄 시작 위치 배열.
+ * offsets[i] = (i+1)번째 줄이 시작하는 UTF-8 바이트 위치 (offsets[0] = 0, 길이 = 줄 수)
+ * DB 에는 앞 줄과의 차이를 varint 로 이어 붙여 저장한다 (줄당 보통 1~2바이트).
+ */
+public final class LineOffsets {
+
+    private LineOffsets() {
+    }
+
+    public static int[] of(String code) {
+        if (code == null) return new int[]{0};
+        return of(code.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static int[] of(byte[] utf8) {
+        int lines = 1;
+        for (byte b : utf8) {
+            if (b == '\n') lines++;
+        }
+        int[] offsets = new int[lines];
+        int n = 1;
+        for (int i = 0; i < utf8.length; i++) {
+            if (utf8[i] == '\n') offsets[n++] = i + 1;
+        }
+        return offsets;
+    }
+
+    public static byte[] pack(int[] offsets) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(offsets.length + 8);
+        int prev = 0;
+        for (int offset : offsets) {
+            int delta = offset - prev;
+            while ((delta & ~0x7F) != 0) {
+                out.write((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            out.write(delta);
+            prev = offset;
+        }
+        return out.toByteArray();
+    }
+
+    public static int[] unpack(byte[] packed) {
+        int[] offsets = new int[16];
+        int n = 0, prev = 0, pos = 0;
+        while (pos < packed.length) {
+            int delta = 0, shift = 0;
+            byte b;
+            do {
+                b = packed[pos++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            prev += delta;
+            if (n == offsets.length) offsets = Arrays.copyOf(offsets, n * 2);
+            offsets[n++] = prev;
+        }
+        return Arrays.copyOf(offsets, n);
+    }
+}
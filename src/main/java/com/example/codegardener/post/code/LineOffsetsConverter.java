@@ -0,0 +1,19 @@
+package com.example.codegardener.post.code;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/** Post.codeLineOffsets ↔ varint 압축 바이트 */
+@Converter
+public class LineOffsetsConverter implements AttributeConverter<int[], byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(int[] attribute) {
+        return attribute == null ? null : LineOffsets.pack(attribute);
+    }
+
+    @Override
+    public int[] convertToEntityAttribute(byte[] dbData) {
+        return dbData == null ? null : LineOffsets.unpack(dbData);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.codegardener.post.code;
+
+import com.example.codegardener.post.index.PostDocument;
+import com.example.codegardener.post.index.PostIndexer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 줄 범위 조회용 코드 캐시 — 게시물마다 코드 UTF-8 바이트와 줄 시작 위치(LineOffsets)를 함께 둔다.
+ * 요청한 줄의 바이트 구간만 문자열로 만들므로 코드 전체를 복사하거나 줄 단위로 쪼개지 않는다.
+ * 크기는 코드 바이트 합으로 제한하고, 게시물 수정/삭제(PostChangedEvent)마다 비운다.
+ */
+@Component
+public class PostCodeLineCache implements PostIndexer {
+
+    private static final long MAX_BYTES = 64L * 1024 * 1024;
+    private static final Duration TTL = Duration.ofMinutes(30);
+
+    private final Cache<Long, CodeLines> cache = Caffeine.newBuilder()
+            .maximumWeight(MAX_BYTES)
+            .weigher((Long id, CodeLines lines) -> lines.utf8.length + lines.offsets.length * 4 + 64)
+            .expireAfterAccess(TTL)
+            .build();
+
+    /** 코드 한 편 — 불변 */
+    public static final class CodeLines {
+        private final byte[] utf8;
+        private final int[] offsets;
+
+        public CodeLines(String code, int[] offsets) {
+            this.utf8 = code == null ? new byte[0] : code.getBytes(StandardCharsets.UTF_8);
+            this.offsets = offsets != null ? offsets : LineOffsets.of(utf8);
+        }
+
+        public int lineCount() {
+            return offsets.length;
+        }
+
+        /** from~to 줄(1부터, 양끝 포함)을 줄바꿈으로 이은 문자열. 범위는 호출하는 쪽에서 맞춘다 */
+        public String slice(int from, int to) {
+            int start = offsets[from - 1];
+            int end = (to < offsets.length) ? offsets[to] : utf8.length;
+            while (end > start && (utf8[end - 1] == '\n' || utf8[end - 1] == '\r')) end--; // 마지막 줄바꿈 제외
+            return new String(utf8, start, end - start, StandardCharsets.UTF_8);
+        }
+    }
+
+    /** 캐시에서 꺼내거나 loader 로 한 번만 읽어 채운다. 없는 게시물(null)은 캐시하지 않는다 */
+    public CodeLines get(Long postId, Function<Long, CodeLines> loader) {
+        return cache.get(postId, loader);
+    }
+
+    @Override
+    public void index(PostDocument document) {
+        cache.invalidate(document.getPostId());
+    }
+
+    @Override
+    public void remove(Long postId) {
+        cache.invalidate(postId);
+    }
+}
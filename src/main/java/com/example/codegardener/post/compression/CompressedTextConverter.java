@@ -0,0 +1,23 @@
+package com.example.codegardener.post.compression;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * 엔티티에서는 원문, DB 에는 TextCodec 압축본.
+ * 읽을 때 헤더가 없으면 원문으로 보므로 압축 이전에 저장된 행도 그대로 읽힌다.
+ * SQL 에서 LIKE/SUBSTRING 으로 쓰는 컬럼(content 등)에는 붙이지 말 것.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, String> {
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        return TextCodec.encode(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        return TextCodec.decode(dbData);
+    }
+}
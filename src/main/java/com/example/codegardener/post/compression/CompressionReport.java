@@ -0,0 +1,25 @@
+package com.example.codegardener.post.compression;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/** 압축 이관 작업 진행 상황 (바이트는 UTF-8 기준, 이관한 값만 집계) */
+@Getter
+@Builder(toBuilder = true)
+public class CompressionReport {
+    private boolean running;
+    private long lastPostId;       // 여기까지 확인함 (중단 후 이어서 시작할 위치)
+    private long scannedRows;
+    private long updatedRows;
+    private long bytesBefore;
+    private long bytesAfter;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+
+    public long getBytesSaved() {
+        return bytesBefore - bytesAfter;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.codegardener.post.compression;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 압축 도입 전에 저장된 post 행의 code / problem_statement / ai_feedback 을 압축본으로 바꾸는 백그라운드 작업.
+ * - post_id 순으로 CHUNK_SIZE 행씩 읽고, 청크마다 짧은 트랜잭션 하나로 배치 UPDATE
+ * - 읽은 뒤 수정된 행은 건드리지 않는다 (WHERE modified_at = 읽은 값) — 다음 실행에서 다시 본다
+ * - 이미 압축됐거나 줄지 않는 값은 그대로 두므로 여러 번 실행해도 안전하다
+ * 진행 상황과 절약한 바이트는 report() 로 확인한다.
+ */
+@Slf4j
+@Component
+public class PostTextCompressionJob {
+
+    private static final int CHUNK_SIZE = 200;
+    private static final String SELECT_SQL = """
+            SELECT post_id, code, problem_statement, ai_feedback, modified_at
+            FROM post WHERE post_id > ? ORDER BY post_id LIMIT ?
+            """;
+    private static final String UPDATE_SQL = """
+            UPDATE post SET code = ?, problem_statement = ?, ai_feedback = ?
+            WHERE post_id = ? AND modified_at = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final boolean runOnStartup;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "post-compression");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicReference<CompressionReport> report =
+            new AtomicReference<>(CompressionReport.builder().build());
+    private volatile boolean stopping = false;
+
+    private record Row(long postId, String code, String problemStatement, String aiFeedback, Timestamp modifiedAt) {
+    }
+
+    public PostTextCompressionJob(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${post.compression.migrate-on-startup:false}") boolean runOnStartup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.runOnStartup = runOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (runOnStartup) start();
+    }
+
+    public CompressionReport report() {
+        return report.get();
+    }
+
+    /** 작업 시작 (이미 돌고 있으면 현재 상황만 돌려준다) */
+    public synchronized CompressionReport start() {
+        if (report.get().isRunning()) return report.get();
+        report.set(CompressionReport.builder().running(true).startedAt(LocalDateTime.now()).build());
+        executor.execute(this::run);
+        return report.get();
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+        executor.shutdownNow();
+    }
+
+    private void run() {
+        long lastId = 0;
+        try {
+            while (!stopping) {
+                List<Row> rows = jdbcTemplate.query(SELECT_SQL, (rs, i) -> new Row(
+                        rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getTimestamp(5)
+                ), lastId, CHUNK_SIZE);
+                if (rows.isEmpty()) break;
+                lastId = rows.get(rows.size() - 1).postId();
+                compressChunk(rows, lastId);
+            }
+            CompressionReport r = report.updateAndGet(cur -> cur.toBuilder()
+                    .running(false).finishedAt(LocalDateTime.now()).build());
+            log.info("[COMPRESS] done: {} rows scanned, {} updated, {} -> {} bytes ({} saved)",
+                    r.getScannedRows(), r.getUpdatedRows(), r.getBytesBefore(), r.getBytesAfter(), r.getBytesSaved());
+        } catch (RuntimeException e) {
+            log.warn("[COMPRESS] stopped at post_id={}: {}", lastId, e.getMessage());
+            report.updateAndGet(cur -> cur.toBuilder()
+                    .running(false).finishedAt(LocalDateTime.now()).error(e.getMessage()).build());
+        }
+    }
+
+    private void compressChunk(List<Row> rows, long lastId) {
+        List<Object[]> updates = new ArrayList<>();
+        List<long[]> sizes = new ArrayList<>(); // {이전, 이후}
+        for (Row row : rows) {
+            String code = TextCodec.encodeStored(row.code());
+            String problem = TextCodec.encodeStored(row.problemStatement());
+            String feedback = TextCodec.encodeStored(row.aiFeedback());
+            long before = bytes(row.code()) + bytes(row.problemStatement()) + bytes(row.aiFeedback());
+            long after = bytes(code) + bytes(problem) + bytes(feedback);
+            if (after >= before) continue; // 이미 압축됐거나 줄지 않음
+            updates.add(new Object[]{code, problem, feedback, row.postId(), row.modifiedAt()});
+            sizes.add(new long[]{before, after});
+        }
+
+        long updated = 0, before = 0, after = 0;
+        if (!updates.isEmpty()) {
+            int[] counts = tx.execute(status -> jdbcTemplate.batchUpdate(UPDATE_SQL, updates));
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) continue; // 그사이 수정된 행
+                updated++;
+                before += sizes.get(i)[0];
+                after += sizes.get(i)[1];
+            }
+        }
+
+        final long u = updated, b = before, a = after;
+        report.updateAndGet(cur -> cur.toBuilder()
+                .lastPostId(lastId)
+                .scannedRows(cur.getScannedRows() + rows.size())
+                .updatedRows(cur.getUpdatedRows() + u)
+                .bytesBefore(cur.getBytesBefore() + b)
+                .bytesAfter(cur.getBytesAfter() + a)
+                .build());
+    }
+
+    private static long bytes(String s) {
+        return s == null ? 0 : s.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.codegardener.post.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 큰 텍스트 컬럼(코드, 문제 지문, AI 피드백)용 압축 코덱.
+ * 저장 형식: HEADER(U+0001 "Z" + 사전 버전) + Base64(raw deflate, 공유 사전)
+ * - 헤더가 없는 값은 압축 전 원문으로 보고 그대로 돌려준다 (기존 행 호환)
+ * - 컬럼이 TEXT(문자형)라서 바이트 대신 Base64 로 담는다. 그래도 코드/한글 리뷰는 2~4배 줄어든다
+ * - 짧거나 줄지 않는 값은 원문 그대로 저장한다
+ * 원문이 우연히 표시 문자(U+0001)로 시작하면 항상 압축해서 저장하므로, 헤더로 시작하는 값은 모두 압축본이다.
+ */
+public final class TextCodec {
+
+    private static final char MARKER = '\u0001';
+    private static final String HEADER = MARKER + "Z1";
+    private static final int MIN_LENGTH = 256;
+
+    // 코드와 리뷰에 자주 나오는 조각 — 짧은 값도 첫 부분부터 역참조가 걸리도록 (바꾸면 사전 버전을 올릴 것)
+    private static final byte[] DICTIONARY = ("""
+            public static void main(String[] args) { import java.util.*; System.out.println(
+            private final return new int[] for (int i = 0; i < n; i++) { while ( if ( } else { break; continue;
+            #include <bits/stdc++.h> using namespace std; int main() { vector<int> cin >> cout << endl;
+            def __init__(self, import sys input = sys.stdin.readline print( range(len( for i in range( return
+            function const let => console.log( async await export default class extends interface
+            코드 리뷰 개선 제안 시간 복잡도 공간 복잡도 가독성 변수명 함수 예외 처리 테스트 성능 결과 입력 출력 예시 제한
+            문제 설명 주어질 때 구하시오 출력하시오 반환하시오 배열 문자열 정수 길이 최대 최소 경우 합니다 입니다 """)
+            .getBytes(StandardCharsets.UTF_8);
+
+    private TextCodec() {
+    }
+
+    public static boolean isEncoded(String value) {
+        return value != null && value.startsWith(HEADER);
+    }
+
+    /**
+     * 압축해서 더 짧아질 때만 압축본, 아니면 원문.
+     * 입력은 항상 원문으로 본다 — 헤더처럼 보이는 원문도 압축해야 읽을 때 원문으로 돌아온다.
+     */
+    public static String encode(String raw) {
+        if (raw == null) return null;
+        boolean mustEncode = !raw.isEmpty() && raw.charAt(0) == MARKER;
+        if (raw.length() < MIN_LENGTH && !mustEncode) return raw;
+
+        byte[] input = raw.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setDictionary(DICTIONARY);
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2 + 64);
+            byte[] buf = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buf, 0, deflater.deflate(buf));
+            }
+            String encoded = HEADER + Base64.getEncoder().withoutPadding().encodeToString(out.toByteArray());
+            return (mustEncode || encoded.length() < input.length) ? encoded : raw;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /** DB 에 저장된 값(원문 또는 이미 압축본)을 압축본으로 — 이미 압축본이면 그대로 (일괄 압축 작업용) */
+    public static String encodeStored(String stored) {
+        return isEncoded(stored) ? stored : encode(stored);
+    }
+
+    /** 헤더가 없으면 원문 그대로 */
+    public static String decode(String stored) {
+        if (!isEncoded(stored)) return stored;
+
+        byte[] input;
+        try {
+            input = Base64.getDecoder().decode(stored.substring(HEADER.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("압축된 텍스트가 손상되었습니다.", e);
+        }
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setDictionary(DICTIONARY);
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 4);
+            byte[] buf = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buf);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("압축된 텍스트가 손상되었습니다.");
+                }
+                out.write(buf, 0, n);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("압축된 텍스트가 손상되었습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.codegardener.post.controller;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import lombok.RequiredArgsConstructor;
+
+import com.example.codegardener.post.compression.CompressionReport;
+import com.example.codegardener.post.compression.PostTextCompressionJob;
+import com.example.codegardener.post.dto.PostImportReportDto;
+import com.example.codegardener.post.service.PostExportService;
+import com.example.codegardener.post.service.PostImportService;
+
+/** 게시물 관리 작업 (관리자 전용 — SecurityConfig 의 /api/admin/**) */
+@RestController
+@RequestMapping("/api/admin/posts")
+@RequiredArgsConstructor
+public class PostAdminController {
+
+    private final PostTextCompressionJob postTextCompressionJob;
+    private final PostExportService postExportService;
+    private final PostImportService postImportService;
+
+    /**
+     * 게시물 NDJSON 덤프 — 응답 스트림에 바로 쓴다.
+     * createdAfter 로 증분 덤프(원래 작성 시각으로 가져온 게시물은 그 시각 기준이라 빠질 수 있다), gzip=true 면 .ndjson.gz 파일로 내려준다.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) Boolean contentsType,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        PostExportService.Filter filter = new PostExportService.Filter(contentsType, tag, createdAfter);
+        StreamingResponseBody body = out -> postExportService.export(out, filter, gzip);
+
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"posts.ndjson" + (gzip ? ".gz" : "") + "\"")
+                .body(body);
+    }
+
+    /** 압축 이관 진행 상황 (절약한 바이트 포함) */
+    @GetMapping("/compression")
+    public CompressionReport compressionReport() {
+        return postTextCompressionJob.report();
+    }
+
+    /** 압축 이관 시작 — 이미 돌고 있으면 현재 상황만 */
+    @PostMapping("/compression")
+    public CompressionReport startCompression() {
+        return postTextCompressionJob.start();
+    }
+
+    /**
+     * 게시물 NDJSON 일괄 가져오기 — 요청 본문을 한 줄씩 읽어 넣고 끝나면 결과를 돌려준다.
+     * 진행 중에는 GET /import 로 진행 상황을 본다.
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "application/json", "text/plain"})
+    public PostImportReportDto importPosts(HttpServletRequest request) throws IOException {
+        return postImportService.importNdjson(request.getInputStream());
+    }
+
+    @GetMapping("/import")
+    public PostImportReportDto importReport() {
+        return postImportService.report();
+    }
+}
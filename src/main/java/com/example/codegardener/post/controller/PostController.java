@@ -3,6 +3,7 @@ package com.example.codegardener.post.controller;
 import java.net.URI;
 import java.util.List;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 import org.springframework.data.domain.Page;
@@ -17,9 +18,16 @@ import org.springframework.web.bind.annotation.*;
 import lombok.RequiredArgsConstructor;
 
 import com.example.codegardener.post.dto.PostActionDto;
+import com.example.codegardener.post.dto.PostCardDto;
+import com.example.codegardener.post.dto.PostCodeRangeDto;
 import com.example.codegardener.post.dto.PostRequestDto;
 import com.example.codegardener.post.dto.PostResponseDto;
+import com.example.codegardener.post.dto.PostScrollResponseDto;
+import com.example.codegardener.post.dto.PostSliceResponseDto;
 import com.example.codegardener.post.service.PostService;
+import com.example.codegardener.search.dto.CodeSearchResponseDto;
+import com.example.codegardener.search.dto.PostSearchResponseDto;
+import com.example.codegardener.search.dto.SimilarPostDto;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -49,22 +57,55 @@ public class PostController {
 
     /** 게시물 상세 */
     @GetMapping("/{id}")
-    public PostResponseDto get(@PathVariable Long id) {
-        return postService.get(id);
+    public PostResponseDto get(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserDetails userDetails,
+            HttpServletRequest request
+    ) {
+        return postService.get(id, viewerKey(userDetails, request));
     }
 
     /** 페이징 목록 — contentsType: null=전체 / true=개발 / false=코테 */
     // 👉 루트 GET은 이 메소드 '하나만' 사용
     @GetMapping
-    public ResponseEntity<Page<PostResponseDto>> getPostList(
+    public ResponseEntity<Page<PostCardDto>> getPostList(
             @RequestParam(required = false) Boolean contentsType,
             @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC)
             Pageable pageable) {
 
-        Page<PostResponseDto> postPage = postService.getPostList(contentsType, pageable);
+        Page<PostCardDto> postPage = postService.getPostList(contentsType, pageable);
         return ResponseEntity.ok(postPage);
     }
 
+    /**
+     * COUNT 없는 목록 — hasNext 만 판단, withTotal=true 면 캐시된 대략 총 건수 포함
+     * sortBy: latest(기본) / views / feedback
+     */
+    @GetMapping("/slice")
+    public PostSliceResponseDto getPostSlice(
+            @RequestParam(required = false) Boolean contentsType,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "latest") String sortBy,
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        return postService.listSlice(page, size, contentsType, sortBy, withTotal);
+    }
+
+    /**
+     * 커서 기반 목록 (무한 스크롤) — 깊은 페이지도 OFFSET 없이 일정한 비용
+     * sortBy: latest(기본) / views / feedback, 다음 페이지는 응답의 nextCursor 를 cursor 로 전달
+     */
+    @GetMapping("/scroll")
+    public PostScrollResponseDto scroll(
+            @RequestParam(required = false) Boolean contentsType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "latest") String sortBy
+    ) {
+        return postService.scroll(contentsType, sortBy, cursor, size);
+    }
+
     // ====================== UPDATE ======================
     @PutMapping("/{id}")
     public PostResponseDto update(
@@ -93,7 +134,7 @@ public class PostController {
 
     // ====================== SEARCH (통합 검색) ======================
     @GetMapping("/search")
-    public Page<PostResponseDto> searchUnified(
+    public PostSearchResponseDto searchUnified(
             @RequestParam(required = false) String q,
             @RequestParam(name = "languages", required = false) List<String> languages,
             @RequestParam(name = "langs", required = false) String langsCsv,
@@ -102,13 +143,9 @@ public class PostController {
             @RequestParam(required = false) Boolean contentsType,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(name = "order", defaultValue = "recent") String order
+            @RequestParam(name = "order", required = false) String order
     ) {
-        String sort = switch (order.toLowerCase()) {
-            case "popular"  -> "views";
-            case "feedback" -> "feedback";
-            default         -> "latest";
-        };
+        String sort = toSortKey(order, q);
 
         int safePage = Math.max(page, 0);
         int safeSize = Math.min(Math.max(size, 1), 50);
@@ -119,6 +156,112 @@ public class PostController {
         );
     }
 
+    /** 통합 검색 Slice 버전 — COUNT 쿼리 없이 hasNext, withTotal=true 면 대략 총 건수 */
+    @GetMapping("/search/slice")
+    public PostSliceResponseDto searchSlice(
+            @RequestParam(required = false) String q,
+            @RequestParam(name = "languages", required = false) List<String> languages,
+            @RequestParam(name = "langs", required = false) String langsCsv,
+            @RequestParam(name = "stacks", required = false) List<String> stacks,
+            @RequestParam(name = "tech", required = false) String stacksCsv,
+            @RequestParam(required = false) Boolean contentsType,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(name = "order", required = false) String order,
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        return postService.discoverSlice(
+                q, languages, langsCsv, stacks, stacksCsv, contentsType,
+                page, size, toSortKey(order, q), withTotal
+        );
+    }
+
+    /** 통합 검색 커서 버전 — 파라미터는 /search 와 같고 page 대신 cursor 를 받는다 */
+    @GetMapping("/search/scroll")
+    public PostScrollResponseDto searchScroll(
+            @RequestParam(required = false) String q,
+            @RequestParam(name = "languages", required = false) List<String> languages,
+            @RequestParam(name = "langs", required = false) String langsCsv,
+            @RequestParam(name = "stacks", required = false) List<String> stacks,
+            @RequestParam(name = "tech", required = false) String stacksCsv,
+            @RequestParam(required = false) Boolean contentsType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(name = "order", required = false) String order
+    ) {
+        return postService.discoverScroll(
+                q, languages, langsCsv, stacks, stacksCsv, contentsType,
+                cursor, size, toSortKey(order, q)
+        );
+    }
+
+    /** 코드 줄 범위 (라인 피드백이 달린 줄만 보여줄 때) */
+    @GetMapping("/{id}/code")
+    public PostCodeRangeDto codeRange(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "1") int from,
+            @RequestParam(required = false) Integer to // 없으면 마지막 줄까지
+    ) {
+        return postService.getCodeRange(id, from, to == null ? Integer.MAX_VALUE : to);
+    }
+
+    /** 코드가 비슷한 게시물 (상세 페이지 하단 추천) */
+    @GetMapping("/{id}/similar")
+    public List<SimilarPostDto> similar(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "5") int size
+    ) {
+        return postService.getSimilarPosts(id, Math.min(Math.max(size, 1), 20));
+    }
+
+    /** 이 문제의 다른 풀이 (코딩테스트 게시물) */
+    @GetMapping("/{id}/solutions")
+    public Page<PostCardDto> otherSolutions(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        int safePage = Math.max(page, 0);
+        int safeSize = Math.min(Math.max(size, 1), 50);
+        return postService.getOtherSolutions(id, safePage, safeSize);
+    }
+
+    /** 코드 검색 — q 가 리터럴(3자 이상)이거나 regex=true 면 정규식, 최신 게시물부터 */
+    @GetMapping("/search/code")
+    public CodeSearchResponseDto searchCode(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "false") boolean regex,
+            @RequestParam(defaultValue = "false") boolean ignoreCase,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        int safeSize = Math.min(Math.max(size, 1), 100);
+        return postService.searchCode(q, regex, ignoreCase, safeSize);
+    }
+
+    // 고유 방문자 식별값 — 로그인 사용자는 username, 비로그인은 IP + User-Agent
+    // (HyperLogLog 에는 해시만 반영되고 원문은 저장되지 않는다)
+    // IP 는 getRemoteAddr() 만 쓴다. X-Forwarded-For 는 신뢰하는 프록시(server.tomcat.remoteip.internal-proxies)를
+    // 거쳐 온 경우에만 서버가 반영하므로, 클라이언트가 헤더를 바꿔 가며 방문자 수를 부풀릴 수 없다.
+    private String viewerKey(UserDetails userDetails, HttpServletRequest request) {
+        if (userDetails != null) {
+            return "u:" + userDetails.getUsername();
+        }
+        return "a:" + request.getRemoteAddr() + "|" + request.getHeader("User-Agent");
+    }
+
+    // order 미지정: 키워드가 있으면 관련도순, 없으면 최신순
+    private String toSortKey(String order, String q) {
+        boolean hasKeyword = q != null && !q.isBlank();
+        return switch (order == null ? "" : order.toLowerCase()) {
+            case "popular"   -> "views";
+            case "feedback"  -> "feedback";
+            case "trending"  -> "trending";
+            case "relevance" -> hasKeyword ? "relevance" : "latest";
+            case ""          -> hasKeyword ? "relevance" : "latest";
+            default          -> "latest";
+        };
+    }
+
     // ====================== AI 피드백 ======================
     @PostMapping("/{id}/ai")
     public PostResponseDto regenerateAi(
@@ -148,11 +291,11 @@ public class PostController {
     }
 
     @GetMapping("/my-scraps")
-    public ResponseEntity<List<PostResponseDto>> getMyScraps(
+    public ResponseEntity<List<PostCardDto>> getMyScraps(
             @AuthenticationPrincipal UserDetails userDetails) {
 
         String username = userDetails.getUsername();
-        List<PostResponseDto> scrappedPosts = postService.getMyScrappedPosts(username);
+        List<PostCardDto> scrappedPosts = postService.getMyScrappedPosts(username);
         return ResponseEntity.ok(scrappedPosts);
     }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.example.codegardener.post.counter;
+
+/**
+ * 쓰기 지연으로 관리하는 post 집계 컬럼
+ */
+public enum PostCounter {
+    VIEWS("views"),
+    LIKES("likes_count"),
+    SCRAPS("scrap_count"),
+    FEEDBACKS("feedback_count");
+
+    private final String column;
+
+    PostCounter(String column) {
+        this.column = column;
+    }
+
+    public String column() {
+        return column;
+    }
+}
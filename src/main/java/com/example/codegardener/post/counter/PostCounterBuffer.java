@@ -0,0 +1,269 @@
+package com.example.codegardener.post.counter;
+
+import com.example.codegardener.post.cache.PostDetailCache;
+import com.example.codegardener.post.dto.PostCardDto;
+import com.example.codegardener.post.dto.PostResponseDto;
+import com.example.codegardener.post.index.PostDocument;
+import com.example.codegardener.post.index.PostIndexer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 게시물 집계 컬럼(조회수/좋아요/스크랩/피드백 수) 쓰기 지연(write-behind) 버퍼.
+ * - 요청 경로는 postId 별 LongAdder(스트라이프 카운터)만 올리고 post 행은 잠그지 않는다
+ * - 주기적으로 게시물마다 쌓인 증감분을 한 문장(UPDATE post SET x = x + ?, ...)으로 묶어 배치 반영
+ * - 종료 시 남은 증감분을 모두 반영
+ * 트랜잭션 안에서 호출되면 커밋 후에 카운터에 더해 롤백된 반응이 집계되지 않게 한다.
+ * 응답의 집계 값은 DB 값 + 아직 반영되지 않은 증감분이다 (반영 중인 값은 커밋될 때까지 증감분에 남아 있다).
+ */
+@Slf4j
+@Component
+public class PostCounterBuffer implements PostIndexer {
+
+    private static final int FLUSH_BATCH_SIZE = 500;
+    private static final PostCounter[] COUNTERS = PostCounter.values();
+    private static final String FLUSH_SQL = "UPDATE post SET "
+            + Arrays.stream(COUNTERS)
+                    .map(c -> c.column() + " = GREATEST(" + c.column() + " + ?, 0)")
+                    .collect(Collectors.joining(", "))
+            + " WHERE post_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final PostDetailCache postDetailCache;
+    private final List<PostCounterListener> listeners;
+
+    private final Map<Long, Deltas> pending = new ConcurrentHashMap<>();
+
+    public PostCounterBuffer(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             PostDetailCache postDetailCache,
+                             List<PostCounterListener> listeners) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.postDetailCache = postDetailCache;
+        this.listeners = listeners;
+    }
+
+    /** 증감 기록 (락 없음). 진행 중인 트랜잭션이 있으면 커밋된 뒤에 반영된다. */
+    public void add(Long postId, PostCounter counter, long delta) {
+        if (delta == 0) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(postId, counter, delta);
+                }
+            });
+        } else {
+            record(postId, counter, delta);
+        }
+    }
+
+    private void record(Long postId, PostCounter counter, long delta) {
+        addNow(postId, counter, delta);
+        for (PostCounterListener listener : listeners) {
+            try {
+                listener.onCounterChanged(postId, counter, delta);
+            } catch (RuntimeException e) {
+                log.error("[COUNTERS] {} failed for postId={}", listener.getClass().getSimpleName(), postId, e);
+            }
+        }
+    }
+
+    public void increment(Long postId, PostCounter counter) {
+        add(postId, counter, 1);
+    }
+
+    /** 아직 DB에 반영되지 않은 증감분 */
+    public long pendingDelta(Long postId, PostCounter counter) {
+        Deltas deltas = pending.get(postId);
+        return deltas == null ? 0 : deltas.sum(counter);
+    }
+
+    /** 해당 컬럼에 아직 DB에 반영되지 않은 증감분이 있는 게시물 */
+    public Set<Long> pendingPostIds(PostCounter counter) {
+        if (pending.isEmpty()) return Set.of();
+        Set<Long> ids = new HashSet<>();
+        pending.forEach((postId, deltas) -> {
+            if (deltas.sum(counter) != 0) ids.add(postId);
+        });
+        return ids;
+    }
+
+    /** 목록 카드의 집계 값에 미반영 증감분을 더한다 (같은 리스트를 그대로 돌려준다) */
+    public List<PostCardDto> overlay(List<PostCardDto> cards) {
+        if (pending.isEmpty()) return cards;
+        for (PostCardDto card : cards) {
+            Deltas deltas = pending.get(card.getPostId());
+            if (deltas != null) {
+                card.addPendingCounts(deltas.sum(PostCounter.VIEWS), deltas.sum(PostCounter.LIKES),
+                        deltas.sum(PostCounter.SCRAPS), deltas.sum(PostCounter.FEEDBACKS));
+            }
+        }
+        return cards;
+    }
+
+    /** 상세 응답의 집계 값에 미반영 증감분을 더한다 */
+    public PostResponseDto overlay(PostResponseDto dto) {
+        Deltas deltas = pending.get(dto.getPostId());
+        if (deltas != null) {
+            dto.addPendingCounts(deltas.sum(PostCounter.VIEWS), deltas.sum(PostCounter.LIKES),
+                    deltas.sum(PostCounter.SCRAPS), deltas.sum(PostCounter.FEEDBACKS));
+        }
+        return dto;
+    }
+
+    private void addNow(Long postId, PostCounter counter, long delta) {
+        // 플러시가 0 이 된 항목을 막 치운 경우(retired)에는 새 항목으로 다시 더한다
+        while (!pending.computeIfAbsent(postId, id -> new Deltas()).tryAdd(counter, delta)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    // ====================== 플러시 ======================
+
+    @Scheduled(fixedDelayString = "${post.counters.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // 반영하지 못한 증감분은 카운터에 그대로 있으므로 다음 주기에 다시 시도
+            log.warn("[COUNTERS] flush failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void drainOnShutdown() {
+        int flushed = flush();
+        log.info("[COUNTERS] drained {} posts on shutdown", flushed);
+    }
+
+    /**
+     * 쌓인 증감분을 postId 순으로 배치 UPDATE 한다.
+     * 읽은 값은 커밋이 끝난 뒤에야 카운터에서 빼므로, DB 반영 중에도 응답의 집계 값(DB + 미반영분)이 줄지 않는다.
+     * 플러시 중에 들어온 증감은 카운터에 남아 다음 주기로 넘어가고, DB 반영이 실패하면 카운터는 그대로다.
+     * 다 빼서 0 이 된 게시물은 맵에서 치워 한 번이라도 건드린 게시물이 계속 쌓이지 않게 한다.
+     */
+    public synchronized int flush() {
+        if (pending.isEmpty()) return 0;
+
+        List<Object[]> batch = new ArrayList<>();
+        pending.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey()) // 여러 인스턴스가 같은 행을 갱신해도 락 순서가 같도록
+                .forEach(e -> {
+                    long[] snapshot = e.getValue().snapshot();
+                    if (snapshot != null) {
+                        Object[] row = new Object[COUNTERS.length + 1];
+                        for (int i = 0; i < COUNTERS.length; i++) row[i] = snapshot[i];
+                        row[COUNTERS.length] = e.getKey();
+                        batch.add(row);
+                    } else {
+                        retireIfZero(e.getKey());
+                    }
+                });
+        if (batch.isEmpty()) return 0;
+
+        for (int done = 0; done < batch.size(); done += FLUSH_BATCH_SIZE) {
+            List<Object[]> chunk = batch.subList(done, Math.min(done + FLUSH_BATCH_SIZE, batch.size()));
+            tx.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, chunk));
+
+            // 커밋됨: 반영한 만큼 카운터에서 빼고, 상세 캐시의 낡은 집계 값은 무효화
+            for (Object[] row : chunk) {
+                Long postId = (Long) row[COUNTERS.length];
+                Deltas deltas = pending.get(postId);
+                if (deltas == null) continue; // 그 사이 게시물이 삭제됨
+                for (int i = 0; i < COUNTERS.length; i++) {
+                    deltas.adders[i].add(-(Long) row[i]);
+                }
+                retireIfZero(postId);
+            }
+            postDetailCache.evictAll(chunk.stream().map(row -> (Long) row[COUNTERS.length]).toList());
+        }
+        log.debug("[COUNTERS] flushed {} posts", batch.size());
+        return batch.size();
+    }
+
+    private void retireIfZero(Long postId) {
+        pending.computeIfPresent(postId, (id, deltas) -> deltas.retireIfZero() ? null : deltas);
+    }
+
+    // ====================== PostIndexer ======================
+
+    @Override
+    public void index(PostDocument document) {
+        // 집계 값은 게시물 내용과 무관
+    }
+
+    /** 삭제된 게시물의 카운터는 버린다 */
+    @Override
+    public void remove(Long postId) {
+        pending.remove(postId);
+    }
+
+    /**
+     * 게시물 하나의 컬럼별 증감분.
+     * 맵에서 치울 때는 retired 를 먼저 세우고 합계를 본다. 더하는 쪽은 더한 뒤 retired 를 보고,
+     * 서 있으면 되돌린 뒤 새 항목에 다시 더한다 — 어느 순서로 겹쳐도 증감이 사라지지 않는다.
+     */
+    private static final class Deltas {
+        private final LongAdder[] adders = new LongAdder[COUNTERS.length];
+        private volatile boolean retired = false;
+
+        Deltas() {
+            for (int i = 0; i < adders.length; i++) adders[i] = new LongAdder();
+        }
+
+        long sum(PostCounter counter) {
+            return adders[counter.ordinal()].sum();
+        }
+
+        boolean tryAdd(PostCounter counter, long delta) {
+            LongAdder adder = adders[counter.ordinal()];
+            adder.add(delta);
+            if (!retired) return true;
+            adder.add(-delta);
+            return false;
+        }
+
+        /** 현재 값 (빼지 않음). 모두 0 이면 null */
+        long[] snapshot() {
+            long[] values = new long[adders.length];
+            boolean any = false;
+            for (int i = 0; i < adders.length; i++) {
+                values[i] = adders[i].sum();
+                if (values[i] != 0) any = true;
+            }
+            return any ? values : null;
+        }
+
+        /** 모두 0 이면 retired 로 표시하고 true */
+        boolean retireIfZero() {
+            retired = true;
+            for (LongAdder adder : adders) {
+                if (adder.sum() != 0) {
+                    retired = false;
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
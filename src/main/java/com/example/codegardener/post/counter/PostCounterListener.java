@@ -0,0 +1,10 @@
+package com.example.codegardener.post.counter;
+
+/**
+ * 집계 증감이 (커밋 후) PostCounterBuffer 에 기록될 때마다 호출받는 구성요소.
+ * 요청 스레드에서 바로 호출되므로 구현은 가볍고 스레드 안전해야 한다.
+ */
+public interface PostCounterListener {
+
+    void onCounterChanged(Long postId, PostCounter counter, long delta);
+}
@@ -0,0 +1,16 @@
+package com.example.codegardener.post.counter;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 게시물 좋아요가 실제로 추가/취소됐을 때 PostService가 발행하는 이벤트 (delta = +1 / -1).
+ * 인기 게시물 스냅샷 등 좋아요 순위에 의존하는 구성요소가 커밋 이후 받아 갱신 여부를 판단한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PostLikeChangedEvent {
+
+    private final Long postId;
+    private final int delta;
+}
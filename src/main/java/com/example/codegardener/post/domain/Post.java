@@ -5,10 +5,20 @@ import jakarta.persistence.*;
 
 import lombok.*;
 
+import com.example.codegardener.post.code.LineOffsetsConverter;
+import com.example.codegardener.post.compression.CompressedTextConverter;
 import com.example.codegardener.user.domain.User;
 
 @Entity
-@Table (name = "post")
+@Table (name = "post", indexes = {
+        // 커서 목록(정렬 키 + postId) 용 복합 인덱스
+        @Index(name = "idx_post_created", columnList = "created_at, post_id"),
+        @Index(name = "idx_post_type_created", columnList = "contents_type, created_at, post_id"),
+        @Index(name = "idx_post_views", columnList = "views, post_id"),
+        @Index(name = "idx_post_type_views", columnList = "contents_type, views, post_id"),
+        @Index(name = "idx_post_feedback", columnList = "feedback_count, post_id"),
+        @Index(name = "idx_post_type_feedback", columnList = "contents_type, feedback_count, post_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor (access = AccessLevel.PROTECTED)
@@ -30,8 +40,13 @@ public class Post {
     @Column (nullable = false, columnDefinition = "TEXT")
     private String content;  // 내용
 
+    @Convert(converter = CompressedTextConverter.class) // 압축 저장 (TextCodec)
     @Column (nullable = false, columnDefinition = "TEXT")
     private String code; // 코드 스니펫
+
+    @Convert(converter = LineOffsetsConverter.class)
+    @Column (columnDefinition = "MEDIUMBLOB")
+    private int[] codeLineOffsets; // 줄 시작 바이트 위치 (code 를 바꿀 때 함께 갱신, 줄 범위 조회용)
     
     @Column (nullable = false)
     private Boolean contentsType; // 게시물 카테고리 (true: 개발, false: 코딩테스트)
@@ -49,28 +64,31 @@ public class Post {
     @Column (length = 300)
     private String githubRepoUrl; // 깃허브 레포지토리 주소
 
+    @Convert(converter = CompressedTextConverter.class)
     @Column (columnDefinition = "TEXT")
     private String problemStatement; // 코딩테스트 문제 원문 (contentsType=false 일 때 사용)
 
+    @Convert(converter = CompressedTextConverter.class)
     @Column(columnDefinition = "LONGTEXT")
     private String aiFeedback; // AI 생성 피드백 (텍스트만 저장)
 
-    // 4. 집계 데이터
-    @Column (nullable = false)
+    // 4. 집계 데이터 — PostCounterBuffer 가 UPDATE ... SET x = x + ? 로만 갱신한다.
+    //    엔티티 수정(dirty checking)이 오래된 값으로 덮어쓰지 않도록 updatable = false
+    @Column (nullable = false, updatable = false)
     private int likesCount = 0;  // 좋아요 수
 
-    @Column (nullable = false)
+    @Column (nullable = false, updatable = false)
     private int views = 0;  // 조회수
 
-    @Column (nullable = false)
+    @Column (nullable = false, updatable = false)
     private int scrapCount = 0;  // 스크랩 수
 
-    @Column (nullable = false)
+    @Column (nullable = false, updatable = false)
     private int feedbackCount = 0;  // 달린 피드백 수
 
     // 5. 타임스탬프
     @Column (updatable = false, nullable = false)
-    private LocalDateTime createdAt;  // 작성 시간
+    private LocalDateTime createdAt;  // 작성 시간 (일괄 가져오기는 원래 작성 시각을 유지하므로 postId 순서와 다를 수 있다)
 
     @Column (nullable = false)
     private LocalDateTime modifiedAt;  // 최종 수정 시간
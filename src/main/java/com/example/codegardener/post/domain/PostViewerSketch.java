@@ -0,0 +1,34 @@
+package com.example.codegardener.post.domain;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.*;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 게시물별 고유 방문자 HyperLogLog 스케치 (post 와 1:1 사이드 테이블).
+ * sketch 는 HyperLogLog.toBytes() 형식 — 방문자 수와 무관하게 약 3KB 고정.
+ */
+@Entity
+@Table(name = "post_viewer_sketch")
+@Getter
+@Setter
+@NoArgsConstructor
+public class PostViewerSketch {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(nullable = false, columnDefinition = "BLOB")
+    private byte[] sketch;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public PostViewerSketch(Long postId) {
+        this.postId = postId;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.codegardener.post.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 목록용 게시물 카드.
+ * TEXT/LONGTEXT 컬럼(code, summary, problemStatement, aiFeedback)은 읽지 않고
+ * 본문은 앞부분 미리보기만 담는다. PostRepository 의 생성자 프로젝션 쿼리(CARD_SELECT)로 바로 만든다.
+ * 상세 조회는 PostResponseDto 를 그대로 사용.
+ */
+@Getter
+@AllArgsConstructor
+public class PostCardDto {
+
+    public static final int PREVIEW_LENGTH = 150;
+
+    private Long postId;
+    private Long userId;
+    private String userName;
+
+    private String title;
+    private String preview; // content 앞 PREVIEW_LENGTH 자
+
+    private String languages;
+    private String stacks;
+    private Boolean contentsType;
+
+    private int likesCount;
+    private int views;
+    private int scrapCount;
+    private int feedbackCount;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime modifiedAt;
+
+    /** 아직 DB에 반영되지 않은 집계 증감분을 더한다 (PostCounterBuffer.overlay) */
+    public void addPendingCounts(long views, long likes, long scraps, long feedbacks) {
+        this.views += (int) views;
+        this.likesCount = Math.max(0, this.likesCount + (int) likes);
+        this.scrapCount = Math.max(0, this.scrapCount + (int) scraps);
+        this.feedbackCount = Math.max(0, this.feedbackCount + (int) feedbacks);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.codegardener.post.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 코드 줄 범위 응답 — from/to 는 실제로 잘라 낸 범위(1부터, 양끝 포함).
+ * from 이 totalLines 를 넘으면 빈 범위(to = from - 1, code = "")
+ */
+@Getter
+@Builder
+public class PostCodeRangeDto {
+    private Long postId;
+    private int from;
+    private int to;
+    private int totalLines;
+    private String code;
+}
@@ -0,0 +1,82 @@
+package com.example.codegardener.post.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 무한 스크롤용 불투명 커서.
+ * 마지막으로 내려준 게시물의 정렬 키(작성 시간/조회수/피드백 수)와 postId 를 담는다.
+ * rank 는 인메모리 검색 결과에서 다음 위치를 바로 찾기 위한 힌트다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PostCursor {
+
+    private static final String VERSION = "v1";
+
+    // 첫 페이지는 "모든 게시물보다 뒤" 인 가상의 위치에서 시작한다
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final String sort;
+    private final Long postId;
+    private final LocalDateTime createdAt;
+    private final int views;
+    private final int feedbackCount;
+    private final int rank;
+
+    public static PostCursor first(String sort) {
+        return new PostCursor(sort, Long.MAX_VALUE, MAX_TIME, Integer.MAX_VALUE, Integer.MAX_VALUE, 0);
+    }
+
+    public static PostCursor after(String sort, PostCardDto last, int rank) {
+        return new PostCursor(sort, last.getPostId(), last.getCreatedAt(),
+                last.getViews(), last.getFeedbackCount(), rank);
+    }
+
+    /** 토큰이 비어 있으면 첫 페이지 커서 */
+    public static PostCursor decodeOrFirst(String token, String sort) {
+        if (token == null || token.isBlank()) return first(sort);
+
+        PostCursor cursor = decode(token);
+        if (!cursor.sort.equals(sort)) {
+            throw new IllegalArgumentException("커서와 정렬 기준이 다릅니다.");
+        }
+        return cursor;
+    }
+
+    private static PostCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length == 7 && VERSION.equals(parts[0])) {
+                return new PostCursor(
+                        parts[1],
+                        Long.parseLong(parts[2]),
+                        LocalDateTime.parse(parts[3]),
+                        Integer.parseInt(parts[4]),
+                        Integer.parseInt(parts[5]),
+                        Integer.parseInt(parts[6])
+                );
+            }
+        } catch (RuntimeException e) {
+            // 아래에서 동일한 메시지로 처리
+        }
+        throw new IllegalArgumentException("잘못된 커서입니다.");
+    }
+
+    public boolean isFirst() {
+        return postId == Long.MAX_VALUE;
+    }
+
+    public String encode() {
+        String raw = String.join("|",
+                VERSION, sort, String.valueOf(postId), createdAt.toString(),
+                String.valueOf(views), String.valueOf(feedbackCount), String.valueOf(rank));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.codegardener.post.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** 게시물 일괄 가져오기 진행 상황 — failures 는 앞에서부터 최대 100건만 */
+@Getter
+@Builder(toBuilder = true)
+public class PostImportReportDto {
+    private boolean running;
+    private long linesRead;
+    private long imported;
+    private long failed;
+    private List<Failure> failures;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    @Getter
+    @Builder
+    public static class Failure {
+        private long line;       // 1부터
+        private String reason;
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.codegardener.post.dto;
 
+import com.example.codegardener.feedback.dto.RatingSummaryDto;
 import com.example.codegardener.post.domain.Post;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.Setter;
 
 import java.time.LocalDateTime;
 
@@ -35,6 +37,26 @@ public class PostResponseDto {
 
     private String aiFeedback;
 
+    @Setter
+    private long uniqueViewers; // 고유 방문자 추정치 (상세 조회에서만 채움)
+
+    @Setter
+    private RatingSummaryDto ratingSummary; // 피드백 평점 집계 (상세 조회에서만 채움)
+
+    /** 아직 DB에 반영되지 않은 집계 증감분을 더한다 (PostCounterBuffer.overlay) */
+    public void addPendingCounts(long views, long likes, long scraps, long feedbacks) {
+        this.views += (int) views;
+        this.likesCount = Math.max(0, this.likesCount + (int) likes);
+        this.scrapCount = Math.max(0, this.scrapCount + (int) scraps);
+        this.feedbackCount = Math.max(0, this.feedbackCount + (int) feedbacks);
+    }
+
+    /** 캐시 원본을 건드리지 않도록 요청마다 쓰는 복사본 */
+    public PostResponseDto copy() {
+        return new PostResponseDto(postId, userId, title, content, languages, stacks, code, summary,
+                contentsType, githubRepoUrl, problemStatement, likesCount, views, scrapCount, feedbackCount,
+                createdAt, modifiedAt, aiFeedback, uniqueViewers, ratingSummary);
+    }
 
     public static PostResponseDto from(Post post) {
         return new PostResponseDto(
@@ -55,7 +77,9 @@ public class PostResponseDto {
                 post.getFeedbackCount(),
                 post.getCreatedAt(),
                 post.getModifiedAt(),
-                post.getAiFeedback()
+                post.getAiFeedback(),
+                0L,
+                null
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.example.codegardener.post.dto;
+
+import com.example.codegardener.search.dto.SearchFacetsDto;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 커서 기반(무한 스크롤) 목록 응답.
+ * 다음 페이지는 nextCursor 를 cursor 파라미터로 그대로 넘기면 된다 (hasNext=false 면 null).
+ */
+@Getter
+@Builder
+public class PostScrollResponseDto {
+    private List<PostCardDto> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    private SearchFacetsDto facets; // 검색 스크롤에서만 채움
+}
@@ -0,0 +1,23 @@
+package com.example.codegardener.post.dto;
+
+import com.example.codegardener.search.dto.SearchFacetsDto;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * COUNT 쿼리 없는 페이지 응답 (size+1 건을 읽어 hasNext 만 판단).
+ * approximateTotal 은 withTotal=true 일 때만, 짧은 TTL 캐시에서 가져온 대략적인 총 건수.
+ */
+@Getter
+@Builder
+public class PostSliceResponseDto {
+    private List<PostCardDto> content;
+    private int number;
+    private int size;
+    private boolean hasNext;
+    private Long approximateTotal;
+
+    private SearchFacetsDto facets; // 검색에서만 채움
+}
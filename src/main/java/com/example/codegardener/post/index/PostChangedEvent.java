@@ -0,0 +1,28 @@
+package com.example.codegardener.post.index;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 게시물 생성/수정/삭제 시 PostService가 발행하는 이벤트.
+ * 커밋 이후 PostIndexCoordinator가 받아 각 인덱스에 반영한다.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class PostChangedEvent {
+
+    public enum Type { UPSERT, DELETE }
+
+    private final Type type;
+    private final Long postId;
+    private final PostDocument document; // DELETE 일 때는 null
+
+    public static PostChangedEvent upsert(PostDocument document) {
+        return new PostChangedEvent(Type.UPSERT, document.getPostId(), document);
+    }
+
+    public static PostChangedEvent delete(Long postId) {
+        return new PostChangedEvent(Type.DELETE, postId, null);
+    }
+}
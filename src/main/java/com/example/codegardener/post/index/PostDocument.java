@@ -0,0 +1,42 @@
+package com.example.codegardener.post.index;
+
+import com.example.codegardener.post.domain.Post;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 인메모리 인덱스에 전달되는 게시물 스냅샷.
+ * 트랜잭션 밖(커밋 이후)에서 쓰이므로 지연 로딩 연관관계를 들고 다니지 않는다.
+ */
+@Getter
+@Builder
+public class PostDocument {
+    private final Long postId;
+    private final String title;
+    private final String content;
+    private final String code;
+    private final String authorName;
+    private final String langTags;
+    private final String stackTags;
+    private final Boolean contentsType;
+    private final String problemStatement;
+    private final LocalDateTime createdAt;
+
+    // 영속 상태(트랜잭션 안)의 엔티티에서만 호출할 것
+    public static PostDocument from(Post post) {
+        return PostDocument.builder()
+                .postId(post.getPostId())
+                .title(post.getTitle())
+                .content(post.getContent())
+                .code(post.getCode())
+                .authorName(post.getUser() != null ? post.getUser().getUserName() : null)
+                .langTags(post.getLangTags())
+                .stackTags(post.getStackTags())
+                .contentsType(post.getContentsType())
+                .problemStatement(post.getProblemStatement())
+                .createdAt(post.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.codegardener.post.index;
+
+import com.example.codegardener.post.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 등록된 모든 PostIndexer를 관리한다.
+ * - 기동 직후 post 테이블을 PK 순으로 청크 단위로 읽어 전체 적재
+ * - 커밋된 PostChangedEvent를 각 인덱서에 전달
+ * 적재 도중 들어온 변경은 이벤트 쪽이 최신이므로, 적재 루프는 해당 게시물을 건너뛴다
+ * (확인과 인덱싱은 이벤트 반영과 같은 잠금 안에서 한다).
+ */
+@Slf4j
+@Component
+public class PostIndexCoordinator {
+
+    private static final int BOOTSTRAP_BATCH_SIZE = 500;
+
+    private final List<PostIndexer> indexers;
+    private final PostRepository postRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    private final Object bootstrapLock = new Object();
+    private final Set<Long> touchedDuringBootstrap = ConcurrentHashMap.newKeySet();
+    private volatile boolean bootstrapping = false;
+    private volatile boolean ready = false;
+
+    public PostIndexCoordinator(List<PostIndexer> indexers,
+                                PostRepository postRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.indexers = indexers;
+        this.postRepository = postRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // ====================== 증분 반영 ======================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (bootstrapping) {
+            // 적재 루프의 "건너뛸지 확인 → 인덱싱" 과 겹치지 않도록 같은 잠금 안에서 표시하고 반영한다
+            synchronized (bootstrapLock) {
+                if (bootstrapping) {
+                    touchedDuringBootstrap.add(event.getPostId());
+                    apply(event);
+                    return;
+                }
+            }
+        }
+        apply(event);
+    }
+
+    private void apply(PostChangedEvent event) {
+        for (PostIndexer indexer : indexers) {
+            try {
+                if (event.getType() == PostChangedEvent.Type.DELETE) {
+                    indexer.remove(event.getPostId());
+                } else {
+                    indexer.index(event.getDocument());
+                }
+            } catch (RuntimeException e) {
+                // 인덱스 하나가 실패해도 나머지 인덱스와 요청 처리는 계속되어야 한다
+                log.error("[INDEX] {} failed for postId={}", indexer.getClass().getSimpleName(), event.getPostId(), e);
+            }
+        }
+    }
+
+    // ====================== 기동 시 전체 적재 ======================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        if (indexers.isEmpty()) {
+            ready = true;
+            return;
+        }
+        bootstrapping = true;
+        long started = System.currentTimeMillis();
+        long count = 0;
+        Long afterId = 0L;
+
+        try {
+            while (true) {
+                final Long cursor = afterId;
+                List<PostDocument> batch = readOnlyTx.execute(status ->
+                        postRepository.findIndexBatch(cursor, PageRequest.of(0, BOOTSTRAP_BATCH_SIZE))
+                                .stream()
+                                .map(PostDocument::from)
+                                .toList());
+                if (batch == null || batch.isEmpty()) break;
+
+                // 배치 단위로 잠가 이벤트가 확인과 인덱싱 사이에 끼어들지 못하게 한다 (이벤트는 최대 한 배치만 기다림)
+                synchronized (bootstrapLock) {
+                    for (PostDocument doc : batch) {
+                        if (touchedDuringBootstrap.contains(doc.getPostId())) continue;
+                        for (PostIndexer indexer : indexers) {
+                            indexer.index(doc);
+                        }
+                    }
+                }
+                count += batch.size();
+                afterId = batch.get(batch.size() - 1).getPostId();
+            }
+        } catch (RuntimeException e) {
+            log.error("[INDEX] bootstrap failed after {} posts; search falls back to SQL", count, e);
+            bootstrapping = false;
+            return;
+        }
+
+        synchronized (bootstrapLock) {
+            bootstrapping = false;
+            touchedDuringBootstrap.clear();
+        }
+        indexers.forEach(PostIndexer::onBootstrapCompleted);
+        ready = true;
+        log.info("[INDEX] bootstrap finished: {} posts into {} indexers in {} ms",
+                count, indexers.size(), System.currentTimeMillis() - started);
+    }
+}
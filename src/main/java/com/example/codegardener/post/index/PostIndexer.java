@@ -0,0 +1,19 @@
+package com.example.codegardener.post.index;
+
+/**
+ * 게시물 쓰기 경로를 따라 갱신되는 인메모리 인덱스의 공통 계약.
+ * 구현체는 스프링 빈으로 등록하면 PostIndexCoordinator가 기동 시 전체 적재와 증분 반영을 맡는다.
+ * 모든 메서드는 여러 스레드에서 동시에 호출될 수 있다.
+ */
+public interface PostIndexer {
+
+    /** 게시물 추가 또는 교체 (같은 postId로 다시 호출되면 이전 내용을 대체) */
+    void index(PostDocument document);
+
+    /** 게시물 제거 (없는 postId여도 예외 없이 무시) */
+    void remove(Long postId);
+
+    /** 기동 시 전체 적재가 끝났을 때 한 번 호출 */
+    default void onBootstrapCompleted() {
+    }
+}
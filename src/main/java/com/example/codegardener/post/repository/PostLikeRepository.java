@@ -4,10 +4,23 @@ import com.example.codegardener.post.domain.Post;
 import com.example.codegardener.post.domain.PostLike;
 import com.example.codegardener.user.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
     Optional<PostLike> findByUserAndPost(User user, Post post);
     long countByPost(Post post);
+
+    // 멱등 토글용 — 영향받은 행 수(0/1)로 실제 변화 여부를 판단한다 (post 행은 잠그지 않음)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO post_likes (user_id, post_id, created_at) VALUES (:userId, :postId, NOW())",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    @Modifying
+    @Query(value = "DELETE FROM post_likes WHERE user_id = :userId AND post_id = :postId", nativeQuery = true)
+    int deleteIfPresent(@Param("userId") Long userId, @Param("postId") Long postId);
 }
\ No newline at end of file
@@ -1,35 +1,62 @@
 package com.example.codegardener.post.repository;
 
 import com.example.codegardener.post.domain.Post;
+import com.example.codegardener.post.dto.PostCardDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
 
-    // 1) 키워드 단건 검색 (제목/내용/작성자) — 파라미터 1개 (LIKE용)
-    @Query(value = """
-        SELECT p.*
-        FROM post p
-        JOIN `user` u ON u.user_id = p.user_id
-        WHERE (:qLike IS NULL)
-           OR LOWER(p.title)     LIKE :qLike
-           OR LOWER(p.content)   LIKE :qLike
-           OR LOWER(u.user_name) LIKE :qLike
-        ORDER BY p.created_at DESC
-        """, nativeQuery = true)
+    // 목록용 카드 프로젝션 — TEXT 컬럼은 읽지 않고 본문은 앞부분만 (PostCardDto.PREVIEW_LENGTH)
+    String CARD_SELECT = "SELECT new com.example.codegardener.post.dto.PostCardDto("
+            + "p.postId, u.id, u.userName, p.title, SUBSTRING(p.content, 1, " + PostCardDto.PREVIEW_LENGTH + "), "
+            + "p.langTags, p.stackTags, p.contentsType, "
+            + "p.likesCount, p.views, p.scrapCount, p.feedbackCount, "
+            + "p.createdAt, p.modifiedAt) ";
+
+    // 1) 상세 — 작성자를 함께 읽어 DTO 변환 시 지연 로딩 쿼리가 추가로 나가지 않게
+    @Query("SELECT p FROM Post p JOIN FETCH p.user WHERE p.postId = :postId")
+    Optional<Post> findDetailById(@Param("postId") Long postId);
+
+    // 1-1) 줄 범위 조회용 — 코드와 줄 시작 위치만
+    interface CodeLinesView {
+        String getCode();
+        int[] getCodeLineOffsets();
+    }
+
+    @Query("SELECT p.code AS code, p.codeLineOffsets AS codeLineOffsets FROM Post p WHERE p.postId = :postId")
+    Optional<CodeLinesView> findCodeLinesById(@Param("postId") Long postId);
+
+    // 게시물 작성자 id 만 (평점 집계의 "받은 평점" 대상)
+    @Query("SELECT u.id FROM Post p JOIN p.user u WHERE p.postId = :postId")
+    Optional<Long> findAuthorIdById(@Param("postId") Long postId);
 
     // 2) 탭 필터
     Page<Post> findByContentsType(Boolean contentsType, Pageable pageable);
 
-    // 3) 통합 검색 (키워드 + 언어OR + 스택OR + 탭AND + 정렬 + 페이징)
+    // 2-1) 탭 필터 카드 목록 (Page / COUNT 없는 Slice)
+    @Query(value = CARD_SELECT + "FROM Post p JOIN p.user u WHERE (:ct IS NULL OR p.contentsType = :ct)",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE (:ct IS NULL OR p.contentsType = :ct)")
+    Page<PostCardDto> findCards(@Param("ct") Boolean contentsType, Pageable pageable);
+
+    @Query(CARD_SELECT + "FROM Post p JOIN p.user u WHERE (:ct IS NULL OR p.contentsType = :ct)")
+    Slice<PostCardDto> findCardSlice(@Param("ct") Boolean contentsType, Pageable pageable);
+
+    long countByContentsType(Boolean contentsType);
+
+    // 3) 통합 검색 (키워드 + 언어OR + 스택OR + 탭AND + 정렬 + 페이징) — id 만 뽑고 카드는 따로 로딩
     @Query(
             value = """
-        SELECT p.*
+        SELECT p.post_id
         FROM post p
         LEFT JOIN `user` u ON u.user_id = p.user_id
         WHERE
@@ -64,7 +91,7 @@ public interface PostRepository extends JpaRepository<Post, Long> {
         """,
             nativeQuery = true
     )
-    Page<Post> discover(
+    Page<Long> discoverIds(
             @Param("qLike") String qLike,
             @Param("ct") Boolean contentsType,
             @Param("langRegex") String langRegex,
@@ -76,4 +103,172 @@ public interface PostRepository extends JpaRepository<Post, Long> {
 
     // 특정 타입의 게시물 중 좋아요가 많은 상위 4개를 조회
     List<Post> findTop4ByContentsTypeOrderByLikesCountDesc(Boolean contentsType);
-}
\ No newline at end of file
+
+    // 카드 버전: 인기 게시물 / 사용자별 게시물 / 스크랩한 게시물
+    @Query(CARD_SELECT + "FROM Post p JOIN p.user u WHERE p.contentsType = :ct ORDER BY p.likesCount DESC, p.postId DESC")
+    List<PostCardDto> findPopularCards(@Param("ct") Boolean contentsType, Pageable limit);
+
+    @Query(CARD_SELECT + "FROM Post p JOIN p.user u WHERE u.id = :userId ORDER BY p.createdAt DESC")
+    List<PostCardDto> findCardsByUserId(@Param("userId") Long userId);
+
+    @Query(CARD_SELECT + "FROM PostScrap s JOIN s.post p JOIN p.user u WHERE s.user.id = :userId ORDER BY s.postScrapId DESC")
+    List<PostCardDto> findScrappedCardsByUserId(@Param("userId") Long userId);
+
+    // 4) 인메모리 인덱스 적재용 — PK 순 청크 조회 (작성자 함께 로딩)
+    @Query("SELECT p FROM Post p JOIN FETCH p.user WHERE p.postId > :afterId ORDER BY p.postId ASC")
+    List<Post> findIndexBatch(@Param("afterId") Long afterId, Pageable pageable);
+
+    // 5) 인덱스/검색이 고른 id 목록의 카드만 로딩 (순서는 호출 측에서 맞춤)
+    @Query(CARD_SELECT + "FROM Post p JOIN p.user u WHERE p.postId IN :ids")
+    List<PostCardDto> findCardsByPostIdIn(@Param("ids") Collection<Long> ids);
+
+    // 6) 인덱스가 고른 후보 id 를 discover 와 같은 기준으로 정렬 (조회수/피드백순)
+    @Query(value = """
+        SELECT p.post_id
+        FROM post p
+        WHERE p.post_id IN (:ids)
+        ORDER BY
+          CASE WHEN :sort = 'views'    THEN p.views          END DESC,
+          CASE WHEN :sort = 'feedback' THEN p.feedback_count END DESC,
+          p.created_at DESC
+        """, nativeQuery = true)
+    List<Long> sortIds(@Param("ids") Collection<Long> ids, @Param("sort") String sort);
+
+    // 7) 커서(keyset) 목록 — 정렬 키 + postId 기준으로 이어서 조회 (OFFSET/COUNT 없음)
+    @Query(CARD_SELECT + """
+        FROM Post p JOIN p.user u
+        WHERE (:ct IS NULL OR p.contentsType = :ct)
+          AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.postId < :postId))
+        ORDER BY p.createdAt DESC, p.postId DESC
+        """)
+    List<PostCardDto> scrollLatest(@Param("ct") Boolean contentsType,
+                            @Param("createdAt") LocalDateTime createdAt,
+                            @Param("postId") Long postId,
+                            Pageable limit);
+
+    @Query(CARD_SELECT + """
+        FROM Post p JOIN p.user u
+        WHERE (:ct IS NULL OR p.contentsType = :ct)
+          AND (p.views < :views OR (p.views = :views AND p.postId < :postId))
+        ORDER BY p.views DESC, p.postId DESC
+        """)
+    List<PostCardDto> scrollByViews(@Param("ct") Boolean contentsType,
+                             @Param("views") int views,
+                             @Param("postId") Long postId,
+                             Pageable limit);
+
+    @Query(CARD_SELECT + """
+        FROM Post p JOIN p.user u
+        WHERE (:ct IS NULL OR p.contentsType = :ct)
+          AND (p.feedbackCount < :feedbackCount OR (p.feedbackCount = :feedbackCount AND p.postId < :postId))
+        ORDER BY p.feedbackCount DESC, p.postId DESC
+        """)
+    List<PostCardDto> scrollByFeedback(@Param("ct") Boolean contentsType,
+                                @Param("feedbackCount") int feedbackCount,
+                                @Param("postId") Long postId,
+                                Pageable limit);
+
+    // 8) 통합 검색의 커서 버전 (인메모리 인덱스를 쓸 수 없을 때만 사용)
+    @Query(
+            value = """
+        SELECT p.post_id
+        FROM post p
+        LEFT JOIN `user` u ON u.user_id = p.user_id
+        WHERE
+          (
+            :qLike IS NULL
+            OR LOWER(p.title)     LIKE :qLike
+            OR LOWER(p.content)   LIKE :qLike
+            OR LOWER(u.user_name) LIKE :qLike
+          )
+          AND ( :ct IS NULL OR p.contents_type = :ct )
+          AND ( :langRegex  IS NULL OR (p.lang_tags  IS NOT NULL AND LOWER(p.lang_tags)  REGEXP :langRegex) )
+          AND ( :stackRegex IS NULL OR (p.stack_tags IS NOT NULL AND LOWER(p.stack_tags) REGEXP :stackRegex) )
+          AND (
+                ( :sort = 'views'
+                  AND (p.views < :views OR (p.views = :views AND p.post_id < :postId)) )
+             OR ( :sort = 'feedback'
+                  AND (p.feedback_count < :feedbackCount OR (p.feedback_count = :feedbackCount AND p.post_id < :postId)) )
+             OR ( :sort NOT IN ('views', 'feedback')
+                  AND (p.created_at < :createdAt OR (p.created_at = :createdAt AND p.post_id < :postId)) )
+          )
+        -- 정렬 키는 위 커서 조건과 같아야 한다: (views, post_id) / (feedback_count, post_id) / (created_at, post_id)
+        ORDER BY
+          CASE WHEN :sort = 'views'    THEN p.views          END DESC,
+          CASE WHEN :sort = 'feedback' THEN p.feedback_count END DESC,
+          CASE WHEN :sort NOT IN ('views', 'feedback') THEN p.created_at END DESC,
+          p.post_id DESC
+        LIMIT :limit
+        """,
+            nativeQuery = true
+    )
+    List<Long> discoverIdsAfter(
+            @Param("qLike") String qLike,
+            @Param("ct") Boolean contentsType,
+            @Param("langRegex") String langRegex,
+            @Param("stackRegex") String stackRegex,
+            @Param("sort") String sort,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("views") int views,
+            @Param("feedbackCount") int feedbackCount,
+            @Param("postId") Long postId,
+            @Param("limit") int limit
+    );
+
+    // 9) 통합 검색 Slice 버전 (COUNT 없음) 과 대략 건수용 COUNT (결과는 캐시해서 사용)
+    @Query(
+            value = """
+        SELECT p.post_id
+        FROM post p
+        LEFT JOIN `user` u ON u.user_id = p.user_id
+        WHERE
+          (
+            :qLike IS NULL
+            OR LOWER(p.title)     LIKE :qLike
+            OR LOWER(p.content)   LIKE :qLike
+            OR LOWER(u.user_name) LIKE :qLike
+          )
+          AND ( :ct IS NULL OR p.contents_type = :ct )
+          AND ( :langRegex  IS NULL OR (p.lang_tags  IS NOT NULL AND LOWER(p.lang_tags)  REGEXP :langRegex) )
+          AND ( :stackRegex IS NULL OR (p.stack_tags IS NOT NULL AND LOWER(p.stack_tags) REGEXP :stackRegex) )
+        ORDER BY
+          CASE WHEN :sort = 'views'    THEN p.views          END DESC,
+          CASE WHEN :sort = 'feedback' THEN p.feedback_count END DESC,
+          p.created_at DESC
+        """,
+            nativeQuery = true
+    )
+    Slice<Long> discoverIdSlice(
+            @Param("qLike") String qLike,
+            @Param("ct") Boolean contentsType,
+            @Param("langRegex") String langRegex,
+            @Param("stackRegex") String stackRegex,
+            @Param("sort") String sort,
+            Pageable pageable
+    );
+
+    @Query(
+            value = """
+        SELECT COUNT(*)
+        FROM post p
+        LEFT JOIN `user` u ON u.user_id = p.user_id
+        WHERE
+          (
+            :qLike IS NULL
+            OR LOWER(p.title)     LIKE :qLike
+            OR LOWER(p.content)   LIKE :qLike
+            OR LOWER(u.user_name) LIKE :qLike
+          )
+          AND ( :ct IS NULL OR p.contents_type = :ct )
+          AND ( :langRegex  IS NULL OR (p.lang_tags  IS NOT NULL AND LOWER(p.lang_tags)  REGEXP :langRegex) )
+          AND ( :stackRegex IS NULL OR (p.stack_tags IS NOT NULL AND LOWER(p.stack_tags) REGEXP :stackRegex) )
+        """,
+            nativeQuery = true
+    )
+    long countDiscover(
+            @Param("qLike") String qLike,
+            @Param("ct") Boolean contentsType,
+            @Param("langRegex") String langRegex,
+            @Param("stackRegex") String stackRegex
+    );
+}
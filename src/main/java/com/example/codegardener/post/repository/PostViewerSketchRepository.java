@@ -0,0 +1,18 @@
+package com.example.codegardener.post.repository;
+
+import com.example.codegardener.post.domain.PostViewerSketch;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface PostViewerSketchRepository extends JpaRepository<PostViewerSketch, Long> {
+
+    // 여러 인스턴스가 같은 스케치를 합칠 때 읽기-병합-쓰기가 겹치지 않도록 행 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM PostViewerSketch s WHERE s.postId = :postId")
+    Optional<PostViewerSketch> findForUpdate(@Param("postId") Long postId);
+}
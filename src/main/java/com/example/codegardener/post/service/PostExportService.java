@@ -0,0 +1,141 @@
+package com.example.codegardener.post.service;
+
+import com.example.codegardener.post.compression.TextCodec;
+import com.example.codegardener.search.index.PostTagIndex;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 게시물 NDJSON 내보내기 (한 줄에 게시물 하나).
+ * - 전진 전용 커서로 fetchSize 행씩 받아 바로 출력 스트림에 쓰므로 게시물 수와 상관없이 메모리가 일정하다
+ *   (MySQL 은 datasource URL 의 useCursorFetch=true 가 있어야 fetchSize 단위로 가져온다)
+ * - contentsType / 태그 / 작성 시각 이후 조건으로 증분 덤프를 뽑을 수 있다
+ * - 압축 저장된 컬럼은 원문으로 풀어서 쓴다
+ */
+@Slf4j
+@Service
+public class PostExportService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    /** null 인 조건은 적용하지 않는다. tag 는 언어/스택 태그 중 하나와 일치(대소문자 무시) */
+    public record Filter(Boolean contentsType, String tag, LocalDateTime createdAfter) {
+    }
+
+    public PostExportService(JdbcTemplate jdbcTemplate,
+                             ObjectMapper objectMapper,
+                             @Value("${post.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /** 조건에 맞는 게시물을 post_id 순으로 out 에 쓰고 쓴 줄 수를 돌려준다. out 은 닫지 않는다 */
+    public long export(OutputStream out, Filter filter, boolean gzip) throws IOException {
+        StringBuilder sql = new StringBuilder("""
+                SELECT p.post_id, p.user_id, u.user_name, p.title, p.content, p.code, p.summary,
+                       p.contents_type, p.lang_tags, p.stack_tags, p.github_repo_url, p.problem_statement,
+                       p.likes_count, p.views, p.scrap_count, p.feedback_count, p.created_at, p.modified_at
+                FROM post p
+                JOIN `user` u ON u.user_id = p.user_id
+                WHERE 1 = 1
+                """);
+        List<Object> args = new ArrayList<>();
+        if (filter.contentsType() != null) {
+            sql.append(" AND p.contents_type = ?");
+            args.add(filter.contentsType());
+        }
+        if (filter.createdAfter() != null) {
+            sql.append(" AND p.created_at > ?");
+            args.add(Timestamp.valueOf(filter.createdAfter()));
+        }
+        String tag = (filter.tag() == null || filter.tag().isBlank()) ? null : filter.tag().trim().toLowerCase(Locale.ROOT);
+        if (tag != null) {
+            // 대략 거르고 정확한 일치는 아래에서 CSV 를 파싱해 확인
+            sql.append(" AND (LOWER(p.lang_tags) LIKE ? OR LOWER(p.stack_tags) LIKE ?)");
+            String like = "%" + tag.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+            args.add(like);
+            args.add(like);
+        }
+        sql.append(" ORDER BY p.post_id");
+
+        OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+        JsonGenerator json = objectMapper.getFactory().createGenerator(target, JsonEncoding.UTF8);
+        json.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        long[] written = {0};
+        try {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql.toString(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                for (int i = 0; i < args.size(); i++) ps.setObject(i + 1, args.get(i));
+                return ps;
+            }, rs -> {
+                if (tag != null
+                        && !PostTagIndex.parseCsv(rs.getString("lang_tags")).contains(tag)
+                        && !PostTagIndex.parseCsv(rs.getString("stack_tags")).contains(tag)) {
+                    return;
+                }
+                try {
+                    writeRow(json, rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // 클라이언트 연결 끊김 등 → 커서를 닫고 중단
+                }
+                written[0]++;
+            });
+            if (written[0] > 0) json.writeRaw('\n');
+            json.flush();
+            if (gzip) ((GZIPOutputStream) target).finish();
+        } catch (UncheckedIOException e) {
+            log.info("[EXPORT] aborted after {} rows: {}", written[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+        return written[0];
+    }
+
+    private static void writeRow(JsonGenerator json, ResultSet rs) throws IOException, SQLException {
+        json.writeStartObject();
+        json.writeNumberField("postId", rs.getLong("post_id"));
+        json.writeNumberField("userId", rs.getLong("user_id"));
+        json.writeStringField("userName", rs.getString("user_name"));
+        json.writeStringField("title", rs.getString("title"));
+        json.writeStringField("content", rs.getString("content"));
+        json.writeStringField("code", TextCodec.decode(rs.getString("code")));
+        json.writeStringField("summary", rs.getString("summary"));
+        json.writeBooleanField("contentsType", rs.getBoolean("contents_type"));
+        json.writeStringField("langTags", rs.getString("lang_tags"));
+        json.writeStringField("stackTags", rs.getString("stack_tags"));
+        json.writeStringField("githubRepoUrl", rs.getString("github_repo_url"));
+        json.writeStringField("problemStatement", TextCodec.decode(rs.getString("problem_statement")));
+        json.writeNumberField("likesCount", rs.getInt("likes_count"));
+        json.writeNumberField("views", rs.getInt("views"));
+        json.writeNumberField("scrapCount", rs.getInt("scrap_count"));
+        json.writeNumberField("feedbackCount", rs.getInt("feedback_count"));
+        json.writeStringField("createdAt", String.valueOf(rs.getTimestamp("created_at").toLocalDateTime()));
+        json.writeStringField("modifiedAt", String.valueOf(rs.getTimestamp("modified_at").toLocalDateTime()));
+        json.writeEndObject();
+    }
+}
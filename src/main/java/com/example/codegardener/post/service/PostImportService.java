@@ -0,0 +1,284 @@
+package com.example.codegardener.post.service;
+
+import com.example.codegardener.post.code.LineOffsets;
+import com.example.codegardener.post.compression.TextCodec;
+import com.example.codegardener.post.dto.PostImportReportDto;
+import com.example.codegardener.post.index.PostChangedEvent;
+import com.example.codegardener.post.index.PostDocument;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * 게시물 NDJSON 일괄 가져오기 (다른 커뮤니티 이관용).
+ * - 한 줄씩 읽어 파싱하므로 파일 크기와 상관없이 메모리가 일정하다
+ * - 작성자는 청크마다 아직 모르는 userName 만 IN 한 번으로 찾고, 결과(없는 이름 포함)는 작업 내내 재사용
+ * - CHUNK_SIZE 줄을 한 트랜잭션으로: 여러 행 INSERT(ROWS_PER_INSERT 행씩) + 작성자별 post_count 증가를 한 번씩
+ *   (IDENTITY 키라 JPA 배치가 안 되므로 JDBC 로 직접 넣는다)
+ * - 잘못된 줄은 건너뛰고 줄 번호와 이유를 남기며, 청크 트랜잭션이 실패하면 그 청크의 줄만 실패로 센다
+ * 커밋된 게시물은 PostChangedEvent 로 검색/추천 색인에 반영된다.
+ */
+@Slf4j
+@Service
+public class PostImportService {
+
+    private static final int CHUNK_SIZE = 1_000;
+    private static final int ROWS_PER_INSERT = 100;
+    private static final int MAX_REPORTED_FAILURES = 100;
+    private static final String INSERT_PREFIX = """
+            INSERT INTO post (user_id, title, content, code, code_line_offsets, summary, contents_type, lang_tags, stack_tags,
+                              github_repo_url, problem_statement, likes_count, views, scrap_count, feedback_count,
+                              created_at, modified_at)
+            VALUES\s""";
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0, 0, 0, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicReference<PostImportReportDto> report = new AtomicReference<>(
+            PostImportReportDto.builder().failures(List.of()).build());
+
+    /**
+     * 가져올 한 줄 — 필드 이름은 PostRequestDto 와 같고 작성자(userName)와 원래 작성 시각(createdAt, 선택)이 추가된다.
+     * createdAt 이 없으면 가져온 시각. 원래 시각을 넣은 글은 최신순/트렌딩에서 그 시각 기준으로 자리 잡으며
+     * (인메모리 최신순도 postId 가 아니라 작성 시각으로 정렬한다), createdAfter 증분 덤프에는 잡히지 않는다.
+     */
+    public record ImportLine(String userName, String title, String content, String languages, String stacks,
+                             String code, String summary, Boolean contentsType, String githubRepoUrl,
+                             String problemStatement, LocalDateTime createdAt) {
+    }
+
+    private record Row(long line, long userId, ImportLine data) {
+    }
+
+    public PostImportService(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public PostImportReportDto report() {
+        return report.get();
+    }
+
+    /** in 을 끝까지 읽어 가져오고 최종 결과를 돌려준다. 진행 중에는 report() 로 확인 */
+    public PostImportReportDto importNdjson(InputStream in) throws IOException {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("이미 가져오기 작업이 진행 중입니다.");
+        }
+        report.set(PostImportReportDto.builder()
+                .running(true).failures(List.of()).startedAt(LocalDateTime.now()).build());
+        Map<String, Long> authors = new HashMap<>(); // userName → userId (없으면 -1)
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            List<Map.Entry<Long, ImportLine>> chunk = new ArrayList<>(CHUNK_SIZE);
+            List<PostImportReportDto.Failure> failures = new ArrayList<>();
+            long lineNo = 0;
+            String text;
+            while ((text = reader.readLine()) != null) {
+                lineNo++;
+                if (text.isBlank()) continue;
+                try {
+                    ImportLine line = objectMapper.readValue(text, ImportLine.class);
+                    validate(line);
+                    chunk.add(Map.entry(lineNo, line));
+                } catch (IOException | IllegalArgumentException e) {
+                    failures.add(failure(lineNo, e));
+                }
+                if (chunk.size() >= CHUNK_SIZE) {
+                    importChunk(chunk, authors, failures, lineNo);
+                    chunk.clear();
+                    failures.clear();
+                }
+            }
+            importChunk(chunk, authors, failures, lineNo);
+        } finally {
+            PostImportReportDto done = report.updateAndGet(cur -> cur.toBuilder()
+                    .running(false).finishedAt(LocalDateTime.now()).build());
+            running.set(false);
+            log.info("[IMPORT] finished: {} lines, {} imported, {} failed",
+                    done.getLinesRead(), done.getImported(), done.getFailed());
+        }
+        return report.get();
+    }
+
+    private void importChunk(List<Map.Entry<Long, ImportLine>> chunk, Map<String, Long> authors,
+                             List<PostImportReportDto.Failure> failures, long linesRead) {
+        resolveAuthors(chunk, authors);
+
+        List<Row> rows = new ArrayList<>(chunk.size());
+        for (Map.Entry<Long, ImportLine> e : chunk) {
+            long userId = authors.get(e.getValue().userName());
+            if (userId < 0) {
+                failures.add(failure(e.getKey(), new IllegalArgumentException(
+                        "작성자 정보를 찾을 수 없습니다. username=" + e.getValue().userName())));
+            } else {
+                rows.add(new Row(e.getKey(), userId, e.getValue()));
+            }
+        }
+
+        long imported = 0;
+        if (!rows.isEmpty()) {
+            try {
+                imported = tx.execute(status -> insertLocked(rows));
+            } catch (RuntimeException e) {
+                log.warn("[IMPORT] chunk ending at line {} rolled back: {}", linesRead, e.getMessage());
+                for (Row row : rows) failures.add(failure(row.line(), e));
+            }
+        }
+
+        final long ok = imported;
+        final List<PostImportReportDto.Failure> chunkFailures = List.copyOf(failures);
+        PostImportReportDto r = report.updateAndGet(cur -> cur.toBuilder()
+                .linesRead(linesRead)
+                .imported(cur.getImported() + ok)
+                .failed(cur.getFailed() + chunkFailures.size())
+                .failures(appendCapped(cur.getFailures(), chunkFailures))
+                .build());
+        log.info("[IMPORT] line {}: {} imported, {} failed so far", linesRead, r.getImported(), r.getFailed());
+    }
+
+    /** 트랜잭션 안: 여러 행 INSERT + 작성자별 post_count 를 한 번씩 올리고, 커밋 후 색인되도록 이벤트 발행 */
+    private long insertLocked(List<Row> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < rows.size(); from += ROWS_PER_INSERT) {
+            List<Row> batch = rows.subList(from, Math.min(from + ROWS_PER_INSERT, rows.size()));
+            String sql = INSERT_PREFIX + String.join(", ", Collections.nCopies(batch.size(), INSERT_ROW));
+
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+                int i = 1;
+                for (Row row : batch) {
+                    ImportLine d = row.data();
+                    ps.setLong(i++, row.userId());
+                    ps.setString(i++, d.title());
+                    ps.setString(i++, d.content());
+                    ps.setString(i++, TextCodec.encode(d.code()));
+                    ps.setBytes(i++, LineOffsets.pack(LineOffsets.of(d.code())));
+                    ps.setString(i++, d.summary());
+                    ps.setBoolean(i++, d.contentsType());
+                    ps.setString(i++, PostService.normalizeCsv(d.languages()));
+                    ps.setString(i++, PostService.normalizeCsv(d.stacks()));
+                    ps.setString(i++, d.githubRepoUrl());
+                    ps.setString(i++, TextCodec.encode(d.problemStatement()));
+                    Timestamp createdAt = Timestamp.valueOf(createdAt(d, now));
+                    ps.setTimestamp(i++, createdAt);
+                    ps.setTimestamp(i++, createdAt);
+                }
+                return ps;
+            }, keys);
+
+            List<Map<String, Object>> generated = keys.getKeyList();
+            for (int k = 0; k < batch.size(); k++) {
+                long postId = ((Number) generated.get(k).values().iterator().next()).longValue();
+                eventPublisher.publishEvent(PostChangedEvent.upsert(toDocument(postId, batch.get(k), now)));
+            }
+        }
+
+        Map<Long, Long> perAuthor = rows.stream()
+                .collect(Collectors.groupingBy(Row::userId, TreeMap::new, Collectors.counting()));
+        jdbcTemplate.batchUpdate("UPDATE user_profile SET post_count = post_count + ? WHERE user_id = ?",
+                perAuthor.entrySet().stream()
+                        .map(e -> new Object[]{e.getValue(), e.getKey()})
+                        .toList());
+        return rows.size();
+    }
+
+    private void resolveAuthors(List<Map.Entry<Long, ImportLine>> chunk, Map<String, Long> authors) {
+        Set<String> unknown = chunk.stream()
+                .map(e -> e.getValue().userName())
+                .filter(name -> !authors.containsKey(name))
+                .collect(Collectors.toSet());
+        if (unknown.isEmpty()) return;
+
+        String in = String.join(", ", Collections.nCopies(unknown.size(), "?"));
+        jdbcTemplate.query("SELECT user_id, user_name FROM `user` WHERE user_name IN (" + in + ")",
+                rs -> {
+                    authors.put(rs.getString(2), rs.getLong(1));
+                }, unknown.toArray());
+        unknown.forEach(name -> authors.putIfAbsent(name, -1L));
+    }
+
+    private static PostDocument toDocument(long postId, Row row, LocalDateTime now) {
+        ImportLine d = row.data();
+        return PostDocument.builder()
+                .postId(postId)
+                .title(d.title())
+                .content(d.content())
+                .code(d.code())
+                .authorName(d.userName())
+                .langTags(PostService.normalizeCsv(d.languages()))
+                .stackTags(PostService.normalizeCsv(d.stacks()))
+                .contentsType(d.contentsType())
+                .problemStatement(d.problemStatement())
+                .createdAt(createdAt(d, now))
+                .build();
+    }
+
+    private static LocalDateTime createdAt(ImportLine line, LocalDateTime now) {
+        return line.createdAt() == null ? now : line.createdAt();
+    }
+
+    // PostRequestDto 의 검증 규칙과 같게
+    private static void validate(ImportLine line) {
+        if (isBlank(line.userName())) throw new IllegalArgumentException("작성자(userName)는 필수입니다.");
+        if (isBlank(line.title())) throw new IllegalArgumentException("제목은 필수입니다.");
+        if (line.title().length() > 200) throw new IllegalArgumentException("제목은 200자 이하여야 합니다.");
+        if (isBlank(line.content())) throw new IllegalArgumentException("설명(본문)은 필수입니다.");
+        if (isBlank(line.languages())) throw new IllegalArgumentException("프로그래밍 언어는 필수입니다.");
+        if (isBlank(line.code())) throw new IllegalArgumentException("코드는 필수입니다.");
+        if (isBlank(line.summary())) throw new IllegalArgumentException("피드백 요청 요약은 필수입니다.");
+        if (line.contentsType() == null) throw new IllegalArgumentException("게시물 종류는 필수입니다.");
+        if (Boolean.FALSE.equals(line.contentsType()) && isBlank(line.problemStatement())) {
+            throw new IllegalArgumentException("코딩테스트 게시물은 problemStatement(문제 설명)가 필수입니다.");
+        }
+        if (line.createdAt() != null && line.createdAt().isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("작성 시각(createdAt)은 미래일 수 없습니다.");
+        }
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+
+    private static PostImportReportDto.Failure failure(long line, Exception e) {
+        String reason = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+        if (reason.length() > 300) reason = reason.substring(0, 300);
+        return PostImportReportDto.Failure.builder().line(line).reason(reason).build();
+    }
+
+    private static List<PostImportReportDto.Failure> appendCapped(List<PostImportReportDto.Failure> current,
+                                                                  List<PostImportReportDto.Failure> more) {
+        if (current.size() >= MAX_REPORTED_FAILURES || more.isEmpty()) return current;
+        List<PostImportReportDto.Failure> merged = new ArrayList<>(current);
+        merged.addAll(more.subList(0, Math.min(more.size(), MAX_REPORTED_FAILURES - current.size())));
+        return List.copyOf(merged);
+    }
+}
@@ -1,26 +1,55 @@
 package com.example.codegardener.post.service;
 
 import com.example.codegardener.ai.service.AiFeedbackService;
+import com.example.codegardener.feedback.rating.RatingAggregateStore;
+import com.example.codegardener.post.cache.PostDetailCache;
+import com.example.codegardener.post.code.LineOffsets;
+import com.example.codegardener.post.code.PostCodeLineCache;
+import com.example.codegardener.post.counter.PostCounter;
+import com.example.codegardener.post.counter.PostCounterBuffer;
+import com.example.codegardener.post.counter.PostLikeChangedEvent;
 import com.example.codegardener.post.domain.Post;
-import com.example.codegardener.post.domain.PostLike;
-import com.example.codegardener.post.domain.PostScrap;
 import com.example.codegardener.post.dto.PostActionDto;
+import com.example.codegardener.post.dto.PostCardDto;
+import com.example.codegardener.post.dto.PostCodeRangeDto;
+import com.example.codegardener.post.dto.PostCursor;
 import com.example.codegardener.post.dto.PostRequestDto;
 import com.example.codegardener.post.dto.PostResponseDto;
+import com.example.codegardener.post.dto.PostScrollResponseDto;
+import com.example.codegardener.post.dto.PostSliceResponseDto;
+import com.example.codegardener.post.index.PostChangedEvent;
+import com.example.codegardener.post.index.PostDocument;
 import com.example.codegardener.post.repository.PostLikeRepository;
 import com.example.codegardener.post.repository.PostRepository;
 import com.example.codegardener.post.repository.PostScrapRepository;
+import com.example.codegardener.post.view.UniqueViewerCounter;
+import com.example.codegardener.search.code.CodeSearchIndex;
+import com.example.codegardener.search.dto.CodeSearchHitDto;
+import com.example.codegardener.search.dto.CodeSearchResponseDto;
+import com.example.codegardener.search.dto.PostSearchResponseDto;
+import com.example.codegardener.search.dto.SimilarPostDto;
+import com.example.codegardener.search.dto.SearchFacetsDto;
+import com.example.codegardener.search.index.PostTagIndex;
+import com.example.codegardener.search.index.PostTrendingIndex;
+import com.example.codegardener.search.index.ProblemClusterIndex;
+import com.example.codegardener.search.index.SimilarCodeIndex;
+import com.example.codegardener.search.service.ApproximateCountCache;
+import com.example.codegardener.search.service.IndexSearchResult;
+import com.example.codegardener.search.service.PostIndexSearchService;
+import com.example.codegardener.search.service.SearchResultCache;
 import com.example.codegardener.user.domain.User;
 import com.example.codegardener.user.domain.Role;
 import com.example.codegardener.user.domain.UserProfile;
 import com.example.codegardener.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -33,7 +62,20 @@ public class PostService {
     private final AiFeedbackService aiFeedbackService;
     private final PostLikeRepository postLikeRepository;
     private final PostScrapRepository postScrapRepository;
-
+    private final PostIndexSearchService postIndexSearchService;
+    private final ApproximateCountCache approximateCountCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PostCounterBuffer postCounterBuffer;
+    private final UniqueViewerCounter uniqueViewerCounter;
+    private final PostDetailCache postDetailCache;
+    private final RatingAggregateStore ratingAggregateStore;
+    private final PostTrendingIndex postTrendingIndex;
+    private final PostTagIndex postTagIndex;
+    private final SearchResultCache searchResultCache;
+    private final CodeSearchIndex codeSearchIndex;
+    private final SimilarCodeIndex similarCodeIndex;
+    private final ProblemClusterIndex problemClusterIndex;
+    private final PostCodeLineCache postCodeLineCache;
 
     // ====================== CRUD ======================
 
@@ -49,6 +91,7 @@ public class PostService {
                 .title(dto.getTitle())
                 .content(dto.getContent())
                 .code(dto.getCode())
+                .codeLineOffsets(LineOffsets.of(dto.getCode()))
                 .summary(dto.getSummary())
                 .contentsType(dto.getContentsType())
                 .githubRepoUrl(dto.getGithubRepoUrl())
@@ -67,43 +110,111 @@ public class PostService {
             log.warn("UserProfile not found for author {} during post creation.", author.getUserName());
         }
 
+        eventPublisher.publishEvent(PostChangedEvent.upsert(PostDocument.from(saved)));
+
         log.info("[POST] saved postId={}", saved.getPostId());
         return PostResponseDto.from(saved);
     }
 
-    @Transactional(readOnly = true)
-    public List<PostResponseDto> list() {
-        return postRepository.findAll()
-                .stream()
-                .map(PostResponseDto::from)
-                .toList();
+    /**
+     * 코드의 from~to 줄만 (1부터, 양끝 포함, 코드 범위를 넘으면 잘라 맞춘다).
+     * 줄 시작 위치 배열로 바이트 구간을 바로 찾으므로 상세 DTO 나 코드 전체를 내려보내지 않는다.
+     */
+    public PostCodeRangeDto getCodeRange(Long id, int from, int to) {
+        if (from < 1 || to < from) {
+            throw new IllegalArgumentException("줄 범위가 올바르지 않습니다. from=" + from + ", to=" + to);
+        }
+        PostCodeLineCache.CodeLines lines = postCodeLineCache.get(id, postId -> postRepository.findCodeLinesById(postId)
+                // 줄 위치를 저장하기 전에 작성된 게시물은 읽을 때 계산
+                .map(v -> new PostCodeLineCache.CodeLines(v.getCode(), v.getCodeLineOffsets()))
+                .orElse(null));
+        if (lines == null) {
+            throw new IllegalArgumentException("게시물이 존재하지 않습니다.");
+        }
+        int total = lines.lineCount();
+        if (from > total) {
+            // 코드 끝을 넘어선 요청은 마지막 줄로 당기지 않고 빈 범위(to = from - 1)로 돌려준다
+            return PostCodeRangeDto.builder()
+                    .postId(id)
+                    .from(from)
+                    .to(from - 1)
+                    .totalLines(total)
+                    .code("")
+                    .build();
+        }
+        int end = Math.min(to, total);
+        return PostCodeRangeDto.builder()
+                .postId(id)
+                .from(from)
+                .to(end)
+                .totalLines(total)
+                .code(lines.slice(from, end))
+                .build();
     }
 
     /** 목록(페이징) */
     @Transactional(readOnly = true)
-    public Page<PostResponseDto> listPaged(int page, int size, Boolean contentsType, String sortBy) {
+    public Page<PostCardDto> listPaged(int page, int size, Boolean contentsType, String sortBy) {
         page = Math.max(page, 0);
         size = Math.min(Math.max(size, 1), 50);
 
-        Sort sort = switch (safe(sortBy)) {
+        Pageable pageable = PageRequest.of(page, size, listSort(sortBy));
+        Page<PostCardDto> cards = postRepository.findCards(contentsType, pageable);
+        postCounterBuffer.overlay(cards.getContent());
+        return cards;
+    }
+
+    /** 목록(Slice) — COUNT 없이 hasNext 만, 필요하면 캐시된 대략 건수 */
+    @Transactional(readOnly = true)
+    public PostSliceResponseDto listSlice(int page, int size, Boolean contentsType, String sortBy, boolean withTotal) {
+        page = Math.max(page, 0);
+        size = Math.min(Math.max(size, 1), 50);
+        Pageable pageable = PageRequest.of(page, size, listSort(sortBy));
+
+        Slice<PostCardDto> data = postRepository.findCardSlice(contentsType, pageable);
+        postCounterBuffer.overlay(data.getContent());
+
+        Long total = null;
+        if (withTotal) {
+            String key = ApproximateCountCache.key(null, contentsType, List.of(), List.of());
+            total = approximateCountCache.get(key, () -> (contentsType == null)
+                    ? postRepository.count()
+                    : postRepository.countByContentsType(contentsType));
+        }
+        return toSliceResponse(data, total, null);
+    }
+
+    private Sort listSort(String sortBy) {
+        return switch (safe(sortBy)) {
             case "views"    -> Sort.by(Sort.Direction.DESC, "views");
             case "feedback" -> Sort.by(Sort.Direction.DESC, "feedbackCount");
             default         -> Sort.by(Sort.Direction.DESC, "createdAt");
         };
-        Pageable pageable = PageRequest.of(page, size, sort);
-
-        Page<Post> data = (contentsType == null)
-                ? postRepository.findAll(pageable)
-                : postRepository.findByContentsType(contentsType, pageable);
-
-        return data.map(PostResponseDto::from);
     }
 
-    @Transactional(readOnly = true)
-    public PostResponseDto get(Long id) {
-        Post p = postRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("게시물이 존재하지 않습니다."));
-        return PostResponseDto.from(p);
+    /**
+     * 상세 조회 — 본문은 PostDetailCache 에서 읽고(미스면 한 번만 DB 로딩), 집계 값은 미반영 증감분을 더한다.
+     * 조회수는 메모리 카운터에만 올리고 DB 반영은 PostCounterBuffer 가 모아서 한다.
+     * viewerKey 는 고유 방문자 추정용 ("u:{username}" 또는 "a:{클라이언트 지문}")
+     */
+    public PostResponseDto get(Long id, String viewerKey) {
+        PostResponseDto dto = postDetailCache.get(id, postId -> postRepository.findDetailById(postId)
+                .map(PostResponseDto::from)
+                .map(loaded -> {
+                    // 평점 요약도 함께 캐시 (평점이 바뀌면 RatingAggregateStore 가 무효화)
+                    loaded.setRatingSummary(ratingAggregateStore.postSummary(postId));
+                    return loaded;
+                })
+                .orElse(null));
+        if (dto == null) {
+            throw new IllegalArgumentException("게시물이 존재하지 않습니다.");
+        }
+        postCounterBuffer.increment(id, PostCounter.VIEWS);
+        uniqueViewerCounter.offer(id, viewerKey);
+
+        postCounterBuffer.overlay(dto);
+        dto.setUniqueViewers(uniqueViewerCounter.estimate(id));
+        return dto;
     }
 
     @Transactional
@@ -123,6 +234,9 @@ public class PostService {
 
         p.setTitle(dto.getTitle());
         p.setContent(dto.getContent());
+        if (!Objects.equals(p.getCode(), dto.getCode()) || p.getCodeLineOffsets() == null) {
+            p.setCodeLineOffsets(LineOffsets.of(dto.getCode()));
+        }
         p.setCode(dto.getCode());
         p.setSummary(dto.getSummary());
         p.setContentsType(dto.getContentsType());
@@ -131,6 +245,8 @@ public class PostService {
         p.setLangTags(normalizeCsv(dto.getLanguages()));
         p.setStackTags(normalizeCsv(dto.getStacks()));
 
+        eventPublisher.publishEvent(PostChangedEvent.upsert(PostDocument.from(p)));
+
         return PostResponseDto.from(p);
     }
 
@@ -151,12 +267,16 @@ public class PostService {
         }
 
         postRepository.delete(p);
+        ratingAggregateStore.removePost(id, ownerId);
+        uniqueViewerCounter.deleteSketch(id);
+        eventPublisher.publishEvent(PostChangedEvent.delete(id));
     }
 
     // ====================== 통합 검색 ======================
+    // 세 검색 메서드 모두 정규화된 조건으로 SearchResultCache 를 먼저 본다.
+    // 캐시 적중 시 DB 커넥션도 잡지 않도록 트랜잭션은 걸지 않는다 (리포지토리 호출마다 읽기 트랜잭션).
 
-    @Transactional(readOnly = true)
-    public Page<PostResponseDto> discoverAdvanced(
+    public PostSearchResponseDto discoverAdvanced(
             String q,
             List<String> languages,
             String langsCsv,
@@ -176,10 +296,27 @@ public class PostService {
         List<String> langList  = mergeParamsToList(languages, langsCsv);
         List<String> stackList = mergeParamsToList(stacks,    stacksCsv);
 
+        SearchResultCache.Key key = SearchResultCache.Key.of(
+                "page", qLike, contentsType, langList, stackList, safe(sortKey), page, size, false);
+        return searchResultCache.get(key,
+                () -> searchPage(q, qLike, langList, stackList, contentsType, pageable, sortKey),
+                res -> SearchResultCache.idsOf(res.getContent()));
+    }
+
+    private PostSearchResponseDto searchPage(String q, String qLike, List<String> langList, List<String> stackList,
+                                             Boolean contentsType, Pageable pageable, String sortKey) {
+        // 키워드/태그 검색은 인메모리 인덱스로 id 를 고르고, DB에서는 해당 페이지만 읽는다
+        IndexSearchResult indexed = postIndexSearchService.search(
+                qLike == null ? null : q, contentsType, langList, stackList, safe(sortKey),
+                (int) pageable.getOffset() + pageable.getPageSize());
+        if (indexed.getOrderedIds() != null) {
+            return PostSearchResponseDto.of(hydratePage(indexed.getOrderedIds(), pageable), indexed.getFacets());
+        }
+
         String langRegex  = listToRegex(langList);
         String stackRegex = listToRegex(stackList);
 
-        Page<Post> data = postRepository.discover(
+        Page<Long> ids = postRepository.discoverIds(
                 qLike,
                 contentsType,
                 langRegex,
@@ -188,7 +325,219 @@ public class PostService {
                 pageable
         );
 
-        return data.map(PostResponseDto::from);
+        return PostSearchResponseDto.of(
+                new PageImpl<>(hydrate(ids.getContent()), pageable, ids.getTotalElements()),
+                indexed.getFacets());
+    }
+
+    /** 통합 검색(Slice) — COUNT 없이 hasNext 만, 필요하면 캐시된 대략 건수 */
+    public PostSliceResponseDto discoverSlice(
+            String q,
+            List<String> languages,
+            String langsCsv,
+            List<String> stacks,
+            String stacksCsv,
+            Boolean contentsType,
+            int page,
+            int size,
+            String sortKey,
+            boolean withTotal
+    ) {
+        page = Math.max(page, 0);
+        size = Math.min(Math.max(size, 1), 50);
+        Pageable pageable = PageRequest.of(page, size);
+
+        String qLike = buildLikeParam(q);
+        List<String> langList  = mergeParamsToList(languages, langsCsv);
+        List<String> stackList = mergeParamsToList(stacks,    stacksCsv);
+
+        SearchResultCache.Key key = SearchResultCache.Key.of(
+                "slice", qLike, contentsType, langList, stackList, safe(sortKey), page, size, withTotal);
+        return searchResultCache.get(key,
+                () -> searchSlice(q, qLike, langList, stackList, contentsType, pageable, sortKey, withTotal),
+                res -> SearchResultCache.idsOf(res.getContent()));
+    }
+
+    private PostSliceResponseDto searchSlice(String q, String qLike, List<String> langList, List<String> stackList,
+                                             Boolean contentsType, Pageable pageable, String sortKey,
+                                             boolean withTotal) {
+        IndexSearchResult indexed = postIndexSearchService.search(
+                qLike == null ? null : q, contentsType, langList, stackList, safe(sortKey),
+                (int) pageable.getOffset() + pageable.getPageSize());
+        if (indexed.getOrderedIds() != null) {
+            // 인덱스 경로는 전체 id 목록을 이미 갖고 있어 건수가 공짜다
+            Page<PostCardDto> data = hydratePage(indexed.getOrderedIds(), pageable);
+            return toSliceResponse(data, withTotal ? data.getTotalElements() : null, indexed.getFacets());
+        }
+
+        String langRegex  = listToRegex(langList);
+        String stackRegex = listToRegex(stackList);
+
+        Slice<Long> ids = postRepository.discoverIdSlice(
+                qLike, contentsType, langRegex, stackRegex, safe(sortKey), pageable);
+
+        Long total = null;
+        if (withTotal) {
+            String key = ApproximateCountCache.key(qLike, contentsType, langList, stackList);
+            total = approximateCountCache.get(key,
+                    () -> postRepository.countDiscover(qLike, contentsType, langRegex, stackRegex));
+        }
+        Slice<PostCardDto> data = new SliceImpl<>(hydrate(ids.getContent()), pageable, ids.hasNext());
+        return toSliceResponse(data, total, indexed.getFacets());
+    }
+
+    private PostSliceResponseDto toSliceResponse(Slice<PostCardDto> slice, Long approximateTotal, SearchFacetsDto facets) {
+        return PostSliceResponseDto.builder()
+                .content(slice.getContent())
+                .number(slice.getNumber())
+                .size(slice.getSize())
+                .hasNext(slice.hasNext())
+                .approximateTotal(approximateTotal)
+                .facets(facets)
+                .build();
+    }
+
+    /** 정렬된 postId 목록에서 요청 페이지만 DB에서 읽어 같은 순서로 돌려준다 */
+    private Page<PostCardDto> hydratePage(List<Long> orderedIds, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), orderedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), orderedIds.size());
+        return new PageImpl<>(hydrate(orderedIds.subList(from, to)), pageable, orderedIds.size());
+    }
+
+    private List<PostCardDto> hydrate(List<Long> pageIds) {
+        return postCounterBuffer.overlay(hydrateRaw(pageIds));
+    }
+
+    // DB 값 그대로 (커서를 만들 때는 미반영 증감분이 섞이면 안 된다 — toScrollResponse 참고)
+    private List<PostCardDto> hydrateRaw(List<Long> pageIds) {
+        if (pageIds.isEmpty()) return Collections.emptyList();
+
+        Map<Long, PostCardDto> byId = postRepository.findCardsByPostIdIn(pageIds).stream()
+                .collect(Collectors.toMap(PostCardDto::getPostId, Function.identity()));
+
+        return pageIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // ====================== 커서(무한 스크롤) ======================
+
+    /** 목록 커서 조회 — OFFSET/COUNT 없이 (정렬 키, postId) 기준으로 이어서 읽는다 */
+    @Transactional(readOnly = true)
+    public PostScrollResponseDto scroll(Boolean contentsType, String sortKey, String cursorToken, int size) {
+        size = Math.min(Math.max(size, 1), 50);
+        String sort = safe(sortKey);
+        PostCursor cursor = PostCursor.decodeOrFirst(cursorToken, sort);
+        Pageable limit = PageRequest.of(0, size + 1); // 한 건 더 읽어 다음 페이지 유무 판단
+
+        List<PostCardDto> rows = switch (sort) {
+            case "views"    -> postRepository.scrollByViews(contentsType, cursor.getViews(), cursor.getPostId(), limit);
+            case "feedback" -> postRepository.scrollByFeedback(contentsType, cursor.getFeedbackCount(), cursor.getPostId(), limit);
+            default         -> postRepository.scrollLatest(contentsType, cursor.getCreatedAt(), cursor.getPostId(), limit);
+        };
+
+        return toScrollResponse(rows, sort, size, 0, null);
+    }
+
+    /** 통합 검색 커서 조회 */
+    public PostScrollResponseDto discoverScroll(
+            String q,
+            List<String> languages,
+            String langsCsv,
+            List<String> stacks,
+            String stacksCsv,
+            Boolean contentsType,
+            String cursorToken,
+            int size,
+            String sortKey
+    ) {
+        size = Math.min(Math.max(size, 1), 50);
+        String sort = safe(sortKey);
+        PostCursor cursor = PostCursor.decodeOrFirst(cursorToken, sort);
+
+        String qLike = buildLikeParam(q);
+        List<String> langList  = mergeParamsToList(languages, langsCsv);
+        List<String> stackList = mergeParamsToList(stacks,    stacksCsv);
+
+        int limit = size;
+        SearchResultCache.Key key = SearchResultCache.Key.of(
+                "scroll", qLike, contentsType, langList, stackList, sort, cursor.encode(), size, false);
+        return searchResultCache.get(key,
+                () -> searchScroll(q, qLike, langList, stackList, contentsType, cursor, sort, limit),
+                res -> SearchResultCache.idsOf(res.getContent()));
+    }
+
+    private PostScrollResponseDto searchScroll(String q, String qLike, List<String> langList, List<String> stackList,
+                                               Boolean contentsType, PostCursor cursor, String sort, int size) {
+        // 관련도순은 커서 위치(rank) 다음 한 페이지 + 1 건까지만 정렬하면 된다
+        IndexSearchResult indexed = postIndexSearchService.search(
+                qLike == null ? null : q, contentsType, langList, stackList, sort,
+                Math.max(cursor.getRank(), 0) + size + 1);
+        List<Long> orderedIds = indexed.getOrderedIds();
+        if (orderedIds != null) {
+            int start = cursor.isFirst() ? 0 : seek(orderedIds, cursor, sort);
+            int end = Math.min(start + size + 1, orderedIds.size());
+            List<PostCardDto> rows = hydrateRaw(orderedIds.subList(Math.min(start, end), end));
+            return toScrollResponse(rows, sort, size, start, indexed.getFacets());
+        }
+
+        List<Long> ids = postRepository.discoverIdsAfter(
+                qLike,
+                contentsType,
+                listToRegex(langList),
+                listToRegex(stackList),
+                sort,
+                cursor.getCreatedAt(),
+                cursor.getViews(),
+                cursor.getFeedbackCount(),
+                cursor.getPostId(),
+                size + 1
+        );
+        return toScrollResponse(hydrateRaw(ids), sort, size, 0, indexed.getFacets());
+    }
+
+    /** 인메모리 결과 목록에서 커서 다음 위치를 찾는다 (rank 힌트 → postId 탐색 → 최신순이면 (작성 시각, postId) 비교) */
+    private int seek(List<Long> orderedIds, PostCursor cursor, String sort) {
+        int hint = cursor.getRank();
+        if (hint > 0 && hint <= orderedIds.size() && orderedIds.get(hint - 1).equals(cursor.getPostId())) {
+            return hint;
+        }
+        int pos = orderedIds.indexOf(cursor.getPostId());
+        if (pos >= 0) return pos + 1;
+
+        if (sort.equals("latest")) {
+            // 최신순 목록은 (작성 시각, postId) 내림차순이므로 커서보다 오래된 첫 게시물부터
+            long cursorKey = PostTagIndex.latestKey(cursor.getCreatedAt(), cursor.getPostId());
+            for (int i = 0; i < orderedIds.size(); i++) {
+                if (postTagIndex.latestKey(orderedIds.get(i)) < cursorKey) return i;
+            }
+            return orderedIds.size();
+        }
+        // 커서 게시물이 결과에서 빠졌으면 위치 힌트를 그대로 쓴다
+        return Math.min(hint, orderedIds.size());
+    }
+
+    /**
+     * fetched 는 DB 값 그대로여야 한다. 다음 커서의 키셋 조건은 DB 컬럼과 비교하므로 커서는 원래 값으로 만들고,
+     * 아직 반영되지 않은 증감분(PostCounterBuffer)은 화면에 내려줄 DTO 에만 더한다.
+     */
+    private PostScrollResponseDto toScrollResponse(List<PostCardDto> fetched, String sort, int size,
+                                                   int rankBase, SearchFacetsDto facets) {
+        boolean hasNext = fetched.size() > size;
+        List<PostCardDto> content = hasNext ? fetched.subList(0, size) : fetched;
+        String nextCursor = hasNext
+                ? PostCursor.after(sort, content.get(content.size() - 1), rankBase + content.size()).encode()
+                : null;
+        content = postCounterBuffer.overlay(content);
+
+        return PostScrollResponseDto.builder()
+                .content(content)
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .facets(facets)
+                .build();
     }
 
     // ====================== AI 피드백 ======================
@@ -204,6 +553,7 @@ public class PostService {
 
         String aiText = aiFeedbackService.generateTextForPost(postId);
         p.setAiFeedback(aiText);
+        postDetailCache.evictAfterCommit(postId);
         log.info("[AI] Feedback generated manually for postId={}", postId);
         return PostResponseDto.from(p);
     }
@@ -224,7 +574,7 @@ public class PostService {
         }
     }
 
-    private String normalizeCsv(String csv) {
+    static String normalizeCsv(String csv) {
         if (csv == null || csv.isBlank()) return null;
         String normalized = Arrays.stream(csv.split(","))
                 .map(String::trim)
@@ -275,98 +625,143 @@ public class PostService {
         return "%" + t + "%";
     }
 
+    /**
+     * 좋아요 토글 — 반응 행은 INSERT IGNORE / DELETE 로 멱등하게 처리하고,
+     * likesCount 는 post 행을 잠그지 않고 PostCounterBuffer 에 증감분만 쌓는다.
+     */
     @Transactional
     public void toggleLike(PostActionDto dto) {
-        User user = userRepository.findById(dto.getUserId())
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다. ID: " + dto.getUserId()));
-        Post post = postRepository.findById(dto.getPostId())
-                .orElseThrow(() -> new IllegalArgumentException("게시물이 존재하지 않습니다. ID: " + dto.getPostId()));
-
-        Optional<PostLike> existingLike = postLikeRepository.findByUserAndPost(user, post);
-
-        if (existingLike.isPresent()) {
-            postLikeRepository.delete(existingLike.get());
-            post.setLikesCount(Math.max(0, post.getLikesCount() - 1));
-        } else {
-            PostLike newLike = new PostLike();
-            newLike.setUser(user);
-            newLike.setPost(post);
-            postLikeRepository.save(newLike);
-            post.setLikesCount(post.getLikesCount() + 1);
+        Long userId = dto.getUserId();
+        Long postId = dto.getPostId();
+        validateReactionTarget(userId, postId);
+
+        int delta = 0;
+        if (postLikeRepository.deleteIfPresent(userId, postId) > 0) {
+            delta = -1;
+        } else if (postLikeRepository.insertIfAbsent(userId, postId) > 0) {
+            delta = 1;
+        }
+        if (delta != 0) {
+            postCounterBuffer.add(postId, PostCounter.LIKES, delta);
+            eventPublisher.publishEvent(new PostLikeChangedEvent(postId, delta));
         }
     }
 
+    /** 스크랩 토글 — 좋아요와 같은 방식 */
     @Transactional
     public void toggleScrap(PostActionDto dto) {
-        User user = userRepository.findById(dto.getUserId())
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다. ID: " + dto.getUserId()));
-        Post post = postRepository.findById(dto.getPostId())
-                .orElseThrow(() -> new IllegalArgumentException("게시물이 존재하지 않습니다. ID: " + dto.getPostId()));
-
-        Optional<PostScrap> existingScrap = postScrapRepository.findByUserAndPost(user, post);
+        Long userId = dto.getUserId();
+        Long postId = dto.getPostId();
+        validateReactionTarget(userId, postId);
+
+        if (postScrapRepository.deleteIfPresent(userId, postId) > 0) {
+            postCounterBuffer.add(postId, PostCounter.SCRAPS, -1);
+        } else if (postScrapRepository.insertIfAbsent(userId, postId) > 0) {
+            postCounterBuffer.add(postId, PostCounter.SCRAPS, 1);
+        }
+    }
 
-        if (existingScrap.isPresent()) {
-            postScrapRepository.delete(existingScrap.get());
-            post.setScrapCount(Math.max(0, post.getScrapCount() - 1));
-        } else {
-            PostScrap newScrap = new PostScrap();
-            newScrap.setUser(user);
-            newScrap.setPost(post);
-            postScrapRepository.save(newScrap);
-            post.setScrapCount(post.getScrapCount() + 1);
+    private void validateReactionTarget(Long userId, Long postId) {
+        if (userId == null || !userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("사용자를 찾을 수 없습니다. ID: " + userId);
+        }
+        if (postId == null || !postRepository.existsById(postId)) {
+            throw new IllegalArgumentException("게시물이 존재하지 않습니다. ID: " + postId);
         }
     }
 
     @Transactional(readOnly = true)
-    public List<PostResponseDto> getMyScrappedPosts(String username) {
+    public List<PostCardDto> getMyScrappedPosts(String username) {
         User user = userRepository.findByUserName(username)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
 
-        List<PostScrap> scraps = postScrapRepository.findAllByUser(user);
-
-        List<Post> scrappedPosts = scraps.stream()
-                .map(PostScrap::getPost)
-                .filter(Objects::nonNull)
-                .toList();
+        return postCounterBuffer.overlay(postRepository.findScrappedCardsByUserId(user.getId()));
+    }
 
-        if (scrappedPosts.isEmpty()) {
-            return Collections.emptyList();
-        }
+    // 특정 사용자가 등록한 게시물 조회
+    @Transactional(readOnly = true)
+    public List<PostCardDto> getPostsByUserId(Long userId) {
+        return postCounterBuffer.overlay(postRepository.findCardsByUserId(userId));
+    }
 
-        return scrappedPosts.stream()
-                .map(PostResponseDto::from)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Page<PostCardDto> getPostList(Boolean contentsType, Pageable pageable) {
+        // 카드 프로젝션으로 조회 (TEXT 컬럼은 읽지 않음)
+        Page<PostCardDto> cards = postRepository.findCards(contentsType, pageable);
+        postCounterBuffer.overlay(cards.getContent());
+        return cards;
     }
 
-    // 특정 사용자가 등록한 게시물 조회
+    /**
+     * 좋아요순 상위 4개. 순위도 DB 값 + 미반영 좋아요로 매긴다 (쓰기 지연 버퍼는 몇 초마다 반영되므로 DB 값만 보면 늦다).
+     * 미반영 증감이 있는 게시물 하나는 DB 순위를 한 칸까지만 밀어낼 수 있으므로,
+     * DB 상위 (4 + 그 게시물 수) 개와 그 게시물들만 다시 정렬하면 된다.
+     */
     @Transactional(readOnly = true)
-    public List<PostResponseDto> getPostsByUserId(Long userId) {
-        List<Post> posts = postRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        // stream()과 map()을 사용하여 각 Post 객체를 PostSimpleResponseDto로 변환
-        return posts.stream()
-                .map(PostResponseDto::from)
-                .collect(Collectors.toList());
+    public List<PostCardDto> getPopularPosts(Boolean contentsType) {
+        int limit = 4;
+        Set<Long> pendingIds = postCounterBuffer.pendingPostIds(PostCounter.LIKES);
+
+        Map<Long, PostCardDto> candidates = new LinkedHashMap<>();
+        postRepository.findPopularCards(contentsType, PageRequest.of(0, limit + pendingIds.size()))
+                .forEach(card -> candidates.put(card.getPostId(), card));
+        hydrateRaw(pendingIds.stream().filter(id -> !candidates.containsKey(id)).toList()).stream()
+                .filter(card -> contentsType.equals(card.getContentsType()))
+                .forEach(card -> candidates.put(card.getPostId(), card));
+
+        return postCounterBuffer.overlay(new ArrayList<>(candidates.values())).stream()
+                .sorted(Comparator.comparingInt(PostCardDto::getLikesCount).reversed()
+                        .thenComparing(PostCardDto::getPostId, Comparator.reverseOrder()))
+                .limit(limit)
+                .toList();
     }
 
+    /** 시간 감쇠 트렌딩 상위 게시물 (PostTrendingIndex 상위 K 에서 바로 꺼낸다) */
     @Transactional(readOnly = true)
-    public Page<PostResponseDto> getPostList(Boolean contentsType, Pageable pageable) {
-        Page<Post> postPage;
+    public List<PostCardDto> getTrendingPosts(Boolean contentsType, int limit) {
+        return hydrate(postTrendingIndex.top(contentsType, limit));
+    }
 
-        if (contentsType == null) {
-            postPage = postRepository.findAll(pageable);
-        } else {
-            postPage = postRepository.findByContentsType(contentsType, pageable);
+    // ====================== 코드 검색 ======================
+
+    /** Post.code 리터럴/정규식 검색 — 트라이그램 색인으로 후보를 줄이고 실제 일치한 줄을 함께 돌려준다 */
+    public CodeSearchResponseDto searchCode(String q, boolean regex, boolean ignoreCase, int size) {
+        if (q == null || q.isBlank()) {
+            throw new IllegalArgumentException("코드 검색어를 입력해주세요.");
+        }
+        List<CodeSearchIndex.Hit> hits = codeSearchIndex.search(q, regex, ignoreCase, size + 1);
+        boolean hasMore = hits.size() > size;
+        if (hasMore) hits = hits.subList(0, size);
+
+        Map<Long, PostCardDto> cards = hydrate(hits.stream().map(CodeSearchIndex.Hit::postId).toList()).stream()
+                .collect(Collectors.toMap(PostCardDto::getPostId, Function.identity()));
+        List<CodeSearchHitDto> result = hits.stream()
+                .filter(h -> cards.containsKey(h.postId()))
+                .map(h -> new CodeSearchHitDto(cards.get(h.postId()), h.lineNumber(), h.line()))
+                .toList();
+        return new CodeSearchResponseDto(result, hasMore);
+    }
+
+    /** 코드가 비슷한 게시물 추천 — MinHash/LSH 버킷에서 후보만 비교하므로 전체 게시물과 비교하지 않는다 */
+    public List<SimilarPostDto> getSimilarPosts(Long id, int size) {
+        if (!postRepository.existsById(id)) {
+            throw new IllegalArgumentException("게시물이 존재하지 않습니다.");
         }
+        List<SimilarCodeIndex.Similar> similar = similarCodeIndex.similarTo(id, size);
 
-        // 조회된 Page<Post>를 Page<PostResponseDto>로 변환하여 반환
-        return postPage.map(PostResponseDto::from);
+        Map<Long, PostCardDto> cards = hydrate(similar.stream().map(SimilarCodeIndex.Similar::postId).toList()).stream()
+                .collect(Collectors.toMap(PostCardDto::getPostId, Function.identity()));
+        return similar.stream()
+                .filter(s -> cards.containsKey(s.postId()))
+                .map(s -> new SimilarPostDto(cards.get(s.postId()), s.similarity()))
+                .toList();
     }
 
-    @Transactional(readOnly = true)
-    public List<PostResponseDto> getPopularPosts(Boolean contentsType) {
-        List<Post> popularPosts = postRepository.findTop4ByContentsTypeOrderByLikesCountDesc(contentsType);
-        return popularPosts.stream()
-                .map(PostResponseDto::from) // Post를 간단한 DTO로 변환
-                .collect(Collectors.toList());
+    /** 같은 문제(지문이 같거나 거의 같은)를 푼 다른 코딩테스트 게시물 — 최신순 페이지 */
+    public Page<PostCardDto> getOtherSolutions(Long id, int page, int size) {
+        if (!postRepository.existsById(id)) {
+            throw new IllegalArgumentException("게시물이 존재하지 않습니다.");
+        }
+        return hydratePage(problemClusterIndex.otherSolutions(id), PageRequest.of(page, size));
     }
-}
\ No newline at end of file
+}
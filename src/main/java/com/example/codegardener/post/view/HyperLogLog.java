@@ -0,0 +1,123 @@
+package com.example.codegardener.post.view;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 고유 방문자 수 추정용 HyperLogLog 스케치 (정밀도 p=12, 레지스터 4096개, 표준오차 약 1.6%).
+ * 방문자 식별값은 해시만 레지스터에 반영되고 원문은 남지 않는다.
+ * 직렬화 시 레지스터를 6비트씩 묶어 3KB(+헤더 2바이트)로 저장한다.
+ * 스레드 안전하지 않으므로 호출 측에서 동기화한다.
+ */
+public class HyperLogLog {
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final int P = 12;
+    private static final int M = 1 << P;
+    private static final int BITS_PER_REGISTER = 6; // 최대 순위 64 - P + 1 = 53 < 64
+    private static final int PACKED_LENGTH = M * BITS_PER_REGISTER / 8;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / M);
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this.registers = new byte[M];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    public void offer(String value) {
+        long hash = hash64(value.getBytes(StandardCharsets.UTF_8));
+        int index = (int) (hash >>> (64 - P));
+        // 남은 비트의 선행 0 개수 + 1 (경계 비트로 최대값 제한)
+        long rest = (hash << P) | (1L << (P - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+        if (registers[index] < rank) {
+            registers[index] = rank;
+        }
+    }
+
+    /** 레지스터별 최댓값으로 합친다 (합집합) */
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < M; i++) {
+            if (registers[i] < other.registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public HyperLogLog copy() {
+        return new HyperLogLog(Arrays.copyOf(registers, M));
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte r : registers) {
+            sum += 1.0 / (1L << r);
+            if (r == 0) zeros++;
+        }
+        double estimate = ALPHA * M * M / sum;
+        if (estimate <= 2.5 * M && zeros > 0) {
+            // 작은 범위는 선형 카운팅이 더 정확하다
+            estimate = M * Math.log((double) M / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    // ====================== 직렬화 ======================
+
+    public byte[] toBytes() {
+        byte[] out = new byte[2 + PACKED_LENGTH];
+        out[0] = FORMAT_VERSION;
+        out[1] = P;
+        long buffer = 0;
+        int bits = 0;
+        int pos = 2;
+        for (byte r : registers) {
+            buffer = (buffer << BITS_PER_REGISTER) | r;
+            bits += BITS_PER_REGISTER;
+            while (bits >= 8) {
+                bits -= 8;
+                out[pos++] = (byte) (buffer >>> bits);
+            }
+        }
+        return out;
+    }
+
+    public static HyperLogLog fromBytes(byte[] data) {
+        if (data == null || data.length != 2 + PACKED_LENGTH || data[0] != FORMAT_VERSION || data[1] != P) {
+            throw new IllegalArgumentException("알 수 없는 HyperLogLog 형식입니다.");
+        }
+        byte[] registers = new byte[M];
+        long buffer = 0;
+        int bits = 0;
+        int index = 0;
+        for (int pos = 2; pos < data.length; pos++) {
+            buffer = (buffer << 8) | (data[pos] & 0xFF);
+            bits += 8;
+            while (bits >= BITS_PER_REGISTER) {
+                bits -= BITS_PER_REGISTER;
+                registers[index++] = (byte) ((buffer >>> bits) & 0x3F);
+            }
+        }
+        return new HyperLogLog(registers);
+    }
+
+    // FNV-1a 64 + murmur3 fmix64 (상위 비트까지 고르게 섞이도록)
+    private static long hash64(byte[] data) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : data) {
+            h ^= (b & 0xFF);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53ec5L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.codegardener.post.view;
+
+import com.example.codegardener.post.domain.PostViewerSketch;
+import com.example.codegardener.post.index.PostDocument;
+import com.example.codegardener.post.index.PostIndexer;
+import com.example.codegardener.post.repository.PostViewerSketchRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 게시물별 고유 방문자 수 추정 (HyperLogLog).
+ * - 조회 시에는 메모리의 "미반영 스케치"에만 방문자를 넣는다
+ * - 주기적으로 DB 스케치와 레지스터 최댓값으로 합쳐 저장 (여러 인스턴스가 써도 합집합이 유지된다)
+ * - 읽기는 캐시된 DB 스케치 + 미반영 스케치의 합집합으로 추정
+ * 게시물당 메모리/저장 공간이 방문 수와 무관하게 수 KB 로 고정된다.
+ */
+@Slf4j
+@Component
+public class UniqueViewerCounter implements PostIndexer {
+
+    private static final long MAX_CACHED_SKETCHES = 2_000; // 약 4KB × 2,000
+
+    private final PostViewerSketchRepository sketchRepository;
+    private final TransactionTemplate tx;
+
+    private final Map<Long, HyperLogLog> pending = new ConcurrentHashMap<>();
+    private final Cache<Long, HyperLogLog> persisted = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_SKETCHES)
+            .build();
+
+    public UniqueViewerCounter(PostViewerSketchRepository sketchRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.sketchRepository = sketchRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    /** 방문자 기록 — viewerKey 는 "u:{username}" 또는 "a:{클라이언트 지문}" */
+    public void offer(Long postId, String viewerKey) {
+        pending.compute(postId, (id, sketch) -> {
+            HyperLogLog s = (sketch == null) ? new HyperLogLog() : sketch;
+            s.offer(viewerKey);
+            return s;
+        });
+    }
+
+    /** 저장된 스케치와 미반영 스케치를 합친 고유 방문자 추정치 */
+    public long estimate(Long postId) {
+        HyperLogLog merged = persistedSketch(postId).copy();
+        pending.computeIfPresent(postId, (id, sketch) -> {
+            merged.merge(sketch);
+            return sketch;
+        });
+        return merged.estimate();
+    }
+
+    private HyperLogLog persistedSketch(Long postId) {
+        return persisted.get(postId, id -> sketchRepository.findById(id)
+                .map(row -> HyperLogLog.fromBytes(row.getSketch()))
+                .orElseGet(HyperLogLog::new));
+    }
+
+    // ====================== 플러시 ======================
+
+    @Scheduled(fixedDelayString = "${post.counters.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    public void drainOnShutdown() {
+        int flushed = flush();
+        log.info("[VIEWERS] drained {} sketches on shutdown", flushed);
+    }
+
+    /** 미반영 스케치를 게시물마다 잠금 → 병합 → 저장. 실패한 게시물은 다음 주기에 다시 합친다. */
+    public synchronized int flush() {
+        List<Long> postIds = new ArrayList<>(pending.keySet());
+        postIds.sort(null);
+        int flushed = 0;
+
+        for (Long postId : postIds) {
+            HyperLogLog delta = pending.remove(postId);
+            if (delta == null) continue;
+            try {
+                HyperLogLog merged = tx.execute(status -> {
+                    PostViewerSketch row = sketchRepository.findForUpdate(postId)
+                            .orElseGet(() -> new PostViewerSketch(postId));
+                    HyperLogLog sketch = (row.getSketch() == null)
+                            ? new HyperLogLog()
+                            : HyperLogLog.fromBytes(row.getSketch());
+                    sketch.merge(delta);
+                    row.setSketch(sketch.toBytes());
+                    row.setUpdatedAt(LocalDateTime.now());
+                    sketchRepository.save(row);
+                    return sketch;
+                });
+                persisted.put(postId, merged);
+                flushed++;
+            } catch (RuntimeException e) {
+                // 합집합 연산이라 다시 합쳐도 중복 집계가 생기지 않는다
+                pending.merge(postId, delta, (cur, old) -> {
+                    cur.merge(old);
+                    return cur;
+                });
+                log.warn("[VIEWERS] flush failed for postId={}, will retry: {}", postId, e.getMessage());
+            }
+        }
+        return flushed;
+    }
+
+    /**
+     * 게시물 삭제 트랜잭션 안에서 저장된 스케치 행을 지운다 (PostService.delete).
+     * remove() 는 커밋 후 리스너에서 불리는데, 그때는 끝난 트랜잭션의 EntityManager 에 합류해 삭제가 flush 되지 않는다.
+     */
+    public void deleteSketch(Long postId) {
+        pending.remove(postId);
+        sketchRepository.deleteById(postId);
+    }
+
+    // ====================== PostIndexer ======================
+
+    @Override
+    public void index(PostDocument document) {
+        // 방문자 스케치는 게시물 내용과 무관
+    }
+
+    /** 메모리 상태만 정리 — DB 행은 deleteSketch 가 삭제 트랜잭션에서 지운다 */
+    @Override
+    public void remove(Long postId) {
+        pending.remove(postId);
+        persisted.invalidate(postId);
+    }
+}
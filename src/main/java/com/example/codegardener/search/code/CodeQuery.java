@@ -0,0 +1,169 @@
+package com.example.codegardener.search.code;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * 코드 검색 질의 — 후보를 고를 트라이그램(모두 포함해야 함)과 실제 일치 여부 검증기.
+ * 정규식은 반드시 나와야 하는 리터럴 구간만 뽑아 트라이그램으로 쓰고, 뽑을 수 없으면 전체를 검증한다.
+ */
+final class CodeQuery {
+
+    private static final long REGEX_BUDGET_NANOS = 200_000_000L; // 질의 하나당 정규식 검증 시간 한도
+
+    private final String literal;   // 리터럴 검색일 때
+    private final Pattern pattern;  // 정규식 검색일 때
+    private final boolean ignoreCase;
+    private final Set<Long> requiredTrigrams;
+    private final long deadline;
+
+    private CodeQuery(String literal, Pattern pattern, boolean ignoreCase, Set<Long> requiredTrigrams) {
+        this.literal = literal;
+        this.pattern = pattern;
+        this.ignoreCase = ignoreCase;
+        this.requiredTrigrams = requiredTrigrams;
+        this.deadline = System.nanoTime() + REGEX_BUDGET_NANOS;
+    }
+
+    static CodeQuery literal(String text, boolean ignoreCase) {
+        if (text == null || text.length() < 3) {
+            throw new IllegalArgumentException("코드 검색어는 3자 이상이어야 합니다.");
+        }
+        String literal = ignoreCase ? text.toLowerCase(Locale.ROOT) : text;
+        return new CodeQuery(literal, null, ignoreCase, Trigrams.of(text));
+    }
+
+    static CodeQuery regex(String regex, boolean ignoreCase) {
+        if (regex == null || regex.isEmpty()) {
+            throw new IllegalArgumentException("정규식을 입력해 주세요.");
+        }
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile(regex, ignoreCase ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE : 0);
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("잘못된 정규식입니다: " + e.getDescription());
+        }
+        Set<Long> trigrams = new TreeSet<>();
+        for (String run : requiredLiterals(regex)) {
+            trigrams.addAll(Trigrams.of(run));
+        }
+        return new CodeQuery(null, pattern, ignoreCase, trigrams);
+    }
+
+    /** 비어 있으면 트라이그램으로 후보를 줄일 수 없다 (전체 검증) */
+    Set<Long> requiredTrigrams() {
+        return requiredTrigrams;
+    }
+
+    /** 일치하는 첫 위치 (없으면 -1) */
+    int find(String code) {
+        if (literal != null) {
+            return (ignoreCase ? code.toLowerCase(Locale.ROOT) : code).indexOf(literal);
+        }
+        Matcher m = pattern.matcher(new DeadlineCharSequence(code, deadline));
+        return m.find() ? m.start() : -1;
+    }
+
+    /**
+     * 정규식에서 모든 일치에 반드시 들어가는 리터럴 구간을 보수적으로 뽑는다.
+     * - 최상위가 아니더라도 '|' 가 있으면 포기 (어느 분기가 쓰일지 모름)
+     * - 괄호/문자 클래스/'.' 등 메타 문자에서 구간을 끊는다
+     * - 바로 뒤에 ?, *, {0 이 붙은 문자는 없을 수도 있으므로 구간에서 뺀다
+     */
+    static List<String> requiredLiterals(String regex) {
+        List<String> runs = new ArrayList<>();
+        if (regex.indexOf('|') >= 0) return runs;
+
+        StringBuilder run = new StringBuilder();
+        int depth = 0;
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            char literalChar = 0;
+            boolean isLiteral = false;
+
+            if (c == '\\' && i + 1 < regex.length()) {
+                char n = regex.charAt(++i);
+                if (!Character.isLetterOrDigit(n)) { // \. \( \\ 등은 문자 그대로
+                    literalChar = n;
+                    isLiteral = depth == 0;
+                }
+            } else if (c == '[') {
+                // 문자 클래스는 건너뛴다
+                while (i + 1 < regex.length() && regex.charAt(i + 1) != ']') {
+                    if (regex.charAt(i + 1) == '\\') i++;
+                    i++;
+                }
+                i++;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth = Math.max(0, depth - 1);
+            } else if (".^$*+?{}".indexOf(c) < 0) {
+                literalChar = c;
+                isLiteral = depth == 0;
+            }
+
+            if (isLiteral) {
+                if (isOptional(regex, i + 1)) {
+                    flush(run, runs);
+                } else {
+                    run.append(literalChar);
+                    if (i + 1 < regex.length() && regex.charAt(i + 1) == '+') {
+                        flush(run, runs); // 반복 뒤로는 이어지지 않는다
+                    }
+                }
+            } else {
+                flush(run, runs);
+                if (c == '{') { // 반복 횟수 지정 건너뛰기
+                    while (i + 1 < regex.length() && regex.charAt(i) != '}') i++;
+                }
+            }
+        }
+        flush(run, runs);
+        return runs;
+    }
+
+    private static boolean isOptional(String regex, int next) {
+        if (next >= regex.length()) return false;
+        char q = regex.charAt(next);
+        return q == '?' || q == '*' || (q == '{' && next + 1 < regex.length() && regex.charAt(next + 1) == '0');
+    }
+
+    private static void flush(StringBuilder run, List<String> runs) {
+        if (run.length() >= 3) runs.add(run.toString());
+        run.setLength(0);
+    }
+
+    /** 정규식 검증이 오래 걸리면(역추적 폭발 등) 중단시키기 위한 래퍼 */
+    private record DeadlineCharSequence(CharSequence inner, long deadline) implements CharSequence {
+
+        @Override
+        public char charAt(int index) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalArgumentException("정규식 검색 시간이 초과되었습니다.");
+            }
+            return inner.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return inner.length();
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new DeadlineCharSequence(inner.subSequence(start, end), deadline);
+        }
+
+        @Override
+        public String toString() {
+            return inner.toString();
+        }
+    }
+}
@@ -0,0 +1,505 @@
+package com.example.codegardener.search.code;
+
+import com.example.codegardener.post.index.PostDocument;
+import com.example.codegardener.post.index.PostIndexer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Post.code 트라이그램 검색 인덱스.
+ * - 새로 들어온/수정된 코드는 메모리 버퍼에 모았다가 불변 세그먼트 파일(seg-{세대}.cgs)로 내려쓴다
+ * - 세그먼트는 메모리 매핑으로 읽으므로 색인과 코드 원문이 힙을 차지하지 않는다
+ * - 세그먼트는 크기 단계별로 MERGE_FACTOR 개씩 살아 있는 문서만 모아 합치고(최대 MAX_SEGMENT_BYTES),
+ *   삭제로 절반 넘게 죽은 세그먼트는 따로 다시 쓴다 — 한 번 병합에 전체를 다시 쓰지 않는다
+ * - 전체 적재 중에는 큰 세그먼트로 내려써서 처음부터 세그먼트가 수천 개 생기지 않게 한다
+ * - 재기동 시 디렉터리의 세그먼트를 바로 열고, 전체 적재 단계에서는 코드 해시가 같으면 건너뛰어
+ *   바뀐 게시물만 다시 쓴다 (적재 중 보이지 않은 게시물은 삭제된 것으로 본다)
+ * 같은 postId 가 여러 세그먼트에 있으면 최신 세대가 유효하다 (live 맵이 유효 위치를 가리킨다).
+ */
+@Slf4j
+@Component
+public class CodeSearchIndex implements PostIndexer {
+
+    private static final int FLUSH_THRESHOLD = 256;             // 버퍼 문서 수가 이만큼 차면 바로 세그먼트로
+    private static final int BOOTSTRAP_FLUSH_THRESHOLD = 65_536; // 전체 적재 중에는 크게 모아서
+    private static final long FLUSH_CHARS = 32L << 20;          // 버퍼 코드가 이만큼(문자 수) 쌓여도 내려쓰기
+    static final int MERGE_FACTOR = 10;                          // 같은 크기 단계 세그먼트가 이만큼 모이면 합치기
+    static final long MAX_SEGMENT_BYTES = 512L << 20;            // 병합 결과 세그먼트 크기 상한
+    private static final long FLOOR_SEGMENT_BYTES = 2L << 20;    // 이보다 작은 세그먼트는 모두 가장 낮은 단계
+    private static final double MIN_LIVE_RATIO = 0.5;            // 유효 문서 비율이 이보다 낮으면 다시 쓰기
+    private static final int MAX_SNIPPET_LENGTH = 200;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("seg-(\\d+)\\.cgs");
+
+    private final Path directory;
+
+    private final List<CodeSegment> segments = new ArrayList<>();     // 세대 오름차순
+    private final Map<Long, Location> live = new HashMap<>();          // postId → 유효 문서 위치
+    private final Map<CodeSegment, Integer> liveCounts = new HashMap<>(); // 세그먼트별 유효 문서 수
+    private final Map<Long, String> buffer = new HashMap<>();          // 아직 세그먼트로 내려가지 않은 코드
+    private long bufferedChars = 0;
+    private long nextGeneration = 1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock writeMutex = new ReentrantLock();      // 플러시/병합은 한 번에 하나
+
+    private volatile boolean bootstrapped = false;
+    private final Set<Long> seenDuringBootstrap = new HashSet<>();
+
+    private record Location(CodeSegment segment, int ordinal) {
+    }
+
+    /** 검색 결과 한 건 — 첫 일치 줄 번호(1부터)와 그 줄 */
+    public record Hit(Long postId, int lineNumber, String line) {
+    }
+
+    public CodeSearchIndex(@Value("${code-search.dir:data/code-index}") String directory) {
+        this.directory = Path.of(directory);
+        openExisting();
+    }
+
+    // ====================== 검색 ======================
+
+    /**
+     * 코드에 질의가 들어 있는 게시물을 postId 내림차순(최신순)으로 limit 개까지.
+     * 리터럴은 3자 이상, 정규식은 반드시 나와야 하는 리터럴 구간으로 후보를 줄인 뒤 실제 일치를 검증한다.
+     */
+    public List<Hit> search(String query, boolean regex, boolean ignoreCase, int limit) {
+        CodeQuery q = regex ? CodeQuery.regex(query, ignoreCase) : CodeQuery.literal(query, ignoreCase);
+
+        lock.readLock().lock();
+        try {
+            // 후보: 버퍼의 문서 + 각 세그먼트의 트라이그램 교집합 중 아직 유효한 문서
+            TreeMap<Long, Object> candidates = new TreeMap<>(Comparator.reverseOrder());
+            buffer.forEach(candidates::put);
+            for (CodeSegment segment : segments) {
+                for (int ordinal : candidateOrdinals(segment, q.requiredTrigrams())) {
+                    long postId = segment.postId(ordinal);
+                    Location loc = live.get(postId);
+                    if (loc != null && loc.segment() == segment && loc.ordinal() == ordinal) {
+                        candidates.put(postId, loc);
+                    }
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>();
+            for (Map.Entry<Long, Object> e : candidates.entrySet()) {
+                String code = (e.getValue() instanceof String s)
+                        ? s
+                        : ((Location) e.getValue()).segment().code(((Location) e.getValue()).ordinal());
+                int at = q.find(code);
+                if (at >= 0) {
+                    hits.add(toHit(e.getKey(), code, at));
+                    if (hits.size() >= limit) break;
+                }
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int[] candidateOrdinals(CodeSegment segment, Set<Long> trigrams) {
+        if (trigrams.isEmpty()) {
+            int[] all = new int[segment.docCount()];
+            for (int i = 0; i < all.length; i++) all[i] = i;
+            return all;
+        }
+        List<int[]> lists = new ArrayList<>(trigrams.size());
+        for (long trigram : trigrams) {
+            int[] postings = segment.postings(trigram);
+            if (postings.length == 0) return postings;
+            lists.add(postings);
+        }
+        lists.sort(Comparator.comparingInt(l -> l.length)); // 짧은 목록부터 교집합
+        int[] result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else { out[n++] = a[i]; i++; j++; }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static Hit toHit(Long postId, String code, int at) {
+        int lineStart = code.lastIndexOf('\n', at - 1) + 1;
+        int lineEnd = code.indexOf('\n', at);
+        if (lineEnd < 0) lineEnd = code.length();
+        int lineNumber = 1;
+        for (int i = 0; i < lineStart; i++) {
+            if (code.charAt(i) == '\n') lineNumber++;
+        }
+        String line = code.substring(lineStart, lineEnd).strip();
+        if (line.length() > MAX_SNIPPET_LENGTH) line = line.substring(0, MAX_SNIPPET_LENGTH);
+        return new Hit(postId, lineNumber, line);
+    }
+
+    // ====================== PostIndexer ======================
+
+    @Override
+    public void index(PostDocument document) {
+        Long postId = document.getPostId();
+        String code = document.getCode() == null ? "" : document.getCode();
+        boolean flushNow;
+
+        lock.writeLock().lock();
+        try {
+            if (!bootstrapped) seenDuringBootstrap.add(postId);
+            Location loc = live.get(postId);
+            if (!buffer.containsKey(postId) && loc != null
+                    && loc.segment().codeHash(loc.ordinal()) == Trigrams.hash(code)) {
+                return; // 세그먼트에 같은 코드가 이미 있음 (재기동 후 적재)
+            }
+            removeLive(postId);
+            unbuffer(buffer.put(postId, code));
+            bufferedChars += code.length();
+            flushNow = buffer.size() >= (bootstrapped ? FLUSH_THRESHOLD : BOOTSTRAP_FLUSH_THRESHOLD)
+                    || bufferedChars >= FLUSH_CHARS;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (flushNow) flush();
+    }
+
+    @Override
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            unbuffer(buffer.remove(postId));
+            removeLive(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** 적재 중 보이지 않은 게시물(서버가 내려가 있는 동안 삭제됨)을 지우고 버퍼를 내려쓴다 */
+    @Override
+    public void onBootstrapCompleted() {
+        int removed = 0;
+        lock.writeLock().lock();
+        try {
+            List<Long> unseen = new ArrayList<>();
+            for (Long postId : live.keySet()) {
+                if (!seenDuringBootstrap.contains(postId)) unseen.add(postId);
+            }
+            unseen.forEach(this::removeLive);
+            removed = unseen.size();
+            seenDuringBootstrap.clear();
+            bootstrapped = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        flush();
+        mergeIfNeeded();
+        log.info("[CODE] ready: {} segments, {} live posts ({} stale removed)", segments.size(), live.size(), removed);
+    }
+
+    // ====================== 플러시 / 병합 ======================
+
+    @Scheduled(fixedDelayString = "${code-search.flush-interval-ms:30000}")
+    public void scheduledMaintenance() {
+        try {
+            flush();
+            mergeIfNeeded();
+        } catch (RuntimeException e) {
+            log.warn("[CODE] maintenance failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /** 버퍼를 새 세그먼트로 내려쓴다. 파일을 쓰는 동안에도 버퍼 문서는 계속 검색된다. */
+    public void flush() {
+        writeMutex.lock();
+        try {
+            Map<Long, String> snapshot;
+            long generation;
+            lock.readLock().lock();
+            try {
+                if (buffer.isEmpty()) return;
+                snapshot = new HashMap<>(buffer);
+                generation = nextGeneration;
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            long[] postIds = snapshot.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+            CodeSegment segment = writeSegment(generation, new CodeSegment.Source() {
+                public int size() { return postIds.length; }
+                public long postId(int i) { return postIds[i]; }
+                public long codeHash(int i) { return Trigrams.hash(snapshot.get(postIds[i])); }
+                public String code(int i) { return snapshot.get(postIds[i]); }
+            });
+
+            lock.writeLock().lock();
+            try {
+                nextGeneration = generation + 1;
+                segments.add(segment);
+                for (int ordinal = 0; ordinal < segment.docCount(); ordinal++) {
+                    long postId = segment.postId(ordinal);
+                    // 쓰는 동안 다시 수정/삭제된 문서는 버퍼 쪽 상태를 유지
+                    if (buffer.get(postId) == snapshot.get(postId)) {
+                        unbuffer(buffer.remove(postId));
+                        putLive(postId, new Location(segment, ordinal));
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.debug("[CODE] flushed {} docs into {}", postIds.length, segment.path().getFileName());
+        } finally {
+            writeMutex.unlock();
+        }
+    }
+
+    /**
+     * 병합 정책에 걸리는 세그먼트가 없어질 때까지 하나씩 합친다.
+     * 한 번에 다시 쓰는 양은 고른 입력 세그먼트의 유효 문서뿐이고 결과는 MAX_SEGMENT_BYTES 를 넘지 않는다.
+     */
+    public void mergeIfNeeded() {
+        writeMutex.lock();
+        try {
+            List<CodeSegment> inputs;
+            while (!(inputs = selectMerge()).isEmpty()) {
+                merge(inputs);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeMutex.unlock();
+        }
+    }
+
+    /**
+     * 다음에 합칠 세그먼트 (없으면 빈 목록).
+     * 1) 유효 문서가 없는 세그먼트는 그대로 지운다 (병합 결과 없이)
+     * 2) 유효 크기(파일 크기 × 유효 비율)가 같은 단계인 세그먼트가 MERGE_FACTOR 개 넘게 모이면 작은 것부터 합친다
+     * 3) 유효 비율이 MIN_LIVE_RATIO 보다 낮은 세그먼트는 혼자 다시 쓴다
+     * 유효 크기가 MAX_SEGMENT_BYTES 의 절반을 넘는 세그먼트는 2) 에서 빠진다 (더 키우지 않음).
+     */
+    private List<CodeSegment> selectMerge() {
+        lock.readLock().lock();
+        try {
+            for (CodeSegment segment : segments) {
+                if (liveCount(segment) == 0) return List.of(segment);
+            }
+
+            Map<Integer, List<CodeSegment>> tiers = new TreeMap<>();
+            for (CodeSegment segment : segments) {
+                long size = liveBytes(segment);
+                if (size > MAX_SEGMENT_BYTES / 2) continue;
+                tiers.computeIfAbsent(tier(size), k -> new ArrayList<>()).add(segment);
+            }
+            for (List<CodeSegment> tier : tiers.values()) {
+                if (tier.size() < MERGE_FACTOR) continue;
+                tier.sort(Comparator.comparingLong(this::liveBytes));
+                List<CodeSegment> chosen = new ArrayList<>(MERGE_FACTOR);
+                long total = 0;
+                for (CodeSegment segment : tier) {
+                    if (chosen.size() == MERGE_FACTOR || total + liveBytes(segment) > MAX_SEGMENT_BYTES) break;
+                    chosen.add(segment);
+                    total += liveBytes(segment);
+                }
+                if (chosen.size() >= 2) return chosen;
+            }
+
+            for (CodeSegment segment : segments) {
+                if (liveCount(segment) < segment.docCount() * MIN_LIVE_RATIO) return List.of(segment);
+            }
+            return List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int tier(long liveBytes) {
+        int tier = 0;
+        for (long bound = FLOOR_SEGMENT_BYTES; liveBytes > bound; bound *= MERGE_FACTOR) tier++;
+        return tier;
+    }
+
+    private int liveCount(CodeSegment segment) {
+        return liveCounts.getOrDefault(segment, 0);
+    }
+
+    private long liveBytes(CodeSegment segment) {
+        int docs = segment.docCount();
+        return docs == 0 ? 0 : segment.sizeInBytes() * liveCount(segment) / docs;
+    }
+
+    /** 입력 세그먼트의 유효 문서만 postId 순으로 새 세그먼트에 옮겨 쓰고 입력 파일을 지운다 */
+    private void merge(List<CodeSegment> inputs) throws IOException {
+        // 입력 세그먼트들은 각각 postId 오름차순이므로 순서대로 섞으며 유효 문서만 고른다
+        long[] candidates;
+        int[] sources;
+        int[] ordinals;
+        long generation;
+        lock.readLock().lock();
+        try {
+            int capacity = inputs.stream().mapToInt(this::liveCount).sum();
+            candidates = new long[capacity];
+            sources = new int[capacity];
+            ordinals = new int[capacity];
+            int[] heads = new int[inputs.size()];
+            int n = 0;
+            while (true) {
+                int min = -1;
+                for (int s = 0; s < inputs.size(); s++) {
+                    if (heads[s] < inputs.get(s).docCount()
+                            && (min < 0 || inputs.get(s).postId(heads[s]) < inputs.get(min).postId(heads[min]))) {
+                        min = s;
+                    }
+                }
+                if (min < 0) break;
+                int ordinal = heads[min]++;
+                long postId = inputs.get(min).postId(ordinal);
+                if (new Location(inputs.get(min), ordinal).equals(live.get(postId))) {
+                    candidates[n] = postId;
+                    sources[n] = min;
+                    ordinals[n] = ordinal;
+                    n++;
+                }
+            }
+            candidates = Arrays.copyOf(candidates, n);
+            generation = nextGeneration;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        long[] postIds = candidates;
+        int docCount = postIds.length;
+        CodeSegment merged = docCount == 0 ? null : writeSegment(generation, new CodeSegment.Source() {
+            public int size() { return docCount; }
+            public long postId(int i) { return postIds[i]; }
+            public long codeHash(int i) { return inputs.get(sources[i]).codeHash(ordinals[i]); }
+            public String code(int i) { return inputs.get(sources[i]).code(ordinals[i]); }
+        });
+
+        lock.writeLock().lock();
+        try {
+            nextGeneration = generation + 1;
+            segments.removeAll(inputs);
+            inputs.forEach(liveCounts::remove);
+            if (merged != null) {
+                segments.add(merged);
+                for (int ordinal = 0; ordinal < docCount; ordinal++) {
+                    long postId = postIds[ordinal];
+                    // 병합 중 삭제/수정된 문서는 현재 상태 유지
+                    if (new Location(inputs.get(sources[ordinal]), ordinals[ordinal]).equals(live.get(postId))) {
+                        putLive(postId, new Location(merged, ordinal));
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // 매핑은 GC 될 때 풀리며, 이미 열린 매핑은 파일을 지워도 계속 읽을 수 있다
+        for (CodeSegment old : inputs) {
+            Files.deleteIfExists(old.path());
+        }
+        log.info("[CODE] merged {} segments into {} ({} docs)", inputs.size(),
+                merged == null ? "nothing" : merged.path().getFileName(), docCount);
+    }
+
+    private CodeSegment writeSegment(long generation, CodeSegment.Source docs) {
+        Path path = directory.resolve("seg-" + generation + ".cgs");
+        try {
+            CodeSegment.write(path, docs);
+            return CodeSegment.open(generation, path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("코드 검색 세그먼트 쓰기 실패: " + path, e);
+        }
+    }
+
+    // 아래 셋은 쓰기 락을 쥔 채로 부른다
+
+    private void putLive(long postId, Location location) {
+        removeLive(postId);
+        live.put(postId, location);
+        liveCounts.merge(location.segment(), 1, Integer::sum);
+    }
+
+    private void removeLive(long postId) {
+        Location old = live.remove(postId);
+        if (old != null) liveCounts.computeIfPresent(old.segment(), (k, v) -> v - 1);
+    }
+
+    private void unbuffer(String code) {
+        if (code != null) bufferedChars -= code.length();
+    }
+
+    /** 테스트용 */
+    int segmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ====================== 기동 ======================
+
+    /** 디렉터리의 세그먼트를 세대 순으로 열어 유효 위치를 복원한다 (파일을 다시 읽어 색인하지 않음) */
+    private void openExisting() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> list = Files.list(directory)) {
+                files = list.toList();
+            }
+            List<CodeSegment> opened = new ArrayList<>();
+            for (Path file : files) {
+                if (file.getFileName().toString().endsWith(".tmp")) {
+                    Files.deleteIfExists(file); // 쓰다 만 파일
+                    continue;
+                }
+                Matcher m = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (!m.matches()) continue;
+                try {
+                    opened.add(CodeSegment.open(Long.parseLong(m.group(1)), file));
+                } catch (RuntimeException | IOException e) {
+                    // 이전 형식이거나 깨진 파일 — 그 문서들은 전체 적재 단계에서 다시 색인된다
+                    log.warn("[CODE] deleting unreadable segment {}: {}", file, e.getMessage());
+                    Files.deleteIfExists(file);
+                }
+            }
+            opened.sort(Comparator.comparingLong(CodeSegment::generation));
+            for (CodeSegment segment : opened) {
+                segments.add(segment);
+                for (int ordinal = 0; ordinal < segment.docCount(); ordinal++) {
+                    putLive(segment.postId(ordinal), new Location(segment, ordinal));
+                }
+                nextGeneration = Math.max(nextGeneration, segment.generation() + 1);
+            }
+            log.info("[CODE] opened {} segments ({} posts) from {}", segments.size(), live.size(), directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("코드 검색 디렉터리를 열 수 없습니다: " + directory, e);
+        }
+    }
+}
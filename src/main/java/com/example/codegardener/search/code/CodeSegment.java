@@ -0,0 +1,329 @@
+package com.example.codegardener.search.code;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * 코드 검색 세그먼트 — 한 번 쓰고 다시는 고치지 않는 트라이그램 색인 파일.
+ * 읽기는 FileChannel 로 매핑한 버퍼의 절대 위치 읽기만 쓰므로 여러 스레드가 동시에 읽어도 안전하고,
+ * 색인/코드 본문이 힙에 올라오지 않는다.
+ *
+ * <pre>
+ * header   : magic(int) version(int) docCount(int) termCount(int)
+ *            docTableAt(int) termTableAt(int) postingsAt(int) storedAt(int)
+ * docs     : docCount  × [postId(long) codeHash(long) storedPos(int) storedLen(int)]  postId 오름차순
+ * terms    : termCount × [trigram(long) postingsPos(int) count(int)]                   trigram 오름차순
+ * postings : 트라이그램별 문서 순번(int) 오름차순
+ * stored   : 코드 원문 UTF-8 (검증 단계에서 읽음)
+ * </pre>
+ */
+final class CodeSegment {
+
+    private static final int MAGIC = 0x43475453; // "CGTS"
+    private static final int VERSION = 2; // 2: 트라이그램 소문자화를 Locale.ROOT 로 고정
+    private static final int HEADER_BYTES = 32;
+    private static final int DOC_ENTRY_BYTES = 24;
+    private static final int TERM_ENTRY_BYTES = 16;
+
+    /** 세그먼트에 쓸 문서 한 건 */
+    record Doc(long postId, long codeHash, String code) {
+    }
+
+    private final long generation;
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final int docCount;
+    private final int termCount;
+    private final int docTableAt;
+    private final int termTableAt;
+    private final int postingsAt;
+    private final int storedAt;
+
+    private CodeSegment(long generation, Path path, ByteBuffer buffer) {
+        this.generation = generation;
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("코드 검색 세그먼트 형식이 아닙니다: " + path);
+        }
+        this.docCount = buffer.getInt(8);
+        this.termCount = buffer.getInt(12);
+        this.docTableAt = buffer.getInt(16);
+        this.termTableAt = buffer.getInt(20);
+        this.postingsAt = buffer.getInt(24);
+        this.storedAt = buffer.getInt(28);
+    }
+
+    static CodeSegment open(long generation, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapped.order(ByteOrder.BIG_ENDIAN);
+            return new CodeSegment(generation, path, mapped);
+        }
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int docCount() {
+        return docCount;
+    }
+
+    long postId(int ordinal) {
+        return buffer.getLong(docTableAt + ordinal * DOC_ENTRY_BYTES);
+    }
+
+    long codeHash(int ordinal) {
+        return buffer.getLong(docTableAt + ordinal * DOC_ENTRY_BYTES + 8);
+    }
+
+    String code(int ordinal) {
+        int entry = docTableAt + ordinal * DOC_ENTRY_BYTES;
+        int pos = buffer.getInt(entry + 16);
+        int len = buffer.getInt(entry + 20);
+        byte[] bytes = new byte[len];
+        buffer.get(storedAt + pos, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** 트라이그램의 문서 순번 목록 (없으면 빈 배열) */
+    int[] postings(long trigram) {
+        int lo = 0, hi = termCount - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int entry = termTableAt + mid * TERM_ENTRY_BYTES;
+            long t = buffer.getLong(entry);
+            if (t < trigram) {
+                lo = mid + 1;
+            } else if (t > trigram) {
+                hi = mid - 1;
+            } else {
+                int pos = buffer.getInt(entry + 8);
+                int count = buffer.getInt(entry + 12);
+                int[] ordinals = new int[count];
+                for (int i = 0; i < count; i++) {
+                    ordinals[i] = buffer.getInt(postingsAt + pos + i * 4);
+                }
+                return ordinals;
+            }
+        }
+        return new int[0];
+    }
+
+    /** 파일 크기 (병합 정책의 크기 단계 계산용) */
+    long sizeInBytes() {
+        return buffer.capacity();
+    }
+
+    // ====================== 쓰기 ======================
+
+    /** 세그먼트에 쓸 문서 목록 — postId 오름차순이어야 하며, 쓰는 동안 두 번 훑는다 */
+    interface Source {
+        int size();
+
+        long postId(int i);
+
+        long codeHash(int i);
+
+        String code(int i);
+    }
+
+    /** 문서 목록으로 새 세그먼트 파일을 만든다 (순서는 상관없음) */
+    static void write(Path path, List<Doc> docs) throws IOException {
+        List<Doc> sorted = new ArrayList<>(docs);
+        sorted.sort(Comparator.comparingLong(Doc::postId));
+        write(path, new Source() {
+            public int size() { return sorted.size(); }
+            public long postId(int i) { return sorted.get(i).postId(); }
+            public long codeHash(int i) { return sorted.get(i).codeHash(); }
+            public String code(int i) { return sorted.get(i).code(); }
+        });
+    }
+
+    /**
+     * 새 세그먼트 파일을 만든다. 임시 파일에 다 쓴 뒤 이름을 바꾸므로 반쯤 쓰인 파일은 보이지 않는다.
+     * 첫 번째 훑기에서 트라이그램별 문서 수와 코드 바이트 수만 세어 각 구간의 위치를 정하고,
+     * 두 번째 훑기에서 문서 표·포스팅·코드 원문을 매핑한 파일의 제자리에 바로 쓴다.
+     * 힙에는 트라이그램 종류 수만큼의 원시 배열만 남고 포스팅과 코드 원문은 쌓이지 않는다.
+     */
+    static void write(Path path, Source docs) throws IOException {
+        int docCount = docs.size();
+
+        // 1) 트라이그램별 문서 수, 코드 원문 크기
+        TermCounts terms = new TermCounts();
+        long storedBytes = 0;
+        long postingCount = 0;
+        for (int i = 0; i < docCount; i++) {
+            String code = docs.code(i);
+            storedBytes += utf8Length(code);
+            long[] trigrams = Trigrams.sortedKeys(code);
+            postingCount += trigrams.length;
+            for (long trigram : trigrams) terms.increment(trigram);
+        }
+        int termCount = terms.size();
+
+        long docTableAt = HEADER_BYTES;
+        long termTableAt = docTableAt + (long) docCount * DOC_ENTRY_BYTES;
+        long postingsAt = termTableAt + (long) termCount * TERM_ENTRY_BYTES;
+        long storedAt = postingsAt + postingCount * 4;
+        long total = storedAt + storedBytes;
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalStateException("세그먼트가 2GB 를 넘습니다: " + path);
+        }
+
+        // 트라이그램 오름차순으로 번호를 다시 매기고, 번호별 포스팅 시작 위치(문서 순번 단위)를 정한다
+        long[] trigramsSorted = terms.keys();
+        Arrays.sort(trigramsSorted);
+        int[] postingStart = new int[termCount];
+        int next = 0;
+        for (int t = 0; t < termCount; t++) {
+            postingStart[t] = next;
+            next += terms.reassign(trigramsSorted[t], t);
+        }
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, total);
+            out.order(ByteOrder.BIG_ENDIAN);
+            out.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, docCount).putInt(12, termCount)
+                    .putInt(16, (int) docTableAt).putInt(20, (int) termTableAt)
+                    .putInt(24, (int) postingsAt).putInt(28, (int) storedAt);
+
+            for (int t = 0; t < termCount; t++) {
+                int entry = (int) termTableAt + t * TERM_ENTRY_BYTES;
+                int end = t + 1 < termCount ? postingStart[t + 1] : next;
+                out.putLong(entry, trigramsSorted[t]).putInt(entry + 8, postingStart[t] * 4)
+                        .putInt(entry + 12, end - postingStart[t]);
+            }
+
+            // 2) 문서 표, 포스팅(문서 순번 오름차순으로 채워짐), 코드 원문
+            int[] cursor = postingStart; // 이제부터는 번호별 다음 쓰기 위치
+            int storedPos = 0;
+            for (int i = 0; i < docCount; i++) {
+                String code = docs.code(i);
+                byte[] bytes = code.getBytes(StandardCharsets.UTF_8);
+                int entry = (int) docTableAt + i * DOC_ENTRY_BYTES;
+                out.putLong(entry, docs.postId(i)).putLong(entry + 8, docs.codeHash(i))
+                        .putInt(entry + 16, storedPos).putInt(entry + 20, bytes.length);
+                out.put((int) storedAt + storedPos, bytes);
+                storedPos += bytes.length;
+                for (long trigram : Trigrams.sortedKeys(code)) {
+                    int t = terms.get(trigram);
+                    out.putInt((int) postingsAt + cursor[t]++ * 4, i);
+                }
+            }
+            out.force();
+        }
+        Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static long utf8Length(String s) {
+        long len = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                len += 1;
+            } else if (c < 0x800) {
+                len += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                len += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                len += 1; // 짝 없는 대리 문자는 getBytes 가 '?' 로 바꾼다
+            } else {
+                len += 3;
+            }
+        }
+        return len;
+    }
+
+    /**
+     * 트라이그램(long) → int 열린 주소 해시. 첫 훑기에서는 문서 수를, 번호를 다시 매긴 뒤에는 트라이그램 번호를 담는다.
+     * 트라이그램은 48비트 양수라 -1 을 빈 칸 표시로 쓴다.
+     */
+    private static final class TermCounts {
+        private static final long EMPTY = -1L;
+
+        private long[] keys = newKeys(1 << 12);
+        private int[] values = new int[1 << 12];
+        private int size;
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        private int slot(long key) {
+            int mask = keys.length - 1;
+            int h = (int) (key ^ (key >>> 29)) * 0x9E3779B9;
+            int i = (h ^ (h >>> 16)) & mask;
+            while (keys[i] != EMPTY && keys[i] != key) i = (i + 1) & mask;
+            return i;
+        }
+
+        void increment(long key) {
+            int i = slot(key);
+            if (keys[i] == EMPTY) {
+                keys[i] = key;
+                size++;
+            }
+            values[i]++;
+            if (size * 2 > keys.length) grow();
+        }
+
+        /** 값을 바꾸고 이전 값을 돌려준다 (없는 키면 안 됨) */
+        int reassign(long key, int value) {
+            int i = slot(key);
+            int previous = values[i];
+            values[i] = value;
+            return previous;
+        }
+
+        int get(long key) {
+            return values[slot(key)];
+        }
+
+        int size() {
+            return size;
+        }
+
+        long[] keys() {
+            long[] out = new long[size];
+            int n = 0;
+            for (long key : keys) {
+                if (key != EMPTY) out[n++] = key;
+            }
+            return out;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = newKeys(oldKeys.length * 2);
+            values = new int[oldKeys.length * 2];
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] != EMPTY) {
+                    int i = slot(oldKeys[j]);
+                    keys[i] = oldKeys[j];
+                    values[i] = oldValues[j];
+                }
+            }
+        }
+    }
+}
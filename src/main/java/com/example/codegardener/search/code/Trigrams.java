@@ -0,0 +1,55 @@
+package com.example.codegardener.search.code;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.CRC32C;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 코드 검색용 문자 트라이그램. 대소문자 구분 없이 색인하고(소문자화), 대소문자 구분 검색은 검증 단계에서 거른다.
+ * 트라이그램은 UTF-16 문자 셋을 16비트씩 이어 붙인 long 값.
+ */
+final class Trigrams {
+
+    private Trigrams() {
+    }
+
+    static Set<Long> of(String text) {
+        Set<Long> trigrams = new TreeSet<>();
+        if (text == null || text.length() < 3) return trigrams;
+        String s = text.toLowerCase(Locale.ROOT); // 세그먼트 파일에 남으므로 JVM 로캘과 무관해야 한다
+        for (int i = 0; i + 2 < s.length(); i++) {
+            trigrams.add(key(s.charAt(i), s.charAt(i + 1), s.charAt(i + 2)));
+        }
+        return trigrams;
+    }
+
+    /** {@link #of} 와 같은 트라이그램을 박싱 없이 오름차순·중복 없는 배열로 (세그먼트 쓰기용) */
+    static long[] sortedKeys(String text) {
+        if (text == null || text.length() < 3) return new long[0];
+        String s = text.toLowerCase(Locale.ROOT);
+        long[] keys = new long[s.length() - 2];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = key(s.charAt(i), s.charAt(i + 1), s.charAt(i + 2));
+        }
+        Arrays.sort(keys);
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (n == 0 || keys[i] != keys[n - 1]) keys[n++] = keys[i];
+        }
+        return Arrays.copyOf(keys, n);
+    }
+
+    static long key(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    /** 코드 변경 여부 판단용 64비트 해시 (String.hashCode + CRC32C) */
+    static long hash(String code) {
+        CRC32C crc = new CRC32C();
+        crc.update(code.getBytes(StandardCharsets.UTF_8));
+        return ((long) code.hashCode() << 32) | crc.getValue();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.codegardener.search.controller;
+
+import com.example.codegardener.search.dto.AutocompleteResponseDto;
+import com.example.codegardener.search.index.AutocompleteIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class AutocompleteController {
+
+    private final AutocompleteIndex autocompleteIndex;
+
+    /** 검색창 자동완성 — 태그/제목 단어/사용자명을 종류별로 limit 개까지 (인메모리, DB 접근 없음) */
+    @GetMapping("/autocomplete")
+    public AutocompleteResponseDto autocomplete(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "5") int limit
+    ) {
+        return autocompleteIndex.suggest(q, Math.min(Math.max(limit, 1), 20));
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.codegardener.search.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 검색창 자동완성 응답 — 종류별로 가중치 내림차순
+ */
+@Getter
+@Builder
+public class AutocompleteResponseDto {
+    private List<SuggestionDto> tags;    // 언어/스택 태그 (kind 로 구분)
+    private List<SuggestionDto> titles;  // 제목 단어
+    private List<SuggestionDto> users;   // 사용자명
+}
@@ -0,0 +1,14 @@
+package com.example.codegardener.search.dto;
+
+import com.example.codegardener.post.dto.PostCardDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** 코드 검색 결과 한 건 — 게시물 카드와 처음 일치한 줄 */
+@Getter
+@AllArgsConstructor
+public class CodeSearchHitDto {
+    private PostCardDto post;
+    private int lineNumber;   // 1부터
+    private String line;
+}
@@ -0,0 +1,14 @@
+package com.example.codegardener.search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/** 코드 검색 응답 — 최신 게시물부터, hasMore 면 size 보다 많이 일치함 */
+@Getter
+@AllArgsConstructor
+public class CodeSearchResponseDto {
+    private List<CodeSearchHitDto> hits;
+    private boolean hasMore;
+}
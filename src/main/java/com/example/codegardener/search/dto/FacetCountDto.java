@@ -0,0 +1,11 @@
+package com.example.codegardener.search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class FacetCountDto {
+    private String value; // 필터 파라미터에 그대로 넣을 수 있는 값 (예: "java", "true")
+    private int count;
+}
@@ -0,0 +1,41 @@
+package com.example.codegardener.search.dto;
+
+import com.example.codegardener.post.dto.PostCardDto;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * /api/posts/search 응답.
+ * 기존 Page 직렬화와 같은 이름의 필드(content, number, size, totalElements ...)를 유지하고 facets 를 덧붙인다.
+ */
+@Getter
+@Builder
+public class PostSearchResponseDto {
+    private List<PostCardDto> content;
+    private int number;
+    private int size;
+    private int numberOfElements;
+    private long totalElements;
+    private int totalPages;
+    private boolean first;
+    private boolean last;
+
+    private SearchFacetsDto facets; // 인덱스 준비 전이면 null
+
+    public static PostSearchResponseDto of(Page<PostCardDto> page, SearchFacetsDto facets) {
+        return PostSearchResponseDto.builder()
+                .content(page.getContent())
+                .number(page.getNumber())
+                .size(page.getSize())
+                .numberOfElements(page.getNumberOfElements())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .first(page.isFirst())
+                .last(page.isLast())
+                .facets(facets)
+                .build();
+    }
+}
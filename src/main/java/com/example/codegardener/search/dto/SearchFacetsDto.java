@@ -0,0 +1,18 @@
+package com.example.codegardener.search.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 검색 결과의 필터별 건수.
+ * 각 차원은 자기 자신의 필터를 뺀 결과 집합에서 센다 (예: 언어 건수는 선택한 언어와 무관하게 표시).
+ */
+@Getter
+@Builder
+public class SearchFacetsDto {
+    private List<FacetCountDto> languages;
+    private List<FacetCountDto> stacks;
+    private List<FacetCountDto> contentsTypes;
+}
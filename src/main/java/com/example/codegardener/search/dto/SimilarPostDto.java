@@ -0,0 +1,13 @@
+package com.example.codegardener.search.dto;
+
+import com.example.codegardener.post.dto.PostCardDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** 비슷한 코드 추천 한 건 — similarity 는 추정 Jaccard 유사도(0~1) */
+@Getter
+@AllArgsConstructor
+public class SimilarPostDto {
+    private PostCardDto post;
+    private double similarity;
+}
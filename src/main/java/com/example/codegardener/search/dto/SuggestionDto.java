@@ -0,0 +1,13 @@
+package com.example.codegardener.search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** 자동완성 후보 (kind: language / stack / title / user) */
+@Getter
+@AllArgsConstructor
+public class SuggestionDto {
+    private String value;
+    private String kind;
+    private long weight;
+}
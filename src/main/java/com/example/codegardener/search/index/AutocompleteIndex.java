@@ -0,0 +1,180 @@
+package com.example.codegardener.search.index;
+
+import com.example.codegardener.post.index.PostDocument;
+import com.example.codegardener.post.index.PostIndexer;
+import com.example.codegardener.search.dto.AutocompleteResponseDto;
+import com.example.codegardener.search.dto.SuggestionDto;
+import com.example.codegardener.user.event.UserChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * 검색창 자동완성용 접두사 인덱스 (WeightedTrie).
+ * - 언어/스택 태그: 태그가 붙은 게시물 수
+ * - 제목 단어: 그 단어가 제목에 들어간 게시물 수
+ * - 사용자명: 1 + 작성한 게시물 수 (활동량이 많은 사용자가 위로)
+ * 게시물 쓰기는 PostIndexer 로, 회원 가입/탈퇴는 UserChangedEvent 로 증분 반영한다.
+ */
+@Slf4j
+@Component
+public class AutocompleteIndex implements PostIndexer {
+
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERM_LENGTH = 40;
+    private static final Pattern TITLE_SPLIT = Pattern.compile("[^\\p{L}\\p{N}_+#]+");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final WeightedTrie langs = new WeightedTrie();
+    private final WeightedTrie stacks = new WeightedTrie();
+    private final WeightedTrie titleTerms = new WeightedTrie();
+    private final WeightedTrie users = new WeightedTrie();
+
+    // 수정/삭제 시 이전 기여분을 빼기 위한 게시물별 항목
+    private final Map<Long, PostTerms> postTerms = new HashMap<>();
+
+    // 사용자명 적재(onBootstrapCompleted) 전에 이벤트로 이미 반영한 사용자 — 적재 시 다시 더하지 않는다
+    private final Set<String> usersTouchedDuringBootstrap = new HashSet<>();
+    private boolean usersLoaded = false;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private record PostTerms(List<String> langs, List<String> stacks, Set<String> titleTerms, String author) {
+    }
+
+    public AutocompleteIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // ====================== 조회 ======================
+
+    /** prefix 로 시작하는 후보를 종류별 최대 limit 개씩 */
+    public AutocompleteResponseDto suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return AutocompleteResponseDto.builder().tags(List.of()).titles(List.of()).users(List.of()).build();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<SuggestionDto> tags = new ArrayList<>();
+            langs.topK(key, limit).forEach(s -> tags.add(new SuggestionDto(s.term(), "language", s.weight())));
+            stacks.topK(key, limit).forEach(s -> tags.add(new SuggestionDto(s.term(), "stack", s.weight())));
+            tags.sort(Comparator.comparingLong(SuggestionDto::getWeight).reversed());
+
+            return AutocompleteResponseDto.builder()
+                    .tags(tags.size() > limit ? tags.subList(0, limit) : tags)
+                    .titles(titleTerms.topK(key, limit).stream()
+                            .map(s -> new SuggestionDto(s.term(), "title", s.weight())).toList())
+                    .users(users.topK(key, limit).stream()
+                            .map(s -> new SuggestionDto(s.term(), "user", s.weight())).toList())
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ====================== 게시물 ======================
+
+    @Override
+    public void index(PostDocument document) {
+        PostTerms terms = new PostTerms(
+                PostTagIndex.parseCsv(document.getLangTags()),
+                PostTagIndex.parseCsv(document.getStackTags()),
+                titleTerms(document.getTitle()),
+                document.getAuthorName());
+
+        lock.writeLock().lock();
+        try {
+            PostTerms previous = postTerms.put(document.getPostId(), terms);
+            if (previous != null) apply(previous, -1);
+            apply(terms, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            PostTerms previous = postTerms.remove(postId);
+            if (previous != null) apply(previous, -1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(PostTerms terms, int delta) {
+        terms.langs().forEach(t -> langs.add(t, t, delta));
+        terms.stacks().forEach(t -> stacks.add(t, t, delta));
+        terms.titleTerms().forEach(t -> titleTerms.add(t, t, delta));
+        if (terms.author() != null) {
+            users.add(normalize(terms.author()), terms.author(), delta);
+        }
+    }
+
+    // ====================== 사용자 ======================
+
+    /**
+     * 기동 시 게시물 적재가 끝난 뒤 전체 사용자명을 기본 가중치 1 로 더한다.
+     * 그 전에 가입/탈퇴 이벤트로 반영된 사용자는 건너뛴다 (가입자가 두 번 세어지거나 탈퇴자가 되살아나지 않도록)
+     */
+    @Override
+    public void onBootstrapCompleted() {
+        List<String> names = jdbcTemplate.queryForList("SELECT user_name FROM `user`", String.class);
+        lock.writeLock().lock();
+        try {
+            for (String name : names) {
+                String key = normalize(name);
+                if (!usersTouchedDuringBootstrap.contains(key)) users.add(key, name, 1);
+            }
+            usersLoaded = true;
+            usersTouchedDuringBootstrap.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("[AUTOCOMPLETE] loaded {} tags, {} title terms, {} users",
+                langs.size() + stacks.size(), titleTerms.size(), users.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        String key = normalize(event.getUserName());
+        lock.writeLock().lock();
+        try {
+            if (!usersLoaded) usersTouchedDuringBootstrap.add(key);
+            if (event.getType() == UserChangedEvent.Type.CREATED) {
+                users.add(key, event.getUserName(), 1);
+            } else {
+                users.remove(key);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ====================== Utils ======================
+
+    private static String normalize(String s) {
+        return (s == null) ? "" : s.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // 제목을 공백/구두점 기준 단어로 (한글은 어절 그대로 — 접두사로 찾으므로 바이그램으로 쪼개지 않는다)
+    static Set<String> titleTerms(String title) {
+        if (title == null || title.isBlank()) return Set.of();
+        Set<String> terms = new LinkedHashSet<>();
+        for (String word : TITLE_SPLIT.split(title.toLowerCase(Locale.ROOT))) {
+            if (word.length() >= MIN_TERM_LENGTH && word.length() <= MAX_TERM_LENGTH) {
+                terms.add(word);
+            }
+        }
+        return terms;
+    }
+}
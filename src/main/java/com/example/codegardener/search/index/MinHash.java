@@ -0,0 +1,77 @@
+package com.example.codegardener.search.index;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * MinHash 시그니처와 LSH 밴드 키 (SimilarCodeIndex, ProblemClusterIndex 공용).
+ * 원소(shingle, n-gram 등)는 호출하는 쪽에서 long 해시로 만들어 넘긴다.
+ * 두 시그니처가 같은 칸의 비율 ≈ 원소 집합의 Jaccard 유사도.
+ * 해시 함수는 seed 로 정해지므로 같은 seed 면 재기동해도 같은 시그니처가 나온다.
+ */
+final class MinHash {
+
+    private final long[] seeds;
+    private final int rowsPerBand;
+
+    MinHash(int numHashes, int rowsPerBand, long seed) {
+        if (numHashes % rowsPerBand != 0) {
+            throw new IllegalArgumentException("해시 개수는 밴드 행 수의 배수여야 합니다.");
+        }
+        this.seeds = new long[numHashes];
+        this.rowsPerBand = rowsPerBand;
+        Random random = new Random(seed);
+        for (int i = 0; i < numHashes; i++) seeds[i] = random.nextLong();
+    }
+
+    int numHashes() {
+        return seeds.length;
+    }
+
+    int bands() {
+        return seeds.length / rowsPerBand;
+    }
+
+    /** 원소가 아직 없는 시그니처 */
+    int[] emptySignature() {
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        return signature;
+    }
+
+    /** 원소 하나를 시그니처에 반영 (칸마다 최솟값 유지) */
+    void add(int[] signature, long element) {
+        for (int h = 0; h < seeds.length; h++) {
+            int value = (int) (mix(element ^ seeds[h]) >>> 33); // 0 이상 int
+            if (value < signature[h]) signature[h] = value;
+        }
+    }
+
+    /** 추정 Jaccard 유사도 (0~1) */
+    double estimate(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < seeds.length; i++) {
+            if (a[i] == b[i]) same++;
+        }
+        return (double) same / seeds.length;
+    }
+
+    // 밴드 번호까지 섞어서 다른 밴드끼리 같은 버킷에 들어가지 않게 한다
+    long bandKey(int[] signature, int band) {
+        long h = band;
+        for (int i = band * rowsPerBand; i < (band + 1) * rowsPerBand; i++) {
+            h = mix(h * 31 + signature[i]);
+        }
+        return h;
+    }
+
+    // murmur3 fmix64
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53a87fbL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,457 @@
+package com.example.codegardener.search.index;
+
+import com.example.codegardener.post.index.PostDocument;
+import com.example.codegardener.post.index.PostIndexer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * 제목/본문/작성자명에 대한 인메모리 역색인 (BM25 랭킹).
+ * 질의의 모든 토큰을 포함하는 게시물만 결과로 돌려준다 (기존 LIKE '%q%' 와 같은 AND 의미).
+ * 영문/숫자 토큰은 접두어까지만 LIKE 와 같고, 한 글자 한글 질의는 SQL 경로로 넘긴다 (search 참고).
+ * 기동 시 전체 적재가 끝나기 전에는 isReady()=false 이며, 그동안 검색은 SQL 경로를 탄다.
+ * 포스팅은 용어마다 docId(PostTagIndex.toDocId) 오름차순 int 배열 + tf int 배열이라 한 건에 8바이트,
+ * 문서 길이/용어 목록도 docId 로 바로 찾는 배열에 둔다 (박싱된 맵 항목 없음).
+ */
+@Slf4j
+@Component
+public class PostSearchIndex implements PostIndexer {
+
+    // BM25 파라미터
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // 제목에 나온 토큰은 본문보다 가중치를 더 준다
+    private static final int TITLE_WEIGHT = 3;
+    private static final int CONTENT_WEIGHT = 1;
+    private static final int AUTHOR_WEIGHT = 2;
+
+    // 영문/숫자 접두어 검색: 이 길이 이상부터, 이어지는 용어가 이보다 많으면 SQL 경로로 넘긴다
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    // 접두어 검색을 위해 용어 순으로 정렬해 둔다
+    private final TreeMap<String, Posting> postings = new TreeMap<>();
+    // docId 로 바로 찾는 문서별 정보 — docTerms[docId] 가 null 이면 색인되지 않은 문서
+    private Posting[][] docTerms = new Posting[1024][];   // 제거 시 찾아갈 포스팅 (고유 용어마다 하나)
+    private int[] docLengths = new int[1024];              // 가중치가 반영된 문서 길이
+    private int docCount = 0;
+    private long totalLength = 0;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready = false;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // ====================== 인덱싱 ======================
+
+    @Override
+    public void index(PostDocument document) {
+        Map<String, Integer> tf = new HashMap<>();
+        int length = 0;
+        length += accumulate(tf, document.getTitle(), TITLE_WEIGHT);
+        length += accumulate(tf, document.getContent(), CONTENT_WEIGHT);
+        length += accumulate(tf, document.getAuthorName(), AUTHOR_WEIGHT);
+
+        int docId = PostTagIndex.toDocId(document.getPostId());
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+            ensureCapacityLocked(docId);
+            Posting[] terms = new Posting[tf.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> e : tf.entrySet()) {
+                Posting posting = postings.computeIfAbsent(e.getKey(), Posting::new);
+                posting.add(docId, e.getValue());
+                terms[i++] = posting;
+            }
+            docTerms[docId] = terms;
+            docLengths[docId] = length;
+            docCount++;
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(PostTagIndex.toDocId(postId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onBootstrapCompleted() {
+        ready = true;
+        lock.readLock().lock();
+        try {
+            log.info("[SEARCH] full-text index ready: docs={}, terms={}", docCount, postings.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(int docId) {
+        if (docId >= docTerms.length || docTerms[docId] == null) return;
+        for (Posting posting : docTerms[docId]) {
+            posting.remove(docId);
+            if (posting.live == 0) postings.remove(posting.term);
+        }
+        docTerms[docId] = null;
+        totalLength -= docLengths[docId];
+        docLengths[docId] = 0;
+        docCount--;
+    }
+
+    private void ensureCapacityLocked(int docId) {
+        if (docId < docTerms.length) return;
+        int capacity = Math.max(docId + 1, docTerms.length + (docTerms.length >> 1));
+        docTerms = Arrays.copyOf(docTerms, capacity);
+        docLengths = Arrays.copyOf(docLengths, capacity);
+    }
+
+    private int accumulate(Map<String, Integer> tf, String text, int weight) {
+        List<String> tokens = SearchTokenizer.tokenize(text);
+        for (String token : tokens) {
+            tf.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    // ====================== 검색 ======================
+
+    /**
+     * 질의의 모든 토큰을 포함하는 게시물과 BM25 점수 (순서 없음 — 필요한 만큼만 Hits.rankedIds 로 정렬).
+     * 다음 경우에는 null 을 돌려 호출 측이 SQL LIKE 경로로 처리하게 한다.
+     * - 질의에서 토큰을 하나도 뽑지 못함
+     * - 한 글자짜리 한글/한자 토큰이 있음 (색인에는 바이그램만 있어 LIKE '%자%' 와 같은 결과를 낼 수 없다)
+     * - 영문/숫자 토큰의 접두어로 이어지는 용어가 MAX_PREFIX_EXPANSIONS 개를 넘음 (일부만 합치면 결과/건수가 틀어진다)
+     * 영문/숫자 토큰은 접두어로도 매칭한다 ("spr" → spring, sprint). 단어 중간 일치(LIKE 의 '%ring%')는 지원하지 않는다.
+     */
+    public Hits search(String query) {
+        List<String> terms = SearchTokenizer.tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty()) return null;
+        for (String term : terms) {
+            if (SearchTokenizer.isSingleCjk(term)) return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Posting> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Posting posting = postingFor(term);
+                if (posting == null) return null;
+                if (posting.live == 0) return Hits.EMPTY; // AND 검색: 하나라도 없으면 결과 없음
+                lists.add(posting);
+            }
+            // 가장 짧은 포스팅부터 돌며 나머지에 모두 포함되는지 확인
+            lists.sort(Comparator.comparingInt(p -> p.live));
+
+            int n = docCount;
+            double avgLength = n == 0 ? 1.0 : Math.max(1.0, (double) totalLength / n);
+            double[] idf = new double[lists.size()];
+            for (int i = 0; i < lists.size(); i++) {
+                int df = lists.get(i).live;
+                idf[i] = Math.log(1.0 + (n - df + 0.5) / (df + 0.5));
+            }
+
+            Posting smallest = lists.get(0);
+            long[] ids = new long[smallest.live];
+            double[] scores = new double[smallest.live];
+            int[] cursors = new int[lists.size()]; // 후보 docId 가 오름차순이라 다른 목록도 앞으로만 나아간다
+            int count = 0;
+
+            outer:
+            for (int k = 0; k < smallest.size; k++) {
+                int docId = smallest.docIds[k];
+                double norm = K1 * (1 - B + B * docLengths[docId] / avgLength);
+                double score = 0;
+                for (int i = 0; i < lists.size(); i++) {
+                    Posting posting = lists.get(i);
+                    int at = (i == 0) ? k : posting.seek(docId, cursors[i]);
+                    cursors[i] = at;
+                    if (at >= posting.size || posting.docIds[at] != docId) continue outer;
+                    int tf = posting.tfs[at];
+                    if (tf == 0) continue outer; // 삭제 표시
+                    score += idf[i] * (tf * (K1 + 1)) / (tf + norm);
+                }
+                ids[count] = docId;
+                scores[count] = score;
+                count++;
+            }
+            return new Hits(ids, scores, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 영문/숫자 토큰은 접두어가 같은 용어의 포스팅을 모두 합친다 (한글 바이그램은 정확히 일치만).
+    // 용어가 너무 많으면 null — 잘라서 합치면 정확히 일치하는 용어까지 빠질 수 있다
+    private Posting postingFor(String term) {
+        if (term.length() < MIN_PREFIX_LENGTH || SearchTokenizer.isCjk(term.codePointAt(0))) {
+            return postings.getOrDefault(term, Posting.EMPTY);
+        }
+        SortedMap<String, Posting> expanded = postings.subMap(term, term + Character.MAX_VALUE);
+        if (expanded.isEmpty()) return Posting.EMPTY;
+        if (expanded.size() == 1) return expanded.values().iterator().next();
+        if (expanded.size() > MAX_PREFIX_EXPANSIONS) return null;
+        return Posting.merge(expanded.values());
+    }
+
+    /**
+     * 한 용어의 포스팅 — docId 오름차순 docIds 와 같은 칸의 tf.
+     * 제거는 tf 를 0 으로 표시만 하고(같은 문서를 다시 색인하면 그 칸을 되살린다), 표시된 칸이 절반을 넘으면 압축한다.
+     * 적재와 새 글은 docId 가 커지는 순서라 대부분 끝에 덧붙인다.
+     */
+    private static final class Posting {
+
+        static final Posting EMPTY = new Posting(null);
+
+        final String term;
+        int[] docIds;
+        int[] tfs;
+        int size;   // 배열에 들어 있는 칸 수 (삭제 표시 포함)
+        int live;   // tf > 0 인 칸 수 = 문서 빈도
+
+        Posting(String term) {
+            this(term, new int[2], new int[2], 0);
+        }
+
+        private Posting(String term, int[] docIds, int[] tfs, int size) {
+            this.term = term;
+            this.docIds = docIds;
+            this.tfs = tfs;
+            this.size = size;
+            this.live = size;
+        }
+
+        void add(int docId, int tf) {
+            int at = (size == 0 || docIds[size - 1] < docId) ? -(size + 1) : Arrays.binarySearch(docIds, 0, size, docId);
+            if (at >= 0) {
+                if (tfs[at] == 0) live++;
+                tfs[at] = tf;
+                return;
+            }
+            at = -at - 1;
+            if (size == docIds.length) {
+                int capacity = size + Math.max(2, size >> 1);
+                docIds = Arrays.copyOf(docIds, capacity);
+                tfs = Arrays.copyOf(tfs, capacity);
+            }
+            System.arraycopy(docIds, at, docIds, at + 1, size - at);
+            System.arraycopy(tfs, at, tfs, at + 1, size - at);
+            docIds[at] = docId;
+            tfs[at] = tf;
+            size++;
+            live++;
+        }
+
+        void remove(int docId) {
+            int at = Arrays.binarySearch(docIds, 0, size, docId);
+            if (at < 0 || tfs[at] == 0) return;
+            tfs[at] = 0;
+            live--;
+            if (live < size / 2) compact();
+        }
+
+        private void compact() {
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                if (tfs[i] == 0) continue;
+                docIds[n] = docIds[i];
+                tfs[n] = tfs[i];
+                n++;
+            }
+            size = n;
+            if (docIds.length > 16 && docIds.length > 4 * n) {
+                docIds = Arrays.copyOf(docIds, 2 * n);
+                tfs = Arrays.copyOf(tfs, 2 * n);
+            }
+        }
+
+        /** from 칸부터 docId 이상인 첫 칸 (건너뛰며 범위를 잡은 뒤 이진 탐색, 없으면 size) */
+        int seek(int docId, int from) {
+            if (from >= size || docIds[from] >= docId) return from;
+            int lo = from; // docIds[lo] < docId
+            int step = 1;
+            while (lo + step < size && docIds[lo + step] < docId) {
+                lo += step;
+                step <<= 1;
+            }
+            int at = Arrays.binarySearch(docIds, lo + 1, Math.min(lo + step, size), docId);
+            return at >= 0 ? at : -at - 1;
+        }
+
+        /** 접두어 확장용 — 여러 포스팅의 살아 있는 칸을 docId 별로 tf 를 더해 합친 새 포스팅 */
+        static Posting merge(Collection<Posting> parts) {
+            int total = 0;
+            for (Posting p : parts) total += p.live;
+            long[] packed = new long[total]; // 상위 32비트 docId, 하위 32비트 tf → 정렬하면 docId 순
+            int n = 0;
+            for (Posting p : parts) {
+                for (int i = 0; i < p.size; i++) {
+                    if (p.tfs[i] != 0) packed[n++] = ((long) p.docIds[i] << 32) | p.tfs[i];
+                }
+            }
+            Arrays.sort(packed);
+            int[] docIds = new int[total];
+            int[] tfs = new int[total];
+            int size = 0;
+            for (long entry : packed) {
+                int docId = (int) (entry >>> 32);
+                int tf = (int) entry;
+                if (size > 0 && docIds[size - 1] == docId) {
+                    tfs[size - 1] += tf;
+                } else {
+                    docIds[size] = docId;
+                    tfs[size] = tf;
+                    size++;
+                }
+            }
+            return new Posting(null, docIds, tfs, size);
+        }
+    }
+
+    /**
+     * 검색 결과 (postId 와 점수를 기본형 배열로 들고 있다).
+     * 전체를 정렬하지 않고, 화면에 필요한 앞부분만 크기 제한 힙으로 골라 정렬한다.
+     */
+    public static final class Hits {
+
+        static final Hits EMPTY = new Hits(new long[0], new double[0], 0);
+
+        private final long[] ids;
+        private final double[] scores;
+        private final int size;
+
+        Hits(long[] ids, double[] scores, int size) {
+            this.ids = ids;
+            this.scores = scores;
+            this.size = size;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public long idAt(int i) {
+            return ids[i];
+        }
+
+        /** 조건을 만족하는 결과만 남긴 새 Hits */
+        public Hits filter(LongPredicate keep) {
+            long[] keptIds = new long[size];
+            double[] keptScores = new double[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (keep.test(ids[i])) {
+                    keptIds[count] = ids[i];
+                    keptScores[count] = scores[i];
+                    count++;
+                }
+            }
+            return new Hits(keptIds, keptScores, count);
+        }
+
+        /** 순서 없는 전체 postId */
+        public List<Long> ids() {
+            List<Long> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) result.add(ids[i]);
+            return result;
+        }
+
+        /**
+         * 전체 postId 목록 — 앞의 window 개만 점수 내림차순(동점이면 최신 글 먼저)으로 정렬되어 있고
+         * 나머지는 순서 없이 뒤에 붙는다. 건수는 항상 전체 결과 수와 같다.
+         */
+        public List<Long> rankedIds(int window) {
+            int k = Math.max(0, Math.min(window, size));
+            int[] top = topK(k);
+
+            boolean[] inTop = new boolean[size];
+            List<Long> result = new ArrayList<>(size);
+            for (int i : top) {
+                result.add(ids[i]);
+                inTop[i] = true;
+            }
+            for (int i = 0; i < size; i++) {
+                if (!inTop[i]) result.add(ids[i]);
+            }
+            return result;
+        }
+
+        // 크기 k 의 최소 힙(가장 약한 결과가 루트)에 인덱스를 담아 O(n log k), 마지막에 힙에서 꺼내 정렬
+        private int[] topK(int k) {
+            int[] heap = new int[k];
+            int heapSize = 0;
+            for (int i = 0; i < size && k > 0; i++) {
+                if (heapSize < k) {
+                    heap[heapSize] = i;
+                    siftUp(heap, heapSize++);
+                } else if (better(i, heap[0])) {
+                    heap[0] = i;
+                    siftDown(heap, 0, heapSize);
+                }
+            }
+            int[] ordered = new int[heapSize];
+            for (int j = heapSize - 1; j >= 0; j--) {
+                ordered[j] = heap[0];
+                heap[0] = heap[--heapSize];
+                siftDown(heap, 0, heapSize);
+            }
+            return ordered;
+        }
+
+        private boolean better(int a, int b) {
+            int c = Double.compare(scores[a], scores[b]);
+            return c != 0 ? c > 0 : ids[a] > ids[b];
+        }
+
+        private void siftUp(int[] heap, int pos) {
+            while (pos > 0) {
+                int parent = (pos - 1) >>> 1;
+                if (!better(heap[parent], heap[pos])) break;
+                swap(heap, parent, pos);
+                pos = parent;
+            }
+        }
+
+        private void siftDown(int[] heap, int pos, int heapSize) {
+            while (true) {
+                int left = 2 * pos + 1;
+                if (left >= heapSize) break;
+                int weakest = left;
+                int right = left + 1;
+                if (right < heapSize && better(heap[weakest], heap[right])) weakest = right;
+                if (!better(heap[pos], heap[weakest])) break;
+                swap(heap, pos, weakest);
+                pos = weakest;
+            }
+        }
+
+        private static void swap(int[] heap, int a, int b) {
+            int t = heap[a];
+            heap[a] = heap[b];
+            heap[b] = t;
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package com.example.codegardener.search.index;
+
+import com.example.codegardener.post.index.PostDocument;
+import com.example.codegardener.post.index.PostIndexer;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 언어/스택 태그와 게시물 종류(contentsType)별 postId 비트맵.
+ * 태그 문자열은 정규화(trim + 소문자) 후 정수 태그 ID로 사전화하고, 태그 ID마다 RoaringBitmap 을 둔다.
+ * 같은 차원 안에서는 OR, 차원 사이에서는 AND 로 필터를 계산한다.
+ * 최신순(작성 시각 내림차순, 같으면 postId 내림차순) 목록도 여기서 낸다 — 가져온 게시물은 원래 작성 시각을
+ * 유지하므로 postId 순서와 작성 시각 순서가 다를 수 있다. 전체 게시물을 (작성 초, docId) 키 배열로 정렬해 두고
+ * 새 글은 끝에 덧붙이며, 순서가 어긋난 키(과거 시각 글)나 지운 칸이 쌓이면 다음 조회 때 한 번 다시 정렬한다.
+ * postId 는 int 범위라고 가정한다 (IDENTITY 키).
+ */
+@Slf4j
+@Component
+public class PostTagIndex implements PostIndexer {
+
+    public enum Dimension { LANGUAGE, STACK }
+
+    // 태그 사전 (한 번 부여된 ID는 바뀌지 않음)
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final List<String> tagNames = new ArrayList<>();
+
+    private final Map<Integer, RoaringBitmap> langBitmaps = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> stackBitmaps = new HashMap<>();
+    private final RoaringBitmap devPosts = new RoaringBitmap();        // contentsType = true
+    private final RoaringBitmap codingTestPosts = new RoaringBitmap(); // contentsType = false
+
+    // 태그별 게시물 수 — [0]=개발, [1]=코테, [2]=종류 없음. 필터 없는 facet 은 교집합 없이 이 값만 읽는다
+    private final Map<Integer, int[]> langCounts = new HashMap<>();
+    private final Map<Integer, int[]> stackCounts = new HashMap<>();
+
+    // 제거/교체 시 어느 비트맵에서 빼야 하는지 알기 위한 게시물별 태그
+    private final Map<Integer, PostTags> postTags = new HashMap<>();
+
+    // 최신순: docId → 작성 시각(BASE 기준 초), latestOrder 는 latestKey 오름차순 (지운/바뀐 칸은 정리 전까지 남는다)
+    private static final int NOT_INDEXED = Integer.MIN_VALUE;
+    private static final long BASE_EPOCH_SECOND = LocalDateTime.of(2000, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+    private int[] createdSeconds = newCreatedSeconds(1024);
+    private long[] latestOrder = new long[1024];
+    private int latestSize = 0;
+    private int latestStale = 0;
+    private boolean latestSorted = true;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private record PostTags(int[] langIds, int[] stackIds, Boolean contentsType) {
+    }
+
+    // ====================== 인덱싱 ======================
+
+    @Override
+    public void index(PostDocument document) {
+        int docId = toDocId(document.getPostId());
+        List<String> langs = parseCsv(document.getLangTags());
+        List<String> stacks = parseCsv(document.getStackTags());
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+            int[] langIds = langs.stream().mapToInt(this::internLocked).toArray();
+            int[] stackIds = stacks.stream().mapToInt(this::internLocked).toArray();
+
+            int slot = countSlot(document.getContentsType());
+            for (int tagId : langIds) {
+                langBitmaps.computeIfAbsent(tagId, k -> new RoaringBitmap()).add(docId);
+                langCounts.computeIfAbsent(tagId, k -> new int[3])[slot]++;
+            }
+            for (int tagId : stackIds) {
+                stackBitmaps.computeIfAbsent(tagId, k -> new RoaringBitmap()).add(docId);
+                stackCounts.computeIfAbsent(tagId, k -> new int[3])[slot]++;
+            }
+            RoaringBitmap typeBitmap = typeBitmap(document.getContentsType());
+            if (typeBitmap != null) typeBitmap.add(docId);
+
+            postTags.put(docId, new PostTags(langIds, stackIds, document.getContentsType()));
+            setCreatedLocked(docId, toCreatedSeconds(document.getCreatedAt()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            int docId = toDocId(postId);
+            removeLocked(docId);
+            if (docId < createdSeconds.length && createdSeconds[docId] != NOT_INDEXED) {
+                createdSeconds[docId] = NOT_INDEXED;
+                latestStale++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onBootstrapCompleted() {
+        lock.readLock().lock();
+        try {
+            log.info("[SEARCH] tag index ready: posts={}, tags={}", postTags.size(), tagNames.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(int docId) {
+        PostTags old = postTags.remove(docId);
+        if (old == null) return;
+        int slot = countSlot(old.contentsType());
+        for (int tagId : old.langIds()) {
+            langBitmaps.get(tagId).remove(docId);
+            langCounts.get(tagId)[slot]--;
+        }
+        for (int tagId : old.stackIds()) {
+            stackBitmaps.get(tagId).remove(docId);
+            stackCounts.get(tagId)[slot]--;
+        }
+        RoaringBitmap typeBitmap = typeBitmap(old.contentsType());
+        if (typeBitmap != null) typeBitmap.remove(docId);
+    }
+
+    // 작성 시각이 그대로면(수정) 기존 칸을 쓰고, 새 글은 끝에 덧붙인다 — 끝보다 작은 키면 다음 조회 때 다시 정렬
+    private void setCreatedLocked(int docId, int seconds) {
+        if (docId >= createdSeconds.length) {
+            int[] grown = newCreatedSeconds(Math.max(docId + 1, createdSeconds.length + (createdSeconds.length >> 1)));
+            System.arraycopy(createdSeconds, 0, grown, 0, createdSeconds.length);
+            createdSeconds = grown;
+        }
+        int previous = createdSeconds[docId];
+        if (previous == seconds) return;
+        if (previous != NOT_INDEXED) latestStale++;
+        createdSeconds[docId] = seconds;
+
+        long key = latestKey(seconds, docId);
+        if (latestSize > 0 && key < latestOrder[latestSize - 1]) latestSorted = false;
+        if (latestSize == latestOrder.length) {
+            latestOrder = Arrays.copyOf(latestOrder, latestSize + (latestSize >> 1));
+        }
+        latestOrder[latestSize++] = key;
+    }
+
+    private boolean isCurrentLocked(long key) {
+        int docId = (int) key;
+        return docId >= 0 && docId < createdSeconds.length
+                && createdSeconds[docId] != NOT_INDEXED && createdSeconds[docId] == (int) (key >> 32);
+    }
+
+    private boolean latestNeedsCompactLocked() {
+        return !latestSorted || latestStale > latestSize / 2;
+    }
+
+    // 지운/바뀐 칸을 빼고 정렬 (같은 키가 두 번 들어간 경우도 하나만 남긴다)
+    private void compactLatestLocked() {
+        int n = 0;
+        for (int i = 0; i < latestSize; i++) {
+            if (isCurrentLocked(latestOrder[i])) latestOrder[n++] = latestOrder[i];
+        }
+        Arrays.sort(latestOrder, 0, n);
+        int unique = 0;
+        for (int i = 0; i < n; i++) {
+            if (unique == 0 || latestOrder[unique - 1] != latestOrder[i]) latestOrder[unique++] = latestOrder[i];
+        }
+        latestSize = unique;
+        latestStale = 0;
+        latestSorted = true;
+    }
+
+    private static int[] newCreatedSeconds(int capacity) {
+        int[] seconds = new int[capacity];
+        Arrays.fill(seconds, NOT_INDEXED);
+        return seconds;
+    }
+
+    private int internLocked(String tag) {
+        return dictionary.computeIfAbsent(tag, t -> {
+            tagNames.add(t);
+            return tagNames.size() - 1;
+        });
+    }
+
+    private static int countSlot(Boolean contentsType) {
+        if (contentsType == null) return 2;
+        return contentsType ? 0 : 1;
+    }
+
+    private RoaringBitmap typeBitmap(Boolean contentsType) {
+        if (contentsType == null) return null;
+        return contentsType ? devPosts : codingTestPosts;
+    }
+
+    // ====================== 조회 ======================
+
+    /**
+     * (언어 OR) AND (스택 OR) AND (contentsType) 를 만족하는 postId 비트맵.
+     * 걸린 필터가 하나도 없으면 null. 반환값은 복사본이라 호출 측에서 자유롭게 써도 된다.
+     */
+    public RoaringBitmap filter(Boolean contentsType, List<String> langs, List<String> stacks) {
+        boolean hasLang = langs != null && !langs.isEmpty();
+        boolean hasStack = stacks != null && !stacks.isEmpty();
+        if (contentsType == null && !hasLang && !hasStack) return null;
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = null;
+            if (contentsType != null) {
+                result = typeBitmap(contentsType).clone();
+            }
+            if (hasLang) {
+                result = and(result, unionOf(langBitmaps, langs));
+            }
+            if (hasStack) {
+                result = and(result, unionOf(stackBitmaps, stacks));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap unionOf(Map<Integer, RoaringBitmap> bitmaps, List<String> tags) {
+        RoaringBitmap union = new RoaringBitmap();
+        for (String tag : tags) {
+            Integer tagId = dictionary.get(tag);
+            if (tagId == null) continue; // 사전에 없는 태그 = 해당 게시물 없음
+            RoaringBitmap bitmap = bitmaps.get(tagId);
+            if (bitmap != null) union.or(bitmap);
+        }
+        return union;
+    }
+
+    private static RoaringBitmap and(RoaringBitmap acc, RoaringBitmap next) {
+        if (acc == null) return next;
+        acc.and(next);
+        return acc;
+    }
+
+    /**
+     * within 에 속한 게시물을 태그별로 센 결과 (건수 내림차순, 상위 limit 개).
+     * 태그 비트맵과의 교집합 크기만 계산하므로 결과 집합을 다시 읽지 않는다.
+     */
+    public Map<String, Integer> facetCounts(Dimension dimension, RoaringBitmap within, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<Integer, RoaringBitmap> bitmaps = (dimension == Dimension.LANGUAGE) ? langBitmaps : stackBitmaps;
+            List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+            for (Map.Entry<Integer, RoaringBitmap> e : bitmaps.entrySet()) {
+                int count = RoaringBitmap.andCardinality(within, e.getValue());
+                if (count > 0) {
+                    counts.add(Map.entry(tagNames.get(e.getKey()), count));
+                }
+            }
+            return topCounts(counts, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 건수 내림차순, 같으면 태그 이름순으로 상위 limit 개
+    private static Map<String, Integer> topCounts(List<Map.Entry<String, Integer>> counts, int limit) {
+        counts.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+
+        Map<String, Integer> result = new LinkedHashMap<>();
+        counts.stream().limit(limit).forEach(e -> result.put(e.getKey(), e.getValue()));
+        return result;
+    }
+
+    /**
+     * 태그별 전체 게시물 수 (contentsType 이 있으면 그 탭만) — 색인 때 갱신해 둔 건수라 비트맵을 읽지 않는다.
+     * 순서와 limit 규칙은 within 버전과 같다.
+     */
+    public Map<String, Integer> facetCounts(Dimension dimension, Boolean contentsType, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<Integer, int[]> source = (dimension == Dimension.LANGUAGE) ? langCounts : stackCounts;
+            List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+            for (Map.Entry<Integer, int[]> e : source.entrySet()) {
+                int[] c = e.getValue();
+                int count = (contentsType == null) ? c[0] + c[1] + c[2] : c[countSlot(contentsType)];
+                if (count > 0) {
+                    counts.add(Map.entry(tagNames.get(e.getKey()), count));
+                }
+            }
+            return topCounts(counts, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 전체 게시물을 contentsType 별로 센 결과 (true=개발, false=코테) */
+    public Map<Boolean, Integer> contentsTypeCounts() {
+        lock.readLock().lock();
+        try {
+            Map<Boolean, Integer> result = new LinkedHashMap<>();
+            result.put(true, devPosts.getCardinality());
+            result.put(false, codingTestPosts.getCardinality());
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** within 에 속한 게시물을 contentsType 별로 센 결과 (true=개발, false=코테) */
+    public Map<Boolean, Integer> contentsTypeCounts(RoaringBitmap within) {
+        lock.readLock().lock();
+        try {
+            Map<Boolean, Integer> result = new LinkedHashMap<>();
+            result.put(true, RoaringBitmap.andCardinality(within, devPosts));
+            result.put(false, RoaringBitmap.andCardinality(within, codingTestPosts));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ====================== 최신순 ======================
+
+    /**
+     * within 에 속한 게시물 전체를 최신순(작성 시각 내림차순, 같으면 postId 내림차순)으로.
+     * within 이 작으면 그 게시물만 정렬하고, 크면 미리 정렬해 둔 전체 순서를 뒤에서부터 걸러 읽는다.
+     */
+    public List<Long> latest(RoaringBitmap within) {
+        int cardinality = within.getCardinality();
+        List<Long> ids = new ArrayList<>(cardinality);
+        lock.readLock().lock();
+        try {
+            if (cardinality * 16L < latestSize) {
+                within.forEach((int docId) -> ids.add((long) docId));
+                return sortLatestLocked(ids);
+            }
+            if (latestNeedsCompactLocked()) {
+                lock.readLock().unlock();
+                lock.writeLock().lock();
+                try {
+                    if (latestNeedsCompactLocked()) compactLatestLocked();
+                    lock.readLock().lock(); // 쓰기 잠금을 놓기 전에 읽기 잠금으로 내려간다
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            long previous = 0;
+            for (int i = latestSize - 1; i >= 0; i--) {
+                long key = latestOrder[i];
+                if (i < latestSize - 1 && key == previous) continue;
+                previous = key;
+                if (isCurrentLocked(key) && within.contains((int) key)) ids.add((long) (int) key);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** ids 를 최신순으로 정렬한 새 목록 (색인에 없는 게시물은 맨 뒤) */
+    public List<Long> sortLatest(List<Long> ids) {
+        lock.readLock().lock();
+        try {
+            return sortLatestLocked(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> sortLatestLocked(List<Long> ids) {
+        long[] keys = new long[ids.size()];
+        for (int i = 0; i < keys.length; i++) {
+            int docId = toDocId(ids.get(i));
+            keys[i] = latestKey(docId < createdSeconds.length ? createdSeconds[docId] : NOT_INDEXED, docId);
+        }
+        Arrays.sort(keys);
+        List<Long> sorted = new ArrayList<>(keys.length);
+        for (int i = keys.length - 1; i >= 0; i--) sorted.add((long) (int) keys[i]);
+        return sorted;
+    }
+
+    /** 최신순 비교 키 — 클수록 앞 (색인에 없는 게시물은 가장 작다) */
+    public long latestKey(Long postId) {
+        lock.readLock().lock();
+        try {
+            int docId = toDocId(postId);
+            return latestKey(docId < createdSeconds.length ? createdSeconds[docId] : NOT_INDEXED, docId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 커서 등 색인 밖의 (작성 시각, postId) 에 대한 같은 비교 키 */
+    public static long latestKey(LocalDateTime createdAt, Long postId) {
+        return latestKey(toCreatedSeconds(createdAt), toDocId(postId));
+    }
+
+    // 상위 32비트 작성 초(부호 있음), 하위 32비트 docId — 정수 비교가 곧 (작성 시각, postId) 비교
+    private static long latestKey(int seconds, int docId) {
+        return ((long) seconds << 32) | (docId & 0xffffffffL);
+    }
+
+    // 2000-01-01 기준 초 (int 로 약 ±68년)
+    private static int toCreatedSeconds(LocalDateTime createdAt) {
+        if (createdAt == null) return 0;
+        long seconds = createdAt.toEpochSecond(ZoneOffset.UTC) - BASE_EPOCH_SECOND;
+        return (int) Math.max(Integer.MIN_VALUE + 1, Math.min(seconds, Integer.MAX_VALUE));
+    }
+
+    /** 정규화된 태그의 ID (사전에 없으면 null) */
+    public Integer tagId(String tag) {
+        lock.readLock().lock();
+        try {
+            return dictionary.get(tag);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ====================== Utils ======================
+
+    public static int toDocId(Long postId) {
+        return Math.toIntExact(postId);
+    }
+
+    // PostService.normalizeCsv 와 같은 규칙 (trim + 소문자 + 중복 제거)
+    public static List<String> parseCsv(String csv) {
+        if (csv == null || csv.isBlank()) return List.of();
+        return Arrays.stream(csv.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(s -> s.toLowerCase(Locale.ROOT))
+                .distinct()
+                .toList();
+    }
+}
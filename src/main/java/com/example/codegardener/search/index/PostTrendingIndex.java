@@ -0,0 +1,344 @@
+package com.example.codegardener.search.index;
+
+import com.example.codegardener.post.counter.PostCounter;
+import com.example.codegardener.post.counter.PostCounterListener;
+import com.example.codegardener.post.index.PostDocument;
+import com.example.codegardener.post.index.PostIndexer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 시간 감쇠 인기(트렌딩) 점수와 탭(contentsType)별 상위 K 개.
+ * 이벤트(조회/좋아요/스크랩/피드백, 작성)마다 weight × 2^((t - EPOCH) / halfLife) 를 점수에 더한다 (forward decay).
+ * 모든 게시물이 같은 기준 시각을 쓰므로 시간이 흘러도 순위는 바뀌지 않고, 새 이벤트가 들어온 게시물만 다시 정렬하면 된다.
+ * 값이 금방 커지므로 점수는 log2 로 보관한다.
+ * 상위 K 는 게시물 점수가 바뀔 때마다 증분 갱신하며 테이블을 다시 정렬하지 않는다.
+ * 취소(좋아요 취소 등)는 그 컬럼이 지금까지 더한 점수의 평균 한 건만큼 뺀다 — 어떤 이벤트가 취소됐는지는
+ * 알 수 없지만, 컬럼별 누적분 안에서만 빼므로 취소가 점수를 그 이벤트들이 있기 전보다 낮추지는 않는다.
+ * 조회는 가장 잦은 이벤트라 요청마다 전역 락을 잡지 않고 게시물별로 모아 두었다가 짧은 주기로 한 번에 반영한다.
+ */
+@Slf4j
+@Component
+public class PostTrendingIndex implements PostIndexer, PostCounterListener {
+
+    public static final int TOP_K = 500;
+
+    // 이벤트 가중치 (작성 자체도 신규 게시물이 잠깐 노출되도록 점수를 준다)
+    private static final double CREATED_WEIGHT = 10;
+    private static final double VIEW_WEIGHT = 1;
+    private static final double LIKE_WEIGHT = 4;
+    private static final double SCRAP_WEIGHT = 6;
+    private static final double FEEDBACK_WEIGHT = 8;
+    private static final PostCounter[] COUNTERS = PostCounter.values();
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final double NONE = Double.NEGATIVE_INFINITY;
+
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingDouble((Entry e) -> e.logScore).reversed()
+            .thenComparing((Entry e) -> e.postId, Comparator.reverseOrder());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final double halfLifeMillis;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final NavigableSet<Entry> topDev = new TreeSet<>(RANKING);
+    private final NavigableSet<Entry> topCodingTest = new TreeSet<>(RANKING);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 아직 점수에 반영하지 않은 조회 수 (applyPendingViews 가 비운다)
+    private final Map<Long, Long> pendingViews = new ConcurrentHashMap<>();
+
+    private static final class Entry {
+        final Long postId;
+        boolean contentsType;
+        LocalDateTime createdAt;
+        double logScore = NONE;
+
+        // 점수의 구성: 작성 점수 + 컬럼별 누적 점수(와 건수). logScore 는 이 합과 같다
+        double createdLog = NONE;
+        final double[] counterLog = new double[COUNTERS.length];
+        final long[] counterCount = new long[COUNTERS.length];
+
+        Entry(Long postId) {
+            this.postId = postId;
+            Arrays.fill(counterLog, NONE);
+        }
+
+        double total() {
+            double sum = createdLog;
+            for (double c : counterLog) sum = logAdd(sum, c);
+            return sum;
+        }
+    }
+
+    public PostTrendingIndex(JdbcTemplate jdbcTemplate,
+                             @Value("${trending.half-life-hours:24}") double halfLifeHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.halfLifeMillis = halfLifeHours * 3_600_000;
+    }
+
+    // ====================== 조회 ======================
+
+    /** 트렌딩 상위 postId (contentsType=null 이면 두 탭을 합쳐서) */
+    public List<Long> top(Boolean contentsType, int limit) {
+        lock.readLock().lock();
+        try {
+            Iterator<Entry> it;
+            if (contentsType == null) {
+                List<Entry> merged = new ArrayList<>(topDev.size() + topCodingTest.size());
+                merged.addAll(topDev);
+                merged.addAll(topCodingTest);
+                merged.sort(RANKING);
+                it = merged.iterator();
+            } else {
+                it = topOf(contentsType).iterator();
+            }
+            List<Long> ids = new ArrayList<>(Math.min(limit, TOP_K));
+            while (it.hasNext() && ids.size() < limit) {
+                ids.add(it.next().postId);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 후보 postId 목록을 트렌딩 점수 내림차순(동점은 최신 우선)으로 정렬한 새 목록 */
+    public List<Long> sort(Collection<Long> ids) {
+        Map<Long, Double> scores = new HashMap<>(ids.size() * 2);
+        lock.readLock().lock();
+        try {
+            for (Long id : ids) {
+                Entry e = entries.get(id);
+                scores.put(id, e == null ? NONE : e.logScore);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Long> sorted = new ArrayList<>(ids);
+        sorted.sort(Comparator.comparingDouble((Long id) -> scores.get(id)).reversed()
+                .thenComparing(Comparator.reverseOrder()));
+        return sorted;
+    }
+
+    // ====================== 이벤트 반영 ======================
+
+    @Override
+    public void onCounterChanged(Long postId, PostCounter counter, long delta) {
+        if (counter == PostCounter.VIEWS && delta > 0) {
+            pendingViews.merge(postId, delta, Long::sum);
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        lock.writeLock().lock();
+        try {
+            applyLocked(postId, counter, delta, now);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** 모아 둔 조회 수를 반영 (반영 시각 기준으로 감쇠하므로 주기만큼의 오차는 감수한다) */
+    @Scheduled(fixedDelayString = "${trending.view-apply-interval-ms:1000}")
+    public void applyPendingViews() {
+        if (pendingViews.isEmpty()) return;
+        Map<Long, Long> views = new HashMap<>();
+        for (Long postId : pendingViews.keySet()) {
+            Long count = pendingViews.remove(postId);
+            if (count != null) views.put(postId, count);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        lock.writeLock().lock();
+        try {
+            views.forEach((postId, count) -> applyLocked(postId, PostCounter.VIEWS, count, now));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyLocked(Long postId, PostCounter counter, long delta, LocalDateTime at) {
+        Entry e = entries.get(postId);
+        if (e == null) return; // 아직 적재 전이거나 삭제된 게시물
+        int c = counter.ordinal();
+        if (delta < 0 && e.counterCount[c] <= 0) return; // 뺄 누적분이 없다
+
+        NavigableSet<Entry> top = topOf(e.contentsType);
+        boolean member = top.remove(e);
+        if (delta > 0) {
+            double logAmount = logDecayed(weightOf(counter) * delta, at);
+            e.counterLog[c] = logAdd(e.counterLog[c], logAmount);
+            e.counterCount[c] += delta;
+            e.logScore = logAdd(e.logScore, logAmount);
+        } else {
+            // 누적분에서 평균 |delta| 건만큼 뺀다: counterLog × (n - k) / n
+            long n = e.counterCount[c];
+            long k = Math.min(-delta, n);
+            e.counterLog[c] = (k == n) ? NONE : e.counterLog[c] + log2((double) (n - k) / n);
+            e.counterCount[c] = n - k;
+            e.logScore = e.total();
+        }
+        placeLocked(e, member, delta < 0);
+    }
+
+    private static double weightOf(PostCounter counter) {
+        return switch (counter) {
+            case VIEWS -> VIEW_WEIGHT;
+            case LIKES -> LIKE_WEIGHT;
+            case SCRAPS -> SCRAP_WEIGHT;
+            case FEEDBACKS -> FEEDBACK_WEIGHT;
+        };
+    }
+
+    @Override
+    public void index(PostDocument document) {
+        lock.writeLock().lock();
+        try {
+            Entry e = entries.get(document.getPostId());
+            if (e == null) {
+                e = new Entry(document.getPostId());
+                e.contentsType = Boolean.TRUE.equals(document.getContentsType());
+                e.createdAt = document.getCreatedAt();
+                e.createdLog = logDecayed(CREATED_WEIGHT, createdOrNow(e));
+                e.logScore = e.createdLog;
+                entries.put(e.postId, e);
+                placeLocked(e, false, false);
+                return;
+            }
+            // 수정: 점수는 그대로, 탭이 바뀌었으면 상위 K 집합만 옮긴다
+            boolean contentsType = Boolean.TRUE.equals(document.getContentsType());
+            if (e.contentsType != contentsType) {
+                boolean member = topOf(e.contentsType).remove(e);
+                e.contentsType = contentsType;
+                if (member) refillLocked(!contentsType);
+                placeLocked(e, false, false);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            pendingViews.remove(postId);
+            Entry e = entries.remove(postId);
+            if (e != null && topOf(e.contentsType).remove(e)) {
+                refillLocked(e.contentsType);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 전체 적재 후 기존 집계 값으로 점수를 초기화한다.
+     * 과거 이벤트 시각은 알 수 없으므로 작성 시각에 일어난 것으로 본다.
+     */
+    @Override
+    public void onBootstrapCompleted() {
+        Map<Long, long[]> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT post_id, views, likes_count, scrap_count, feedback_count FROM post", rs -> {
+            long[] row = new long[COUNTERS.length];
+            for (PostCounter counter : COUNTERS) {
+                row[counter.ordinal()] = rs.getInt(counter.column());
+            }
+            counts.put(rs.getLong(1), row);
+        });
+
+        lock.writeLock().lock();
+        try {
+            for (Entry e : entries.values()) {
+                long[] row = counts.get(e.postId);
+                if (row == null || e.logScore > e.createdLog) {
+                    continue; // 적재 중에 이미 이벤트를 받은 게시물은 건드리지 않는다
+                }
+                for (PostCounter counter : COUNTERS) {
+                    int c = counter.ordinal();
+                    e.counterCount[c] = row[c];
+                    e.counterLog[c] = logDecayed(weightOf(counter) * row[c], createdOrNow(e));
+                }
+                e.logScore = e.total();
+            }
+            refillLocked(true);
+            refillLocked(false);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("[TRENDING] seeded {} posts", entries.size());
+    }
+
+    // ====================== 상위 K 유지 ======================
+
+    /**
+     * 점수가 바뀐 항목을 상위 K 에 다시 넣을지 결정한다.
+     * 상위 K 밖의 점수는 증가로만 바뀌며 그때마다 여기서 진입을 검사하므로,
+     * 기존 멤버의 점수가 줄어 맨 끝이 된 경우에만 밖의 게시물이 더 높을 수 있다 → 그때만 다시 채운다.
+     */
+    private void placeLocked(Entry e, boolean wasMember, boolean decreased) {
+        NavigableSet<Entry> top = topOf(e.contentsType);
+        if (wasMember || top.size() < TOP_K || RANKING.compare(e, top.last()) < 0) {
+            top.add(e);
+            while (top.size() > TOP_K) top.pollLast();
+        }
+        if (wasMember && decreased && top.size() == TOP_K && top.last() == e) {
+            refillLocked(e.contentsType);
+        }
+    }
+
+    /** 해당 탭의 상위 K 를 전체 항목에서 다시 고른다 (O(n log K), 삭제·감소 시에만) */
+    private void refillLocked(boolean contentsType) {
+        NavigableSet<Entry> top = topOf(contentsType);
+        top.clear();
+        for (Entry e : entries.values()) {
+            if (e.contentsType != contentsType) continue;
+            if (top.size() < TOP_K) {
+                top.add(e);
+            } else if (RANKING.compare(e, top.last()) < 0) {
+                top.pollLast();
+                top.add(e);
+            }
+        }
+    }
+
+    private NavigableSet<Entry> topOf(boolean contentsType) {
+        return contentsType ? topDev : topCodingTest;
+    }
+
+    // ====================== 점수 계산 (log2 공간) ======================
+
+    private static LocalDateTime createdOrNow(Entry e) {
+        return e.createdAt != null ? e.createdAt : LocalDateTime.now();
+    }
+
+    // log2(weight × 2^((t - EPOCH) / halfLife))
+    double logDecayed(double weight, LocalDateTime at) {
+        if (weight <= 0) return NONE;
+        double elapsed = Duration.between(EPOCH.atZone(ZoneId.systemDefault()), at.atZone(ZoneId.systemDefault())).toMillis();
+        return log2(weight) + elapsed / halfLifeMillis;
+    }
+
+    // log2(2^a + 2^b)
+    static double logAdd(double a, double b) {
+        if (a == NONE) return b;
+        if (b == NONE) return a;
+        double hi = Math.max(a, b), lo = Math.min(a, b);
+        return hi + Math.log1p(Math.pow(2, lo - hi)) / Math.log(2);
+    }
+
+    private static double log2(double x) {
+        return Math.log(x) / Math.log(2);
+    }
+}
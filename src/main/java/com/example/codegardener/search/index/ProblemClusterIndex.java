@@ -0,0 +1,207 @@
+package com.example.codegardener.search.index;
+
+import com.example.codegardener.post.index.PostDocument;
+import com.example.codegardener.post.index.PostIndexer;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 코딩테스트 게시물(contentsType=false)의 문제 지문 색인 — "이 문제의 다른 풀이".
+ * - 지문은 NFKC + 소문자로 바꾸고 글자/숫자/연산 기호만 남겨 공백·문장부호 차이를 없앤다
+ * - 정규화한 글자 3-gram 집합의 MinHash 시그니처로 비교하고, 추정 Jaccard 가 MIN_SIMILARITY 이상이면 같은 문제로 본다
+ *   (어미/조사 몇 개가 달라도 0.75 이상, 다른 문제는 0.3 이하)
+ * - 시그니처를 밴드로 나눈 버킷에서 후보만 찾으므로 작성/수정 때도 전체 지문과 비교하지 않는다
+ * 새 게시물은 가장 비슷한 기존 게시물의 묶음(cluster)에 들어가고, 없으면 새 묶음을 만든다.
+ * 두 묶음 모두와 비슷한 게시물이 들어와도 묶음끼리 합치지는 않는다 (더 비슷한 쪽 하나에만 들어간다).
+ * 게시물이 빠지거나 지문이 바뀌면 그 묶음의 남은 게시물을 먼저 올라온 순서대로 다시 배치한다 —
+ * 빠진 게시물만이 이어 주던 게시물들이 계속 한 묶음으로 남지 않도록.
+ * 조회는 묶음 목록을 그대로 읽을 뿐 문자열 비교를 하지 않는다.
+ */
+@Component
+public class ProblemClusterIndex implements PostIndexer {
+
+    private static final int GRAM = 3;
+    private static final int NUM_HASHES = 64;
+    private static final int ROWS_PER_BAND = 4;
+    private static final double MIN_SIMILARITY = 0.6;
+    // 짧은 지문("A+B" 등)은 몇 글자 차이가 곧 다른 문제라 정규화 후 완전 일치만 같은 문제로 본다
+    private static final int MIN_FUZZY_LENGTH = 24;
+
+    private static final MinHash MIN_HASH = new MinHash(NUM_HASHES, ROWS_PER_BAND, 0x9B0B1E3L);
+
+    private final Map<Long, Member> members = new HashMap<>();
+    private final Map<Long, Set<Long>> buckets = new HashMap<>();               // 밴드(또는 완전 일치) 키 → postId
+    private final Map<Long, NavigableSet<Long>> clusters = new HashMap<>();     // 묶음 → postId 내림차순
+    private long nextClusterId = 1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** signature 가 null 이면 짧은 지문 — exactHash 로만 비교 */
+    private record Member(int[] signature, long exactHash, long clusterId) {
+
+        boolean sameFingerprint(Member other) {
+            return exactHash == other.exactHash && Arrays.equals(signature, other.signature);
+        }
+    }
+
+    // ====================== 조회 ======================
+
+    /** 같은 문제를 푼 다른 게시물 postId (최신순, 자기 자신 제외). 코딩테스트 게시물이 아니면 빈 목록 */
+    public List<Long> otherSolutions(Long postId) {
+        lock.readLock().lock();
+        try {
+            Member m = members.get(postId);
+            if (m == null) return Collections.emptyList();
+            List<Long> ids = new ArrayList<>(clusters.get(m.clusterId()));
+            ids.remove(postId);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ====================== PostIndexer ======================
+
+    @Override
+    public void index(PostDocument document) {
+        Long postId = document.getPostId();
+        String normalized = Boolean.FALSE.equals(document.getContentsType())
+                ? normalize(document.getProblemStatement())
+                : "";
+        if (normalized.isEmpty()) {
+            remove(postId); // 개발 게시물로 바뀌었거나 지문이 비었음
+            return;
+        }
+        int[] signature = normalized.length() >= MIN_FUZZY_LENGTH ? signatureOf(normalized) : null;
+        Member probe = new Member(signature, signature == null ? exactHash(normalized) : 0, 0);
+
+        lock.writeLock().lock();
+        try {
+            Member old = members.get(postId);
+            if (old != null && old.sameFingerprint(probe)) return; // 지문 그대로
+            if (old != null) removeLocked(postId, old);
+            placeLocked(postId, probe);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            Member old = members.get(postId);
+            if (old != null) removeLocked(postId, old);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** 빠진 게시물의 묶음에 남은 게시물을 먼저 올라온 순서대로 다시 배치한다 */
+    private void removeLocked(Long postId, Member m) {
+        unlinkLocked(postId, m);
+        NavigableSet<Long> rest = clusters.remove(m.clusterId());
+        if (rest == null) return;
+
+        List<Long> ids = new ArrayList<>(rest.descendingSet()); // postId 오름차순
+        List<Member> detached = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Member member = members.get(id);
+            detached.add(member);
+            unlinkLocked(id, member);
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            placeLocked(ids.get(i), detached.get(i));
+        }
+    }
+
+    /** 가장 비슷한 게시물의 묶음에 넣고 (없으면 새 묶음) 버킷에 등록 */
+    private void placeLocked(Long postId, Member probe) {
+        long clusterId = nearestClusterLocked(probe);
+        Member m = new Member(probe.signature(), probe.exactHash(), clusterId != 0 ? clusterId : nextClusterId++);
+        members.put(postId, m);
+        clusters.computeIfAbsent(m.clusterId(), k -> new TreeSet<>(Comparator.reverseOrder())).add(postId);
+        for (long key : bucketKeys(m)) {
+            buckets.computeIfAbsent(key, k -> new HashSet<>()).add(postId);
+        }
+    }
+
+    private void unlinkLocked(Long postId, Member m) {
+        members.remove(postId);
+        NavigableSet<Long> cluster = clusters.get(m.clusterId());
+        if (cluster != null && cluster.remove(postId) && cluster.isEmpty()) {
+            clusters.remove(m.clusterId());
+        }
+        for (long key : bucketKeys(m)) {
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(postId) && bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    /** 가장 비슷한 기존 게시물의 묶음 (동률이면 먼저 올라온 게시물), 없으면 0 */
+    private long nearestClusterLocked(Member probe) {
+        double best = -1;
+        Long bestPost = null;
+        for (long key : bucketKeys(probe)) {
+            Set<Long> bucket = buckets.get(key);
+            if (bucket == null) continue;
+            for (Long candidate : bucket) {
+                Member c = members.get(candidate);
+                double similarity = probe.signature() == null
+                        ? (c.exactHash() == probe.exactHash() ? 1 : 0)
+                        : MIN_HASH.estimate(probe.signature(), c.signature());
+                if (similarity < MIN_SIMILARITY) continue;
+                if (similarity > best || (similarity == best && candidate < bestPost)) {
+                    best = similarity;
+                    bestPost = candidate;
+                }
+            }
+        }
+        return bestPost == null ? 0 : members.get(bestPost).clusterId();
+    }
+
+    // 밴드 번호를 섞어 다른 밴드끼리, 그리고 완전 일치 키와 겹치지 않게 한다
+    private static long[] bucketKeys(Member m) {
+        if (m.signature() == null) {
+            return new long[]{MinHash.mix(m.exactHash() ^ 0x5A5A5A5A5A5A5A5AL)};
+        }
+        long[] keys = new long[MIN_HASH.bands()];
+        for (int band = 0; band < keys.length; band++) {
+            keys[band] = MIN_HASH.bandKey(m.signature(), band);
+        }
+        return keys;
+    }
+
+    // ====================== 지문 ======================
+
+    static String normalize(String statement) {
+        if (statement == null) return "";
+        String s = Normalizer.normalize(statement, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(s.length());
+        s.codePoints()
+                .filter(c -> Character.isLetterOrDigit(c) || "+-*/%<>=^".indexOf(c) >= 0)
+                .forEach(sb::appendCodePoint);
+        return sb.toString();
+    }
+
+    private static int[] signatureOf(String normalized) {
+        int[] signature = MIN_HASH.emptySignature();
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            MIN_HASH.add(signature, normalized.substring(i, i + GRAM).hashCode());
+        }
+        return signature;
+    }
+
+    private static long exactHash(String normalized) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < normalized.length(); i++) {
+            h = (h ^ normalized.charAt(i)) * 0x100000001b3L;
+        }
+        return h;
+    }
+}
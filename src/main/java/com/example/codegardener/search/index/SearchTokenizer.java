@@ -0,0 +1,78 @@
+package com.example.codegardener.search.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 검색용 토크나이저.
+ * - 영문/숫자: 연속된 글자를 소문자 단어 하나로
+ * - 한글/한자: 형태소 분석 없이 글자 바이그램(2-gram)으로, 한 글자짜리는 그대로
+ * 인덱싱과 질의에 같은 규칙을 써야 바이그램끼리 매칭된다.
+ */
+public final class SearchTokenizer {
+
+    private static final int MAX_WORD_LENGTH = 40;
+
+    private SearchTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) return tokens;
+
+        StringBuilder word = new StringBuilder();
+        StringBuilder cjk = new StringBuilder();
+
+        int i = 0;
+        while (i < text.length()) {
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+
+            if (isCjk(cp)) {
+                flushWord(word, tokens);
+                cjk.appendCodePoint(cp);
+            } else if (Character.isLetterOrDigit(cp) || cp == '_') {
+                flushCjk(cjk, tokens);
+                word.appendCodePoint(Character.toLowerCase(cp));
+            } else {
+                flushWord(word, tokens);
+                flushCjk(cjk, tokens);
+            }
+        }
+        flushWord(word, tokens);
+        flushCjk(cjk, tokens);
+        return tokens;
+    }
+
+    /** 한 글자짜리 한글/한자 토큰 — 문서 쪽은 바이그램으로 색인되므로 정확히 일치하는 용어가 없을 수 있다 */
+    public static boolean isSingleCjk(String token) {
+        return token.codePointCount(0, token.length()) == 1 && isCjk(token.codePointAt(0));
+    }
+
+    static boolean isCjk(int cp) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HANGUL || script == Character.UnicodeScript.HAN;
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (word.isEmpty()) return;
+        if (word.length() <= MAX_WORD_LENGTH) {
+            tokens.add(word.toString().toLowerCase(Locale.ROOT));
+        }
+        word.setLength(0);
+    }
+
+    private static void flushCjk(StringBuilder cjk, List<String> tokens) {
+        if (cjk.isEmpty()) return;
+        int[] cps = cjk.codePoints().toArray();
+        if (cps.length == 1) {
+            tokens.add(new String(cps, 0, 1));
+        } else {
+            for (int k = 0; k + 1 < cps.length; k++) {
+                tokens.add(new String(cps, k, 2));
+            }
+        }
+        cjk.setLength(0);
+    }
+}
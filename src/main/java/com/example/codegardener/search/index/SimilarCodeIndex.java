@@ -0,0 +1,135 @@
+package com.example.codegardener.search.index;
+
+import com.example.codegardener.post.index.PostDocument;
+import com.example.codegardener.post.index.PostIndexer;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 비슷한 코드 추천용 MinHash + LSH 색인.
+ * - Post.code 를 토큰(식별자/숫자/기호) 단위로 자르고 연속 SHINGLE_SIZE 개를 하나의 shingle 로 본다
+ * - 게시물마다 NUM_HASHES 개의 최소 해시(시그니처)를 보관한다 — 두 시그니처가 같은 칸의 비율 ≈ shingle 집합의 Jaccard 유사도
+ * - 시그니처를 ROWS_PER_BAND 행씩 밴드로 나눠 밴드 값이 같은 게시물끼리 버킷에 묶고, 조회 시에는 같은 버킷의 게시물만 비교한다
+ * 밴드 4행 × 32개 기준으로 유사도 0.5 이면 약 88%, 0.3 이면 약 23% 확률로 후보가 된다.
+ */
+@Component
+public class SimilarCodeIndex implements PostIndexer {
+
+    private static final int SHINGLE_SIZE = 4;
+    private static final int NUM_HASHES = 128;
+    private static final int ROWS_PER_BAND = 4;
+    private static final double MIN_SIMILARITY = 0.2;
+    // 보일러플레이트(빈 main 등)처럼 너무 흔한 버킷은 추천에 의미가 없고 비교 비용만 키운다
+    private static final int MAX_BUCKET_SCAN = 2_000;
+
+    private static final Pattern TOKEN = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*|\\d+(?:\\.\\d+)?|[^\\sA-Za-z0-9_]");
+    private static final MinHash MIN_HASH = new MinHash(NUM_HASHES, ROWS_PER_BAND, 0x5EED_C0DEL);
+
+    private final Map<Long, int[]> signatures = new HashMap<>();
+    private final Map<Long, Set<Long>> buckets = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** 추천 한 건 — 추정 Jaccard 유사도(0~1) */
+    public record Similar(Long postId, double similarity) {
+    }
+
+    // ====================== 조회 ======================
+
+    /** postId 와 코드가 비슷한 게시물을 유사도 내림차순(동점은 최신 우선)으로 limit 개까지 */
+    public List<Similar> similarTo(Long postId, int limit) {
+        lock.readLock().lock();
+        try {
+            int[] signature = signatures.get(postId);
+            if (signature == null) return Collections.emptyList();
+
+            Set<Long> candidates = new HashSet<>();
+            for (int band = 0; band < MIN_HASH.bands(); band++) {
+                Set<Long> bucket = buckets.get(MIN_HASH.bandKey(signature, band));
+                if (bucket != null && bucket.size() <= MAX_BUCKET_SCAN) candidates.addAll(bucket);
+            }
+            candidates.remove(postId);
+
+            List<Similar> result = new ArrayList<>(candidates.size());
+            for (Long candidate : candidates) {
+                double similarity = MIN_HASH.estimate(signature, signatures.get(candidate));
+                if (similarity >= MIN_SIMILARITY) result.add(new Similar(candidate, similarity));
+            }
+            result.sort(Comparator.comparingDouble(Similar::similarity).reversed()
+                    .thenComparing(Similar::postId, Comparator.reverseOrder()));
+            return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ====================== PostIndexer ======================
+
+    @Override
+    public void index(PostDocument document) {
+        int[] signature = signatureOf(document.getCode()); // 락 밖에서 계산
+
+        lock.writeLock().lock();
+        try {
+            int[] old = signature == null
+                    ? signatures.remove(document.getPostId())
+                    : signatures.put(document.getPostId(), signature);
+            if (Arrays.equals(old, signature)) return; // 코드가 그대로면 버킷도 그대로
+            if (old != null) unbucketLocked(document.getPostId(), old);
+            if (signature != null) {
+                for (int band = 0; band < MIN_HASH.bands(); band++) {
+                    buckets.computeIfAbsent(MIN_HASH.bandKey(signature, band), k -> new HashSet<>()).add(document.getPostId());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            int[] old = signatures.remove(postId);
+            if (old != null) unbucketLocked(postId, old);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unbucketLocked(Long postId, int[] signature) {
+        for (int band = 0; band < MIN_HASH.bands(); band++) {
+            long key = MIN_HASH.bandKey(signature, band);
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(postId) && bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    // ====================== MinHash ======================
+
+    /** shingle 이 하나도 안 나오는 짧은 코드는 null (추천 대상에서 제외) */
+    static int[] signatureOf(String code) {
+        if (code == null || code.isBlank()) return null;
+
+        List<String> tokens = new ArrayList<>();
+        Matcher m = TOKEN.matcher(code);
+        while (m.find()) tokens.add(m.group());
+        if (tokens.size() < SHINGLE_SIZE) return null;
+
+        int[] signature = MIN_HASH.emptySignature();
+        for (int i = 0; i + SHINGLE_SIZE <= tokens.size(); i++) {
+            long shingle = 0xcbf29ce484222325L;
+            for (int j = i; j < i + SHINGLE_SIZE; j++) {
+                shingle = (shingle ^ tokens.get(j).hashCode()) * 0x100000001b3L;
+            }
+            MIN_HASH.add(signature, shingle);
+        }
+        return signature;
+    }
+}
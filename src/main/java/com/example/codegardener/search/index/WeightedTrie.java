@@ -0,0 +1,170 @@
+package com.example.codegardener.search.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 가중치가 붙은 문자열 접두사 트리 (자동완성용).
+ * 각 노드는 자식 문자를 정렬된 배열로 들고 있어 HashMap 노드보다 작고,
+ * 서브트리 최대 가중치(maxWeight)를 유지해 접두사 아래에서 상위 k 개를 최선 우선 탐색으로 바로 찾는다
+ * (서브트리 전체를 훑지 않음).
+ * 스레드 안전하지 않으므로 호출 측에서 잠근다.
+ */
+public class WeightedTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+    private int size = 0;
+
+    private static final class Node {
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        String term;      // 이 노드에서 끝나는 항목의 표시 문자열 (없으면 null)
+        long weight;      // 이 노드에서 끝나는 항목의 가중치
+        long maxWeight;   // 서브트리(자신 포함) 최대 가중치
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node addChild(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) return children[i];
+            int at = -i - 1;
+            char[] k = new char[keys.length + 1];
+            Node[] n = new Node[children.length + 1];
+            System.arraycopy(keys, 0, k, 0, at);
+            System.arraycopy(children, 0, n, 0, at);
+            k[at] = c;
+            n[at] = new Node();
+            System.arraycopy(keys, at, k, at + 1, keys.length - at);
+            System.arraycopy(children, at, n, at + 1, children.length - at);
+            keys = k;
+            children = n;
+            return n[at];
+        }
+
+        void removeChild(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i < 0) return;
+            char[] k = new char[keys.length - 1];
+            Node[] n = new Node[children.length - 1];
+            System.arraycopy(keys, 0, k, 0, i);
+            System.arraycopy(children, 0, n, 0, i);
+            System.arraycopy(keys, i + 1, k, i, keys.length - i - 1);
+            System.arraycopy(children, i + 1, n, i, children.length - i - 1);
+            keys = k.length == 0 ? NO_KEYS : k;
+            children = n.length == 0 ? NO_CHILDREN : n;
+        }
+
+        void recomputeMax() {
+            long max = weight;
+            for (Node child : children) {
+                if (child.maxWeight > max) max = child.maxWeight;
+            }
+            maxWeight = max;
+        }
+    }
+
+    public record Suggestion(String term, long weight) {
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * key 항목의 가중치를 delta 만큼 바꾼다. 0 이하가 되면 항목을 지운다.
+     * 없는 항목에 음수 delta 는 무시한다. display 는 새로 만들 때의 표시 문자열.
+     */
+    public void add(String key, String display, long delta) {
+        if (key.isEmpty() || delta == 0) return;
+
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            Node next = node.child(key.charAt(i));
+            if (next == null) {
+                if (delta < 0) return;
+                next = node.addChild(key.charAt(i));
+            }
+            node = next;
+            path[i + 1] = node;
+        }
+
+        if (node.term == null) {
+            if (delta < 0) return;
+            node.term = display;
+            size++;
+        }
+        node.weight += delta;
+        if (node.weight <= 0) {
+            node.weight = 0;
+            node.term = null;
+            size--;
+        }
+
+        // 아래에서 위로 maxWeight 갱신, 빈 노드는 잘라낸다
+        for (int i = key.length(); i >= 0; i--) {
+            Node n = path[i];
+            if (i > 0 && n.term == null && n.children.length == 0) {
+                path[i - 1].removeChild(key.charAt(i - 1));
+                continue;
+            }
+            n.recomputeMax();
+        }
+    }
+
+    /** 항목을 가중치와 상관없이 지운다 */
+    public void remove(String key) {
+        Node node = find(key);
+        if (node != null && node.term != null) {
+            add(key, node.term, -node.weight);
+        }
+    }
+
+    /** prefix 로 시작하는 항목 중 가중치 상위 limit 개 (가중치 내림차순, 동점은 문자열 오름차순) */
+    public List<Suggestion> topK(String prefix, int limit) {
+        Node start = find(prefix);
+        List<Suggestion> result = new ArrayList<>(limit);
+        if (start == null || limit <= 0) return result;
+
+        // 노드는 서브트리 최대값으로, 완성된 항목은 자기 가중치로 같은 큐에서 경쟁한다
+        PriorityQueue<Object[]> queue = new PriorityQueue<>((a, b) -> {
+            int c = Long.compare((long) b[0], (long) a[0]);
+            if (c != 0) return c;
+            // 같은 가중치면 완성된 항목을 먼저, 항목끼리는 사전순
+            boolean aTerm = a[1] instanceof String, bTerm = b[1] instanceof String;
+            if (aTerm != bTerm) return aTerm ? -1 : 1;
+            return aTerm ? ((String) a[1]).compareTo((String) b[1]) : 0;
+        });
+        queue.add(new Object[]{start.maxWeight, start});
+        while (!queue.isEmpty() && result.size() < limit) {
+            Object[] top = queue.poll();
+            if (top[1] instanceof String term) {
+                result.add(new Suggestion(term, (long) top[0]));
+                continue;
+            }
+            Node node = (Node) top[1];
+            if (node.term != null) queue.add(new Object[]{node.weight, node.term});
+            for (Node child : node.children) {
+                queue.add(new Object[]{child.maxWeight, child});
+            }
+        }
+        return result;
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        return node;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.codegardener.search.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 정규화된 검색 조건별 전체 건수를 잠깐 들고 있는 캐시.
+ * "약 12,000건" 처럼 대략적인 총 건수 표시용이라 TTL 동안의 오차는 허용한다.
+ */
+@Component
+public class ApproximateCountCache {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+    private static final long MAX_ENTRIES = 10_000;
+
+    private final Cache<String, Long> counts = Caffeine.newBuilder()
+            .expireAfterWrite(TTL)
+            .maximumSize(MAX_ENTRIES)
+            .build();
+
+    /** 캐시에 있으면 그대로, 없으면 counter 로 한 번 세어 저장 (같은 키 동시 요청은 한 번만 센다) */
+    public long get(String key, Supplier<Long> counter) {
+        return counts.get(key, k -> counter.get());
+    }
+
+    /**
+     * 검색 조건 → 캐시 키. 태그 목록은 정렬해서 파라미터 순서와 무관하게 같은 키가 되도록 한다.
+     * 정렬 기준과 페이지는 건수에 영향을 주지 않으므로 키에 넣지 않는다.
+     */
+    public static String key(String qLike, Boolean contentsType, List<String> langs, List<String> stacks) {
+        return String.join("\u0001",
+                String.valueOf(qLike),
+                String.valueOf(contentsType),
+                String.join(",", langs.stream().sorted().toList()),
+                String.join(",", stacks.stream().sorted().toList()));
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.codegardener.search.service;
+
+import com.example.codegardener.search.dto.SearchFacetsDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 인메모리 인덱스로 계산한 검색 결과.
+ * orderedIds 가 null 이면 인덱스로 순서를 정할 수 없으니 SQL 검색으로 처리해야 한다.
+ * facets 는 인덱스가 준비되지 않았거나 키워드에서 토큰을 뽑지 못하면 null.
+ */
+@Getter
+@AllArgsConstructor
+public class IndexSearchResult {
+
+    public static final IndexSearchResult UNAVAILABLE = new IndexSearchResult(null, null);
+
+    private final List<Long> orderedIds;
+    private final SearchFacetsDto facets;
+}
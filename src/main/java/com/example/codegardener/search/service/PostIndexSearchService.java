@@ -0,0 +1,171 @@
+package com.example.codegardener.search.service;
+
+import com.example.codegardener.post.repository.PostRepository;
+import com.example.codegardener.search.dto.FacetCountDto;
+import com.example.codegardener.search.dto.SearchFacetsDto;
+import com.example.codegardener.search.index.PostSearchIndex;
+import com.example.codegardener.search.index.PostTagIndex;
+import com.example.codegardener.search.index.PostTrendingIndex;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 통합 검색을 인메모리 인덱스만으로 postId 목록까지 계산한다.
+ * - 키워드: PostSearchIndex (BM25)
+ * - 언어/스택/탭 필터: PostTagIndex 비트맵
+ * - 트렌딩순: PostTrendingIndex 시간 감쇠 점수 (필터 없는 목록은 탭별 상위 K)
+ * - 필터별 건수(facets): 필터가 없으면 태그별로 미리 센 건수, 있으면 결과 비트맵과 태그 비트맵의 교집합 크기
+ * DB는 조회수/피드백순 정렬이 필요할 때 후보 id 정렬에만, 그리고 최종 페이지 하이드레이션에만 쓴다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PostIndexSearchService {
+
+    // 조회수/피드백순 정렬을 DB에 맡길 때 IN 절에 넘길 최대 후보 수 (넘으면 SQL 검색으로 대체)
+    private static final int MAX_SORT_CANDIDATES = 2000;
+
+    // 언어/스택 facet 으로 내려줄 최대 태그 수
+    private static final int FACET_LIMIT = 20;
+
+    private final PostSearchIndex postSearchIndex;
+    private final PostTagIndex postTagIndex;
+    private final PostTrendingIndex postTrendingIndex;
+    private final PostRepository postRepository;
+
+    /**
+     * 정렬된 postId 전체 목록과 facet 건수.
+     * 키워드도 태그 필터도 없는 단순 목록은 created_at 정렬 SQL 이 더 싸므로 orderedIds 는 null (facet 은 계산).
+     * 단, 트렌딩순은 SQL 로 낼 수 없으므로 탭별 상위 K 를 돌려준다.
+     *
+     * @param langs  정규화된(소문자, 중복 제거) 언어 태그
+     * @param stacks 정규화된 스택 태그
+     * @param window 관련도순일 때 정렬이 필요한 앞부분 길이 (보여줄 페이지 끝 + 1) — 나머지는 건수만 맞춘다
+     */
+    public IndexSearchResult search(String q, Boolean contentsType, List<String> langs, List<String> stacks,
+                                    String sortKey, int window) {
+        if (!postSearchIndex.isReady()) return IndexSearchResult.UNAVAILABLE;
+
+        boolean hasKeyword = q != null && !q.isBlank();
+        boolean hasTags = !langs.isEmpty() || !stacks.isEmpty();
+
+        PostSearchIndex.Hits hits = null;
+        RoaringBitmap keywordHits = null; // null = 키워드 없음 (전체 게시물)
+        if (hasKeyword) {
+            hits = postSearchIndex.search(q);
+            if (hits == null) return IndexSearchResult.UNAVAILABLE; // 색인으로 풀 수 없는 질의는 SQL LIKE 로
+            keywordHits = toBitmap(hits);
+        }
+
+        SearchFacetsDto facets = facets(keywordHits, contentsType, langs, stacks);
+
+        if (!hasKeyword && !hasTags) {
+            if (sortKey.equals("trending")) {
+                return new IndexSearchResult(postTrendingIndex.top(contentsType, PostTrendingIndex.TOP_K), facets);
+            }
+            return new IndexSearchResult(null, facets);
+        }
+
+        RoaringBitmap filter = postTagIndex.filter(contentsType, langs, stacks);
+        List<Long> ordered;
+        if (hasKeyword) {
+            if (filter != null) {
+                hits = hits.filter(id -> filter.contains(PostTagIndex.toDocId(id)));
+            }
+            ordered = sortKey.equals("relevance")
+                    ? hits.rankedIds(window)
+                    : order(hits.ids(), sortKey);
+        } else {
+            ordered = switch (sortKey) {
+                case "views", "feedback", "trending" -> order(descending(filter), sortKey);
+                default -> postTagIndex.latest(filter); // 미리 정렬해 둔 최신순에서 필터로 거른다
+            };
+        }
+        return new IndexSearchResult(ordered, facets);
+    }
+
+    // ====================== Facets ======================
+
+    /**
+     * 다중 선택을 위해 각 차원은 자기 필터를 뺀 결과 집합에서 센다.
+     * 그 집합이 "전체 게시물(탭 한정)" 이면 PostTagIndex 가 색인 때마다 갱신해 둔 건수를 그대로 쓰고,
+     * 키워드나 다른 차원 필터가 걸렸을 때만 비트맵 교집합으로 센다.
+     */
+    private SearchFacetsDto facets(RoaringBitmap keywordHits, Boolean contentsType, List<String> langs, List<String> stacks) {
+        boolean unfiltered = keywordHits == null;
+
+        Map<String, Integer> langCounts = (unfiltered && stacks.isEmpty())
+                ? postTagIndex.facetCounts(PostTagIndex.Dimension.LANGUAGE, contentsType, FACET_LIMIT)
+                : postTagIndex.facetCounts(PostTagIndex.Dimension.LANGUAGE,
+                        restrict(keywordHits, postTagIndex.filter(contentsType, List.of(), stacks)), FACET_LIMIT);
+
+        Map<String, Integer> stackCounts = (unfiltered && langs.isEmpty())
+                ? postTagIndex.facetCounts(PostTagIndex.Dimension.STACK, contentsType, FACET_LIMIT)
+                : postTagIndex.facetCounts(PostTagIndex.Dimension.STACK,
+                        restrict(keywordHits, postTagIndex.filter(contentsType, langs, List.of())), FACET_LIMIT);
+
+        Map<Boolean, Integer> typeCounts = (unfiltered && langs.isEmpty() && stacks.isEmpty())
+                ? postTagIndex.contentsTypeCounts()
+                : postTagIndex.contentsTypeCounts(restrict(keywordHits, postTagIndex.filter(null, langs, stacks)));
+
+        return SearchFacetsDto.builder()
+                .languages(toFacetList(langCounts))
+                .stacks(toFacetList(stackCounts))
+                .contentsTypes(toFacetList(typeCounts))
+                .build();
+    }
+
+    // keywordHits 와 filter 중 적어도 하나는 null 이 아니어야 한다 (둘 다 null 이면 미리 센 건수를 쓰는 경우)
+    private static RoaringBitmap restrict(RoaringBitmap keywordHits, RoaringBitmap filter) {
+        if (keywordHits == null) return filter;
+        return (filter == null) ? keywordHits : RoaringBitmap.and(keywordHits, filter);
+    }
+
+    private static <K> List<FacetCountDto> toFacetList(Map<K, Integer> counts) {
+        return counts.entrySet().stream()
+                .map(e -> new FacetCountDto(String.valueOf(e.getKey()), e.getValue()))
+                .toList();
+    }
+
+    // ====================== 정렬 ======================
+
+    private List<Long> order(List<Long> ids, String sortKey) {
+        if (ids.isEmpty()) return ids;
+
+        switch (sortKey) {
+            case "views", "feedback" -> {
+                if (ids.size() > MAX_SORT_CANDIDATES) return null;
+                return postRepository.sortIds(ids, sortKey);
+            }
+            case "trending" -> {
+                return postTrendingIndex.sort(ids);
+            }
+            default -> {
+            }
+        }
+        // 최신순: 작성 시각 내림차순 (가져온 게시물은 원래 작성 시각이라 postId 순서와 다를 수 있다)
+        return postTagIndex.sortLatest(ids);
+    }
+
+    private static RoaringBitmap toBitmap(PostSearchIndex.Hits hits) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int i = 0; i < hits.size(); i++) {
+            bitmap.add(PostTagIndex.toDocId(hits.idAt(i)));
+        }
+        return bitmap;
+    }
+
+    private static List<Long> descending(RoaringBitmap bitmap) {
+        List<Long> ids = new ArrayList<>(bitmap.getCardinality());
+        IntIterator it = bitmap.getReverseIntIterator();
+        while (it.hasNext()) {
+            ids.add((long) it.next());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.codegardener.search.service;
+
+import com.example.codegardener.post.dto.PostCardDto;
+import com.example.codegardener.post.index.PostDocument;
+import com.example.codegardener.post.index.PostIndexer;
+import com.example.codegardener.search.index.PostTagIndex;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 정규화된 검색 조건 + 페이지(또는 커서)별 검색 응답 캐시 (크기 + TTL 제한).
+ * 응답에 담긴 카드는 캐시된 뒤 수정하지 않는다 (집계 값은 캐시 시점 기준, TTL 동안의 오차 허용).
+ *
+ * 게시물이 추가/수정/삭제되면 그 게시물이 "들어갈 수 있는" 항목만 골라 무효화한다.
+ * - 탭/언어/스택 필터가 게시물의 수정 전 또는 수정 후 태그와 맞는 항목 (키워드는 보지 않고 보수적으로)
+ * - 결과 페이지에 그 게시물이 들어 있는 항목 (제목 등 카드 내용 변경)
+ * 조회수/좋아요 등 집계 변화로 인한 순서 변화는 TTL 로만 반영한다.
+ * 대상은 캐시 전체를 훑지 않고 역색인(필터 버킷 → 항목, 게시물 → 항목)으로 찾는다.
+ * 버킷은 언어 필터가 있으면 언어별, 없고 스택 필터가 있으면 스택별, 둘 다 없으면 탭별이다.
+ * 버킷마다 버전을 두어, 무효화 전에 시작한 계산 결과는 저장하지 않는다 (TTL 동안 낡은 응답이 남지 않도록).
+ * 메트릭: cache.gets{cache=search.results,result=hit|miss}
+ */
+@Component
+public class SearchResultCache implements PostIndexer {
+
+    private static final String CACHE_NAME = "search.results";
+    private static final long MAX_ENTRIES = 10_000;
+    private static final Duration TTL = Duration.ofSeconds(60);
+
+    // 크기/TTL 로 밀려난 항목은 제거와 같은 원자적 구간에서 역색인에서도 뺀다
+    private final Cache<Key, Entry> cache = Caffeine.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .expireAfterWrite(TTL)
+            .evictionListener((Key key, Entry entry, RemovalCause cause) -> {
+                if (entry != null) unregister(entry);
+            })
+            .recordStats()
+            .build();
+
+    // 수정 전 태그로도 무효화 대상을 고르기 위한 게시물별 마지막 필터 속성
+    private final Map<Long, Filterable> lastKnown = new ConcurrentHashMap<>();
+
+    // 역색인. 집합은 compute 안에서만 바꾸고 비면 맵에서 뺀다
+    private final Map<String, Set<Entry>> entriesByBucket = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Entry>> entriesByPost = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> bucketVersions = new ConcurrentHashMap<>();
+
+    public SearchResultCache(MeterRegistry meterRegistry) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 검색 조건 키. langs/stacks 는 정규화(소문자, 중복 제거)된 값을 정렬해서 넣는다.
+     * kind 는 응답 형태(page / slice / scroll), position 은 페이지 번호 또는 커서 문자열.
+     */
+    public record Key(String kind, String qLike, Boolean contentsType,
+                      List<String> langs, List<String> stacks,
+                      String sort, String position, int size, boolean withTotal) {
+
+        public static Key of(String kind, String qLike, Boolean contentsType,
+                             List<String> langs, List<String> stacks,
+                             String sort, Object position, int size, boolean withTotal) {
+            return new Key(kind, qLike, contentsType,
+                    langs.stream().sorted().toList(), stacks.stream().sorted().toList(),
+                    sort, String.valueOf(position), size, withTotal);
+        }
+    }
+
+    /** 캐시 값. 역색인 집합에서 항목을 구분하도록 동일성(identity)으로 비교한다 */
+    private static final class Entry {
+        final Key key;
+        final Object response;
+        final Set<Long> postIds;
+
+        Entry(Key key, Object response, Set<Long> postIds) {
+            this.key = key;
+            this.response = response;
+            this.postIds = postIds;
+        }
+    }
+
+    private record Filterable(Boolean contentsType, Set<String> langs, Set<String> stacks) {
+    }
+
+    /**
+     * 캐시에 있으면 그대로, 없으면 loader 로 한 번만 계산해 저장 (같은 키의 동시 미스는 합쳐진다).
+     * postIdsOf 는 응답에 실린 게시물 id (카드 변경 시 무효화용).
+     * 계산하는 동안 같은 버킷의 게시물이 바뀌었으면 결과를 돌려주기만 하고 저장하지 않는다.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key key, Supplier<T> loader, Function<T, Collection<Long>> postIdsOf) {
+        Object[] loaded = new Object[1];
+        Entry entry = cache.get(key, k -> {
+            Set<String> buckets = bucketsOf(k);
+            long version = versionOf(buckets);
+            T response = loader.get();
+            loaded[0] = response;
+
+            // 등록을 먼저 하고 버전을 본다: 무효화 쪽은 버전을 올린 뒤 역색인을 보므로 둘 중 하나는 반드시 알아챈다
+            Entry e = new Entry(k, response, Set.copyOf(postIdsOf.apply(response)));
+            register(e, buckets);
+            if (versionOf(buckets) != version) {
+                unregister(e);
+                return null;
+            }
+            return e;
+        });
+        return entry != null ? (T) entry.response : (T) loaded[0];
+    }
+
+    // ====================== 무효화 ======================
+
+    @Override
+    public void index(PostDocument document) {
+        Filterable now = new Filterable(document.getContentsType(),
+                Set.copyOf(PostTagIndex.parseCsv(document.getLangTags())),
+                Set.copyOf(PostTagIndex.parseCsv(document.getStackTags())));
+        Filterable before = lastKnown.put(document.getPostId(), now);
+        evictAffected(document.getPostId(), before, now);
+    }
+
+    @Override
+    public void remove(Long postId) {
+        Filterable before = lastKnown.remove(postId);
+        evictAffected(postId, before, null);
+    }
+
+    private void evictAffected(Long postId, Filterable before, Filterable after) {
+        Set<String> buckets = new HashSet<>();
+        addBucketsOf(before, buckets);
+        addBucketsOf(after, buckets);
+        for (String bucket : buckets) {
+            bucketVersions.computeIfAbsent(bucket, b -> new AtomicLong()).incrementAndGet();
+        }
+
+        // 결과에 이 게시물이 실린 항목 + 필터가 수정 전/후 태그와 맞는 항목
+        Set<Entry> affected = new HashSet<>(entriesByPost.getOrDefault(postId, Set.of()));
+        for (String bucket : buckets) {
+            for (Entry e : entriesByBucket.getOrDefault(bucket, Set.of())) {
+                if (matches(e.key, before) || matches(e.key, after)) affected.add(e);
+            }
+        }
+        for (Entry e : affected) {
+            cache.asMap().remove(e.key, e);
+            unregister(e);
+        }
+    }
+
+    // ====================== 역색인 ======================
+
+    private static Set<String> bucketsOf(Key key) {
+        if (!key.langs().isEmpty()) {
+            return key.langs().stream().map(l -> "L:" + l).collect(Collectors.toSet());
+        }
+        if (!key.stacks().isEmpty()) {
+            return key.stacks().stream().map(t -> "S:" + t).collect(Collectors.toSet());
+        }
+        return Set.of("T:" + key.contentsType());
+    }
+
+    /** 게시물이 맞을 수 있는 모든 항목의 버킷 (탭 필터가 없는 항목은 "T:null") */
+    private static void addBucketsOf(Filterable post, Set<String> out) {
+        if (post == null) return;
+        post.langs().forEach(l -> out.add("L:" + l));
+        post.stacks().forEach(t -> out.add("S:" + t));
+        out.add("T:" + post.contentsType());
+        out.add("T:null");
+    }
+
+    private long versionOf(Set<String> buckets) {
+        long sum = 0; // 버전은 증가만 하므로 합이 같으면 어느 버킷도 바뀌지 않았다
+        for (String bucket : buckets) {
+            AtomicLong v = bucketVersions.get(bucket);
+            if (v != null) sum += v.get();
+        }
+        return sum;
+    }
+
+    private void register(Entry e, Set<String> buckets) {
+        for (String bucket : buckets) addTo(entriesByBucket, bucket, e);
+        for (Long postId : e.postIds) addTo(entriesByPost, postId, e);
+    }
+
+    private void unregister(Entry e) {
+        for (String bucket : bucketsOf(e.key)) removeFrom(entriesByBucket, bucket, e);
+        for (Long postId : e.postIds) removeFrom(entriesByPost, postId, e);
+    }
+
+    private static <K> void addTo(Map<K, Set<Entry>> index, K k, Entry e) {
+        index.compute(k, (x, set) -> {
+            if (set == null) set = ConcurrentHashMap.newKeySet();
+            set.add(e);
+            return set;
+        });
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Entry>> index, K k, Entry e) {
+        index.computeIfPresent(k, (x, set) -> {
+            set.remove(e);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static boolean matches(Key key, Filterable post) {
+        if (post == null) return false;
+        if (key.contentsType() != null && !Objects.equals(key.contentsType(), post.contentsType())) return false;
+        if (!key.langs().isEmpty() && key.langs().stream().noneMatch(post.langs()::contains)) return false;
+        return key.stacks().isEmpty() || key.stacks().stream().anyMatch(post.stacks()::contains);
+    }
+
+    public static List<Long> idsOf(Collection<PostCardDto> cards) {
+        return cards.stream().map(PostCardDto::getPostId).collect(Collectors.toList());
+    }
+}
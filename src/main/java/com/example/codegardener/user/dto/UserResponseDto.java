@@ -1,9 +1,11 @@
 package com.example.codegardener.user.dto;
 
+import com.example.codegardener.feedback.dto.UserRatingSummaryDto;
 import com.example.codegardener.user.domain.Role;
 import com.example.codegardener.user.domain.User;
 
 import lombok.Getter;
+import lombok.Setter;
 
 @Getter
 public class UserResponseDto {
@@ -20,6 +22,9 @@ public class UserResponseDto {
     private final Integer totalFeedbackCount;
     private final Integer adoptedFeedbackCount;
 
+    @Setter
+    private UserRatingSummaryDto ratingSummary; // 준/받은 평균 평점 (프로필 조회에서만 채움)
+
     public UserResponseDto(User user) {
 
         this.id = user.getId();
@@ -0,0 +1,18 @@
+package com.example.codegardener.user.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 회원 가입/탈퇴 시 UserService가 발행하는 이벤트.
+ * 사용자명 자동완성 등 사용자 목록에 의존하는 인메모리 구조가 커밋 이후 받아 반영한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserChangedEvent {
+
+    public enum Type { CREATED, DELETED }
+
+    private final Type type;
+    private final String userName;
+}
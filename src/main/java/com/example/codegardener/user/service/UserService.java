@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -17,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import com.example.codegardener.feedback.rating.RatingAggregateStore;
 import com.example.codegardener.feedback.repository.FeedbackRepository;
 import com.example.codegardener.global.jwt.JwtUtil;
 import com.example.codegardener.user.domain.Role;
@@ -25,6 +27,7 @@ import com.example.codegardener.user.domain.UserProfile;
 import com.example.codegardener.user.dto.LoginRequestDto;
 import com.example.codegardener.user.dto.SignUpRequestDto;
 import com.example.codegardener.user.dto.UserResponseDto;
+import com.example.codegardener.user.event.UserChangedEvent;
 import com.example.codegardener.user.repository.UserRepository;
 
 @Slf4j
@@ -36,6 +39,8 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final FeedbackRepository feedbackRepository;
+    private final RatingAggregateStore ratingAggregateStore;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final String GRADE_SEED = "새싹 개발자";
     private static final String GRADE_LEAF = "잎새 개발자";
@@ -67,6 +72,7 @@ public class UserService {
         updateGrade(userProfile);
 
         User savedUser = userRepository.save(newUser);
+        eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.CREATED, savedUser.getUserName()));
         log.info("New user signed up: {} (ID: {}), initial points: 1000, grade: {}",
                 savedUser.getUserName(), savedUser.getId(), savedUser.getUserProfile().getGrade());
         return new UserResponseDto(savedUser);
@@ -90,7 +96,9 @@ public class UserService {
     public UserResponseDto getUserProfile(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다. ID: " + userId));
-        return new UserResponseDto(user);
+        UserResponseDto dto = new UserResponseDto(user);
+        dto.setRatingSummary(ratingAggregateStore.userSummary(userId));
+        return dto;
     }
 
     // ===== 리더보드 기능 =====
@@ -162,6 +170,7 @@ public class UserService {
         log.info("User '{}' (userId={}) is deleting their own account.",
                 currentUser.getUserName(), currentUser.getId());
         userRepository.delete(currentUser);
+        eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.DELETED, currentUser.getUserName()));
 
         // TODO: 관리자 삭제와 동일하게, 사용자가 작성한 게시물, 피드백 등의 처리 정책 필요
     }
@@ -284,6 +293,7 @@ public class UserService {
                 adminUsername, userToDelete.getUserName(), userIdToDelete);
 
         userRepository.delete(userToDelete);
+        eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.DELETED, userToDelete.getUserName()));
 
         // TODO: 사용자가 작성한 게시물, 피드백, 댓글, 좋아요 등을 어떻게 처리할지 정책 결정 필요
         //       (예: 같이 삭제, null로 변경, '탈퇴한 사용자'로 표시 등)
@@ -0,0 +1,84 @@
+package com.example.codegardener.feedback.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FeedbackCursorTest {
+
+    private static FeedbackResponseDto feedback(long feedbackId, boolean adopted, int likes, double rating,
+                                                LocalDateTime createdAt) {
+        return FeedbackResponseDto.builder()
+                .feedbackId(feedbackId)
+                .postId(1L)
+                .userId(2L)
+                .content("리뷰")
+                .rating(rating)
+                .adoptedTF(adopted)
+                .likesCount(likes)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+    }
+
+    @Test
+    void roundTripsEveryField() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 9, 8, 7, 6, 5_000_000);
+        FeedbackCursor cursor = FeedbackCursor.after("rating", feedback(77, true, 12, 4.5, createdAt));
+
+        FeedbackCursor decoded = FeedbackCursor.decodeOrFirst(cursor.encode(), "rating");
+
+        assertThat(decoded.getSort()).isEqualTo("rating");
+        assertThat(decoded.isAdopted()).isTrue();
+        assertThat(decoded.getFeedbackId()).isEqualTo(77L);
+        assertThat(decoded.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(decoded.getLikesCount()).isEqualTo(12);
+        assertThat(decoded.getRating()).isEqualTo(4.5);
+    }
+
+    @Test
+    void blankTokenStartsBeforeEveryFeedback() {
+        FeedbackCursor first = FeedbackCursor.decodeOrFirst(" ", "latest");
+
+        assertThat(first.isAdopted()).isTrue();
+        assertThat(first.getFeedbackId()).isEqualTo(Long.MAX_VALUE);
+        assertThat(first.getLikesCount()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(first.getCreatedAt()).isAfter(LocalDateTime.of(9000, 1, 1, 0, 0));
+        assertThat(FeedbackCursor.decodeOrFirst(null, "likes").getSort()).isEqualTo("likes");
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        FeedbackCursor cursor = FeedbackCursor.after("likes", feedback(1, false, 0, 0.5, LocalDateTime.now()));
+
+        assertThat(cursor.encode()).doesNotContain("+", "/", "=");
+    }
+
+    @Test
+    void rejectsCursorFromAnotherSort() {
+        String token = FeedbackCursor.after("likes", feedback(1, false, 3, 3.0, LocalDateTime.now())).encode();
+
+        assertThatThrownBy(() -> FeedbackCursor.decodeOrFirst(token, "latest"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("커서와 정렬 기준이 다릅니다.");
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        String wrongVersion = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("v0|latest|false|1|2025-01-01T00:00|0|1.0".getBytes(StandardCharsets.UTF_8));
+        String missingPart = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("v1|latest|false|1|2025-01-01T00:00|0".getBytes(StandardCharsets.UTF_8));
+
+        for (String token : new String[]{"not base64!", wrongVersion, missingPart}) {
+            assertThatThrownBy(() -> FeedbackCursor.decodeOrFirst(token, "latest"))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("잘못된 커서입니다.");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.codegardener.feedback.index;
+
+import com.example.codegardener.feedback.index.LineFeedbackIntervalIndex.Interval;
+import com.example.codegardener.feedback.index.LineFeedbackIntervalIndex.PostIntervals;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LineFeedbackIntervalIndexTest {
+
+    private static PostIntervals of(Interval... intervals) {
+        Map<Long, Interval> byId = new HashMap<>();
+        for (Interval iv : intervals) byId.put(iv.lineFeedbackId(), iv);
+        return PostIntervals.build(byId);
+    }
+
+    private static List<Long> ids(List<Interval> intervals) {
+        return intervals.stream().map(Interval::lineFeedbackId).toList();
+    }
+
+    @Test
+    void singleLineAndReversedRangesAreNormalized() {
+        assertThat(Interval.of(1, 10, 5, null)).isEqualTo(new Interval(1, 10, 5, 5));
+        assertThat(Interval.of(1, 10, 9, 3)).isEqualTo(new Interval(1, 10, 3, 9));
+    }
+
+    @Test
+    void findsOverlappingRangesInStartOrder() {
+        PostIntervals intervals = of(
+                new Interval(1, 1, 1, 3),
+                new Interval(2, 1, 5, 5),
+                new Interval(3, 2, 4, 10),
+                new Interval(4, 2, 12, 15));
+
+        assertThat(ids(intervals.overlapping(3, 5))).containsExactly(1L, 3L, 2L);
+        assertThat(ids(intervals.overlapping(11, 11))).isEmpty();
+        assertThat(ids(intervals.overlapping(15, 100))).containsExactly(4L);
+    }
+
+    @Test
+    void matchesBruteForceOnRandomRanges() {
+        Random random = new Random(22);
+        List<Interval> all = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            int start = 1 + random.nextInt(500);
+            all.add(new Interval(id, id, start, start + random.nextInt(40)));
+        }
+        PostIntervals intervals = of(all.toArray(Interval[]::new));
+
+        for (int q = 0; q < 200; q++) {
+            int from = 1 + random.nextInt(540);
+            int to = from + random.nextInt(30);
+            List<Long> expected = all.stream()
+                    .filter(iv -> iv.startLine() <= to && iv.endLine() >= from)
+                    .sorted(Comparator.comparingInt(Interval::startLine).thenComparingLong(Interval::lineFeedbackId))
+                    .map(Interval::lineFeedbackId)
+                    .toList();
+            assertThat(ids(intervals.overlapping(from, to))).containsExactly(expected.toArray());
+        }
+    }
+
+    @Test
+    void heatmapCountsRangesPerLine() {
+        PostIntervals intervals = of(new Interval(1, 1, 1, 3), new Interval(2, 1, 2, 2));
+
+        assertThat(intervals.heatmap()).containsExactly(1, 2, 1);
+    }
+
+    @Test
+    void putAndRemoveKeepHeatmapAndQueriesInSync() {
+        PostIntervals base = of(new Interval(1, 1, 1, 3));
+
+        PostIntervals moved = base.with(new Interval(1, 1, 4, 5));
+        assertThat(moved.heatmap()).containsExactly(0, 0, 0, 1, 1);
+        assertThat(ids(moved.overlapping(1, 3))).isEmpty();
+
+        PostIntervals added = moved.with(new Interval(2, 1, 5, 6));
+        assertThat(added.heatmap()).containsExactly(0, 0, 0, 1, 2, 1);
+        assertThat(ids(added.overlapping(5, 5))).containsExactly(1L, 2L);
+
+        PostIntervals removed = added.without(1L);
+        assertThat(removed.heatmap()).containsExactly(0, 0, 0, 0, 1, 1);
+        assertThat(removed.without(99L)).isSameAs(removed);
+        assertThat(base.with(new Interval(1, 1, 1, 3))).isSameAs(base);
+
+        // 원래 스냅샷은 바뀌지 않는다
+        assertThat(base.heatmap()).containsExactly(1, 1, 1);
+    }
+
+    @Test
+    void linesBeforeTheFirstAreIgnoredByTheHeatmap() {
+        PostIntervals intervals = of(new Interval(1, 1, -2, 1));
+
+        assertThat(intervals.heatmap()).containsExactly(1);
+        assertThat(ids(intervals.overlapping(0, 0))).containsExactly(1L);
+    }
+}
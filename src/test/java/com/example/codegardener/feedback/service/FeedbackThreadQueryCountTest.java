@@ -0,0 +1,109 @@
+package com.example.codegardener.feedback.service;
+
+import com.example.codegardener.feedback.domain.Feedback;
+import com.example.codegardener.feedback.domain.FeedbackComment;
+import com.example.codegardener.feedback.domain.LineFeedback;
+import com.example.codegardener.feedback.dto.FeedbackDetailResponseDto;
+import com.example.codegardener.post.domain.Post;
+import com.example.codegardener.user.domain.Role;
+import com.example.codegardener.user.domain.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class FeedbackThreadQueryCountTest {
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    void threadQueryCountDoesNotGrowWithFeedbackCount() {
+        User author = user("thread_author");
+        Post small = post(author);
+        Post large = post(author);
+        addFeedbacks(small, author, 1);
+        addFeedbacks(large, author, 30);
+        em.flush();
+
+        long smallQueries = countQueries(() -> feedbackService.getFeedbackThread(small.getPostId()));
+        AtomicReference<List<FeedbackDetailResponseDto>> thread = new AtomicReference<>();
+        long largeQueries = countQueries(() -> thread.set(feedbackService.getFeedbackThread(large.getPostId())));
+
+        assertThat(thread.get()).hasSize(30);
+        assertThat(thread.get()).allSatisfy(f -> {
+            assertThat(f.getLineFeedbacks()).hasSize(2);
+            assertThat(f.getComments()).hasSize(3);
+        });
+        assertThat(largeQueries).isEqualTo(smallQueries).isLessThanOrEqualTo(3);
+    }
+
+    private long countQueries(Runnable action) {
+        em.clear(); // 영속성 컨텍스트에 남은 엔티티 없이 측정
+        Statistics stats = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        action.run();
+        return stats.getPrepareStatementCount();
+    }
+
+    private User user(String name) {
+        User u = new User();
+        u.setUserName(name);
+        u.setPassword("password");
+        u.setEmail(name + "@example.com");
+        u.setRole(Role.USER);
+        em.persist(u);
+        return u;
+    }
+
+    private Post post(User author) {
+        Post p = Post.builder()
+                .user(author)
+                .title("thread")
+                .content("content")
+                .code("int main() {}")
+                .summary("summary")
+                .contentsType(true)
+                .build();
+        em.persist(p);
+        return p;
+    }
+
+    private void addFeedbacks(Post post, User author, int count) {
+        for (int i = 0; i < count; i++) {
+            Feedback f = Feedback.builder()
+                    .postId(post.getPostId())
+                    .userId(author.getId())
+                    .content("feedback " + i)
+                    .rating(4.0)
+                    .adoptedTF(false)
+                    .likesCount(0)
+                    .build();
+            em.persist(f);
+            for (int line = 1; line <= 2; line++) {
+                em.persist(LineFeedback.builder()
+                        .feedback(f).userId(author.getId()).lineNumber(line).content("line " + line)
+                        .createdAt(LocalDateTime.now()).build());
+            }
+            for (int c = 0; c < 3; c++) {
+                em.persist(FeedbackComment.builder()
+                        .feedback(f).userId(author.getId()).content("comment " + c)
+                        .createdAt(LocalDateTime.now()).build());
+            }
+        }
+    }
+}
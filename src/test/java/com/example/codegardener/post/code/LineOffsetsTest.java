@@ -0,0 +1,65 @@
+package com.example.codegardener.post.code;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LineOffsetsTest {
+
+    @Test
+    void offsetsPointAtLineStarts() {
+        assertThat(LineOffsets.of("a\nbc\n\nd")).containsExactly(0, 2, 5, 6);
+        assertThat(LineOffsets.of("")).containsExactly(0);
+        assertThat(LineOffsets.of((String) null)).containsExactly(0);
+        assertThat(LineOffsets.of("trailing\n")).containsExactly(0, 9);
+    }
+
+    @Test
+    void offsetsAreUtf8ByteOffsets() {
+        // '가' 는 UTF-8 로 3바이트
+        assertThat(LineOffsets.of("가\n나")).containsExactly(0, 4);
+    }
+
+    @Test
+    void packRoundTripsSmallAndLargeDeltas() {
+        int[] offsets = {0, 1, 127, 128, 300, 20_000, 2_000_000};
+
+        byte[] packed = LineOffsets.pack(offsets);
+
+        assertThat(LineOffsets.unpack(packed)).containsExactly(offsets);
+        assertThat(LineOffsets.pack(new int[]{0, 10, 25}).length).isEqualTo(3); // 작은 차이는 한 바이트씩
+    }
+
+    @Test
+    void packRoundTripsRealCode() {
+        StringBuilder code = new StringBuilder();
+        for (int i = 0; i < 1_000; i++) code.append("line ").append(i).append(" // 주석\n");
+        int[] offsets = LineOffsets.of(code.toString());
+
+        assertThat(LineOffsets.unpack(LineOffsets.pack(offsets))).containsExactly(offsets);
+        assertThat(LineOffsets.unpack(new byte[0])).isEmpty();
+    }
+
+    @Test
+    void codeLinesSliceByLineNumber() {
+        String code = "int a;\r\n가나다\nreturn a;\n";
+        PostCodeLineCache.CodeLines lines = new PostCodeLineCache.CodeLines(code, null);
+
+        assertThat(lines.lineCount()).isEqualTo(4);
+        assertThat(lines.slice(2, 2)).isEqualTo("가나다");
+        assertThat(lines.slice(1, 3)).isEqualTo("int a;\r\n가나다\nreturn a;");
+        assertThat(lines.slice(4, 4)).isEqualTo("");
+    }
+
+    @Test
+    void storedOffsetsAreUsedAsIs() {
+        String code = "x\ny";
+        int[] stored = LineOffsets.unpack(LineOffsets.pack(LineOffsets.of(code.getBytes(StandardCharsets.UTF_8))));
+
+        PostCodeLineCache.CodeLines lines = new PostCodeLineCache.CodeLines(code, stored);
+
+        assertThat(lines.slice(2, 2)).isEqualTo("y");
+    }
+}
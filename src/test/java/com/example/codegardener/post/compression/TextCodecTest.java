@@ -0,0 +1,94 @@
+package com.example.codegardener.post.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TextCodecTest {
+
+    private static final String CODE = """
+            import java.util.*;
+
+            public class Main {
+                public static void main(String[] args) {
+                    Scanner sc = new Scanner(System.in);
+                    int n = sc.nextInt();
+                    int[] dp = new int[n + 2];
+                    dp[1] = 1;
+                    dp[2] = 2;
+                    for (int i = 3; i <= n; i++) {
+                        dp[i] = dp[i - 1] + dp[i - 2];
+                    }
+                    System.out.println(dp[n]);
+                }
+            }
+            """;
+
+    @Test
+    void shortAndNullValuesAreStoredAsIs() {
+        assertThat(TextCodec.encode(null)).isNull();
+        assertThat(TextCodec.encode("")).isEqualTo("");
+        assertThat(TextCodec.encode("int a = 1;")).isEqualTo("int a = 1;");
+        assertThat(TextCodec.decode("int a = 1;")).isEqualTo("int a = 1;");
+        assertThat(TextCodec.decode(null)).isNull();
+    }
+
+    @Test
+    void codeRoundTripsAndShrinks() {
+        String encoded = TextCodec.encode(CODE);
+
+        assertThat(TextCodec.isEncoded(encoded)).isTrue();
+        assertThat(encoded.length()).isLessThan(CODE.length());
+        assertThat(TextCodec.decode(encoded)).isEqualTo(CODE);
+    }
+
+    @Test
+    void koreanReviewRoundTrips() {
+        String review = "시간 복잡도는 O(n) 입니다. 변수명을 더 명확하게 바꾸면 가독성이 좋아집니다. ".repeat(10);
+
+        String encoded = TextCodec.encode(review);
+
+        assertThat(TextCodec.isEncoded(encoded)).isTrue();
+        assertThat(TextCodec.decode(encoded)).isEqualTo(review);
+    }
+
+    @Test
+    void storedValuesAreNotEncodedTwice() {
+        String encoded = TextCodec.encode(CODE);
+
+        assertThat(TextCodec.encodeStored(encoded)).isEqualTo(encoded);
+        assertThat(TextCodec.encodeStored(CODE)).isEqualTo(encoded);
+    }
+
+    @Test
+    void incompressibleTextStaysRaw() {
+        Random random = new Random(7);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 400; i++) sb.append((char) ('!' + random.nextInt(90)));
+        String noise = sb.toString();
+
+        assertThat(TextCodec.encode(noise)).isEqualTo(noise);
+    }
+
+    @Test
+    void rawValueStartingWithMarkerIsAlwaysEncoded() {
+        // 원문이 헤더처럼 보이면 압축본과 구분할 수 없으므로 짧아도 압축한다
+        String tricky = "\u0001Z1 not really compressed";
+
+        String encoded = TextCodec.encode(tricky);
+
+        assertThat(encoded).isNotEqualTo(tricky);
+        assertThat(TextCodec.decode(encoded)).isEqualTo(tricky);
+    }
+
+    @Test
+    void corruptedValueIsRejected() {
+        String encoded = TextCodec.encode(CODE);
+        String truncated = encoded.substring(0, encoded.length() / 2);
+
+        assertThatThrownBy(() -> TextCodec.decode(truncated)).isInstanceOf(IllegalStateException.class);
+    }
+}
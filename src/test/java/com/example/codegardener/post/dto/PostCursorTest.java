@@ -0,0 +1,66 @@
+package com.example.codegardener.post.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PostCursorTest {
+
+    private static PostCardDto card(long postId, int views, int feedbackCount, LocalDateTime createdAt) {
+        return new PostCardDto(postId, 1L, "writer", "title", "preview", "java", "spring", true,
+                3, views, 0, feedbackCount, createdAt, createdAt);
+    }
+
+    @Test
+    void roundTripsEveryField() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_000_000);
+        PostCursor cursor = PostCursor.after("views", card(42, 1000, 7, createdAt), 20);
+
+        PostCursor decoded = PostCursor.decodeOrFirst(cursor.encode(), "views");
+
+        assertThat(decoded.getSort()).isEqualTo("views");
+        assertThat(decoded.getPostId()).isEqualTo(42L);
+        assertThat(decoded.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(decoded.getViews()).isEqualTo(1000);
+        assertThat(decoded.getFeedbackCount()).isEqualTo(7);
+        assertThat(decoded.getRank()).isEqualTo(20);
+        assertThat(decoded.isFirst()).isFalse();
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        PostCursor cursor = PostCursor.after("latest", card(1, 0, 0, LocalDateTime.now()), 1);
+
+        assertThat(cursor.encode()).doesNotContain("+", "/", "=");
+    }
+
+    @Test
+    void blankTokenStartsFromTheFirstPage() {
+        PostCursor first = PostCursor.decodeOrFirst(null, "latest");
+
+        assertThat(first.isFirst()).isTrue();
+        assertThat(first.getRank()).isZero();
+        assertThat(PostCursor.decodeOrFirst(" ", "latest").isFirst()).isTrue();
+    }
+
+    @Test
+    void rejectsCursorIssuedForAnotherSort() {
+        String token = PostCursor.after("views", card(1, 5, 0, LocalDateTime.now()), 1).encode();
+
+        assertThatThrownBy(() -> PostCursor.decodeOrFirst(token, "latest"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("정렬 기준");
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThatThrownBy(() -> PostCursor.decodeOrFirst("not-a-cursor", "latest"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("잘못된 커서입니다.");
+        assertThatThrownBy(() -> PostCursor.decodeOrFirst("%%%", "latest"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
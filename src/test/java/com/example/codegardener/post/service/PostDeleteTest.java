@@ -0,0 +1,72 @@
+package com.example.codegardener.post.service;
+
+import com.example.codegardener.post.domain.Post;
+import com.example.codegardener.post.domain.PostViewerSketch;
+import com.example.codegardener.post.repository.PostViewerSketchRepository;
+import com.example.codegardener.post.view.HyperLogLog;
+import com.example.codegardener.user.domain.Role;
+import com.example.codegardener.user.domain.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class PostDeleteTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostViewerSketchRepository sketchRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    void deletingPostRemovesItsViewerSketch() {
+        User author = user("sketch_author");
+        Post post = post(author);
+        PostViewerSketch sketch = new PostViewerSketch(post.getPostId());
+        sketch.setSketch(new HyperLogLog().toBytes());
+        sketch.setUpdatedAt(LocalDateTime.now());
+        em.persist(sketch);
+        em.flush();
+        em.clear();
+
+        postService.delete(post.getPostId(), author.getUserName());
+        em.flush();
+        em.clear();
+
+        assertThat(sketchRepository.findById(post.getPostId())).isEmpty();
+    }
+
+    private User user(String name) {
+        User u = new User();
+        u.setUserName(name);
+        u.setPassword("password");
+        u.setEmail(name + "@example.com");
+        u.setRole(Role.USER);
+        em.persist(u);
+        return u;
+    }
+
+    private Post post(User author) {
+        Post p = Post.builder()
+                .user(author)
+                .title("sketch")
+                .content("content")
+                .code("int main() {}")
+                .summary("summary")
+                .contentsType(true)
+                .build();
+        em.persist(p);
+        return p;
+    }
+}
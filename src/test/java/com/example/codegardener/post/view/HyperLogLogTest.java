@@ -0,0 +1,79 @@
+package com.example.codegardener.post.view;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HyperLogLogTest {
+
+    private static HyperLogLog sketchOf(int from, int to) {
+        HyperLogLog hll = new HyperLogLog();
+        for (int i = from; i < to; i++) {
+            hll.offer("a:10.0.0." + i + "|agent");
+        }
+        return hll;
+    }
+
+    @Test
+    void emptySketchEstimatesZero() {
+        assertThat(new HyperLogLog().estimate()).isZero();
+    }
+
+    @Test
+    void smallCardinalitiesAreNearlyExact() {
+        assertThat(sketchOf(0, 100).estimate()).isBetween(98L, 102L);
+    }
+
+    @Test
+    void largeCardinalityStaysWithinFourStandardErrors() {
+        long estimate = sketchOf(0, 200_000).estimate();
+
+        assertThat(Math.abs(estimate - 200_000) / 200_000.0).isLessThan(4 * 0.0163);
+    }
+
+    @Test
+    void repeatedViewsDoNotInflateTheCount() {
+        HyperLogLog hll = sketchOf(0, 1_000);
+        long before = hll.estimate();
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 1_000; i++) hll.offer("a:10.0.0." + i + "|agent");
+        }
+
+        assertThat(hll.estimate()).isEqualTo(before);
+    }
+
+    @Test
+    void mergeEstimatesTheUnion() {
+        HyperLogLog left = sketchOf(0, 30_000);
+        HyperLogLog right = sketchOf(20_000, 50_000);
+        left.merge(right);
+
+        assertThat(Math.abs(left.estimate() - 50_000) / 50_000.0).isLessThan(0.05);
+    }
+
+    @Test
+    void serializedFormRoundTrips() {
+        HyperLogLog hll = sketchOf(0, 5_000);
+        byte[] bytes = hll.toBytes();
+
+        assertThat(bytes).hasSize(2 + 4096 * 6 / 8);
+        assertThat(HyperLogLog.fromBytes(bytes).estimate()).isEqualTo(hll.estimate());
+        assertThat(HyperLogLog.fromBytes(bytes).toBytes()).isEqualTo(bytes);
+    }
+
+    @Test
+    void rejectsUnknownFormats() {
+        assertThatThrownBy(() -> HyperLogLog.fromBytes(new byte[10]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void copyIsIndependent() {
+        HyperLogLog hll = sketchOf(0, 10);
+        HyperLogLog copy = hll.copy();
+        for (int i = 0; i < 1_000; i++) copy.offer("other-" + i);
+
+        assertThat(hll.estimate()).isEqualTo(sketchOf(0, 10).estimate());
+    }
+}
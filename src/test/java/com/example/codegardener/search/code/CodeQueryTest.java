@@ -0,0 +1,68 @@
+package com.example.codegardener.search.code;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CodeQueryTest {
+
+    @Test
+    void plainRegexIsOneLiteralRun() {
+        assertThat(CodeQuery.requiredLiterals("HashMap")).containsExactly("HashMap");
+    }
+
+    @Test
+    void metaCharactersSplitRuns() {
+        assertThat(CodeQuery.requiredLiterals("new HashMap<.*>\\(\\)")).containsExactly("new HashMap<", ">()");
+        assertThat(CodeQuery.requiredLiterals("for \\(int [a-z]+ = 0")).containsExactly("for (int ", " = 0");
+    }
+
+    @Test
+    void optionalCharactersAreDropped() {
+        // 's' 는 없을 수도 있으므로 'List' 와 'Map' 사이가 끊긴다
+        assertThat(CodeQuery.requiredLiterals("Lists?Map")).containsExactly("List", "Map");
+        assertThat(CodeQuery.requiredLiterals("abcd*efg")).containsExactly("abc", "efg");
+        assertThat(CodeQuery.requiredLiterals("abcd{0,2}efg")).containsExactly("abc", "efg");
+    }
+
+    @Test
+    void repeatedCharacterEndsTheRun() {
+        assertThat(CodeQuery.requiredLiterals("abc+def")).containsExactly("abc", "def");
+    }
+
+    @Test
+    void alternationAndGroupsYieldNothingUnsafe() {
+        assertThat(CodeQuery.requiredLiterals("foo|bar")).isEmpty();
+        assertThat(CodeQuery.requiredLiterals("(optional)?tail")).containsExactly("tail");
+    }
+
+    @Test
+    void shortRunsAreNotUsed() {
+        assertThat(CodeQuery.requiredLiterals("a.b.c")).isEmpty();
+        assertThat(CodeQuery.regex("a.b", false).requiredTrigrams()).isEmpty();
+    }
+
+    @Test
+    void regexTrigramsComeFromRequiredRuns() {
+        CodeQuery q = CodeQuery.regex("Map<.*>", false);
+
+        assertThat(q.requiredTrigrams()).containsExactlyInAnyOrderElementsOf(Trigrams.of("Map<"));
+        assertThat(q.find("final Map<String, Integer> m;")).isEqualTo(6);
+        assertThat(q.find("Map m;")).isEqualTo(-1);
+    }
+
+    @Test
+    void literalSearchHonoursCase() {
+        assertThat(CodeQuery.literal("hashmap", true).find("new HashMap<>()")).isEqualTo(4);
+        assertThat(CodeQuery.literal("hashmap", false).find("new HashMap<>()")).isEqualTo(-1);
+        assertThat(CodeQuery.literal("HashMap", false).requiredTrigrams())
+                .containsExactlyInAnyOrderElementsOf(Trigrams.of("hashmap"));
+    }
+
+    @Test
+    void rejectsShortLiteralsAndBadRegexes() {
+        assertThatThrownBy(() -> CodeQuery.literal("ab", false)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CodeQuery.regex("(unclosed", false)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
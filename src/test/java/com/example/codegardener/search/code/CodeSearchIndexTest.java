@@ -0,0 +1,98 @@
+package com.example.codegardener.search.code;
+
+import com.example.codegardener.post.index.PostDocument;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CodeSearchIndexTest {
+
+    @TempDir
+    Path dir;
+
+    private static PostDocument post(long postId, String code) {
+        return PostDocument.builder().postId(postId).code(code).build();
+    }
+
+    private static List<Long> postIds(List<CodeSearchIndex.Hit> hits) {
+        return hits.stream().map(CodeSearchIndex.Hit::postId).toList();
+    }
+
+    @Test
+    void findsCodeInBufferAndSegmentsNewestFirst() {
+        CodeSearchIndex index = new CodeSearchIndex(dir.toString());
+        index.index(post(1, "Map<String, Integer> counts = new HashMap<>();"));
+        index.index(post(2, "int x = 0;\nMap<Long, Long> m = new TreeMap<>();"));
+        index.flush();
+        index.index(post(3, "var cache = new HashMap<Long, String>();"));
+
+        assertThat(postIds(index.search("HashMap", false, false, 10))).containsExactly(3L, 1L);
+        CodeSearchIndex.Hit hit = index.search("Map<.*> m", true, false, 10).get(0);
+        assertThat(hit.postId()).isEqualTo(2L);
+        assertThat(hit.lineNumber()).isEqualTo(2);
+    }
+
+    @Test
+    void updatedAndRemovedPostsStopMatching() {
+        CodeSearchIndex index = new CodeSearchIndex(dir.toString());
+        index.index(post(1, "System.out.println(1);"));
+        index.index(post(2, "System.out.println(2);"));
+        index.flush();
+
+        index.index(post(1, "log.info(1);"));
+        index.remove(2L);
+        index.flush();
+
+        assertThat(index.search("println", false, false, 10)).isEmpty();
+        assertThat(index.search("log.info", false, false, 10)).hasSize(1);
+    }
+
+    @Test
+    void reopensSegmentsAfterRestart() {
+        CodeSearchIndex first = new CodeSearchIndex(dir.toString());
+        first.index(post(7, "StringBuilder sb = new StringBuilder();"));
+        first.flush();
+
+        CodeSearchIndex reopened = new CodeSearchIndex(dir.toString());
+
+        assertThat(postIds(reopened.search("stringbuilder", false, true, 10))).containsExactly(7L);
+    }
+
+    @Test
+    void mergesSmallSegmentsInBoundedBatches() {
+        CodeSearchIndex index = new CodeSearchIndex(dir.toString());
+        for (long id = 1; id <= 25; id++) {
+            index.index(post(id, "int value" + id + " = " + id + ";"));
+            index.flush();
+        }
+
+        index.mergeIfNeeded();
+
+        assertThat(index.segmentCount()).isLessThan(CodeSearchIndex.MERGE_FACTOR);
+        assertThat(index.search("int value", false, false, 100)).hasSize(25);
+        assertThat(postIds(index.search("value17 ", false, false, 10))).containsExactly(17L);
+    }
+
+    @Test
+    void rewritesSegmentsThatAreMostlyDeleted() {
+        CodeSearchIndex index = new CodeSearchIndex(dir.toString());
+        for (long id = 1; id <= 10; id++) index.index(post(id, "String s" + id + ";"));
+        index.flush();
+        index.index(post(11, "String other;"));
+        index.flush();
+
+        for (long id = 1; id <= 7; id++) index.remove(id);
+        index.remove(11L);
+        index.mergeIfNeeded();
+
+        assertThat(index.segmentCount()).isEqualTo(1);
+        assertThat(postIds(index.search("String", false, false, 10))).containsExactly(10L, 9L, 8L);
+
+        CodeSearchIndex reopened = new CodeSearchIndex(dir.toString());
+        assertThat(postIds(reopened.search("String", false, false, 10))).containsExactly(10L, 9L, 8L);
+    }
+}
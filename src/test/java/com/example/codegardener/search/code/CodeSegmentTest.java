@@ -0,0 +1,110 @@
+package com.example.codegardener.search.code;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CodeSegmentTest {
+
+    @TempDir
+    Path dir;
+
+    private static CodeSegment.Doc doc(long postId, String code) {
+        return new CodeSegment.Doc(postId, Trigrams.hash(code), code);
+    }
+
+    @Test
+    void roundTripsDocsInPostIdOrder() throws Exception {
+        Path path = dir.resolve("seg-1.cgs");
+        CodeSegment.write(path, List.of(doc(30, "print('세 번째')"), doc(10, "int a = 1;"), doc(20, "")));
+
+        CodeSegment segment = CodeSegment.open(1, path);
+
+        assertThat(segment.generation()).isEqualTo(1L);
+        assertThat(segment.docCount()).isEqualTo(3);
+        assertThat(segment.postId(0)).isEqualTo(10L);
+        assertThat(segment.postId(1)).isEqualTo(20L);
+        assertThat(segment.postId(2)).isEqualTo(30L);
+        assertThat(segment.code(0)).isEqualTo("int a = 1;");
+        assertThat(segment.code(1)).isEqualTo("");
+        assertThat(segment.code(2)).isEqualTo("print('세 번째')");
+        assertThat(segment.codeHash(2)).isEqualTo(Trigrams.hash("print('세 번째')"));
+        assertThat(Files.exists(dir.resolve("seg-1.cgs.tmp"))).isFalse();
+    }
+
+    @Test
+    void postingsListOrdinalsPerTrigram() throws Exception {
+        Path path = dir.resolve("seg-2.cgs");
+        CodeSegment.write(path, List.of(doc(1, "HashMap map"), doc(2, "TreeMap tree"), doc(3, "List list")));
+
+        CodeSegment segment = CodeSegment.open(2, path);
+
+        assertThat(segment.postings(Trigrams.key('m', 'a', 'p'))).containsExactly(0, 1);
+        assertThat(segment.postings(Trigrams.key('l', 'i', 's'))).containsExactly(2);
+        assertThat(segment.postings(Trigrams.key('x', 'y', 'z'))).isEmpty();
+    }
+
+    @Test
+    void streamsManyDocsFromSource() throws Exception {
+        Path path = dir.resolve("seg-3.cgs");
+        int n = 5000;
+        CodeSegment.write(path, new CodeSegment.Source() {
+            public int size() { return n; }
+            public long postId(int i) { return i * 2L; }
+            public long codeHash(int i) { return i; }
+            public String code(int i) { return i % 100 == 0 ? "special_" + i : "plain 한글 \uD83D\uDE00 " + i; }
+        });
+
+        CodeSegment segment = CodeSegment.open(3, path);
+
+        assertThat(segment.docCount()).isEqualTo(n);
+        assertThat(segment.sizeInBytes()).isEqualTo(Files.size(path));
+        int[] special = segment.postings(Trigrams.key('s', 'p', 'e'));
+        assertThat(special).hasSize(50).isSorted();
+        assertThat(special[1]).isEqualTo(100);
+        assertThat(segment.postings(Trigrams.key('p', 'l', 'a'))).hasSize(n - 50);
+        assertThat(segment.postId(4999)).isEqualTo(9998L);
+        assertThat(segment.code(4999)).isEqualTo("plain 한글 \uD83D\uDE00 4999");
+        assertThat(segment.code(4900)).isEqualTo("special_4900");
+    }
+
+    @Test
+    void unpairedSurrogatesDoNotShiftStoredCode() throws Exception {
+        Path path = dir.resolve("seg-4.cgs");
+        CodeSegment.write(path, List.of(doc(1, "a\uD800b"), doc(2, "next")));
+
+        CodeSegment segment = CodeSegment.open(4, path);
+
+        assertThat(segment.code(0)).isEqualTo("a?b");
+        assertThat(segment.code(1)).isEqualTo("next");
+    }
+
+    @Test
+    void sortedKeysMatchTrigramSet() {
+        String code = "Map<String, Map<String, Integer>> map";
+        assertThat(Trigrams.sortedKeys(code)).containsExactly(Trigrams.of(code).stream().mapToLong(Long::longValue).toArray());
+    }
+
+    @Test
+    void trigramsAreCaseInsensitive() {
+        assertThat(Trigrams.of("ABcd")).containsExactlyInAnyOrder(Trigrams.key('a', 'b', 'c'), Trigrams.key('b', 'c', 'd'));
+        assertThat(Trigrams.of("ab")).isEmpty();
+    }
+
+    @Test
+    void trigramsDoNotDependOnDefaultLocale() {
+        Locale original = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr-TR")); // 기본 로캘이면 'I' → 'ı'
+            assertThat(Trigrams.of("FILE")).containsExactlyInAnyOrder(Trigrams.key('f', 'i', 'l'), Trigrams.key('i', 'l', 'e'));
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+}
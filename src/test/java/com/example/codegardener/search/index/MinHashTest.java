@@ -0,0 +1,73 @@
+package com.example.codegardener.search.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class MinHashTest {
+
+    private final MinHash minHash = new MinHash(256, 4, 42L);
+
+    private int[] signatureOf(LongStream elements) {
+        int[] signature = minHash.emptySignature();
+        elements.forEach(e -> minHash.add(signature, e));
+        return signature;
+    }
+
+    @Test
+    void identicalSetsEstimateOne() {
+        int[] a = signatureOf(LongStream.range(0, 100));
+        int[] b = signatureOf(LongStream.range(0, 100).map(i -> 99 - i)); // 순서는 무관
+
+        assertThat(minHash.estimate(a, b)).isEqualTo(1.0);
+    }
+
+    @Test
+    void estimateApproximatesJaccard() {
+        // |A ∩ B| = 100, |A ∪ B| = 300 → Jaccard 1/3
+        int[] a = signatureOf(LongStream.range(0, 200));
+        int[] b = signatureOf(LongStream.range(100, 300));
+
+        assertThat(minHash.estimate(a, b)).isCloseTo(1.0 / 3, within(0.1));
+    }
+
+    @Test
+    void disjointSetsEstimateNearZero() {
+        int[] a = signatureOf(LongStream.range(0, 200));
+        int[] b = signatureOf(LongStream.range(1_000, 1_200));
+
+        assertThat(minHash.estimate(a, b)).isLessThan(0.05);
+    }
+
+    @Test
+    void sameSeedGivesSameSignature() {
+        MinHash other = new MinHash(256, 4, 42L);
+        int[] a = signatureOf(LongStream.range(0, 50));
+        int[] b = other.emptySignature();
+        LongStream.range(0, 50).forEach(e -> other.add(b, e));
+
+        assertThat(b).containsExactly(a);
+    }
+
+    @Test
+    void bandKeysDependOnBandNumber() {
+        int[] signature = signatureOf(LongStream.range(0, 50));
+        int[] same = signature.clone();
+
+        assertThat(minHash.bands()).isEqualTo(64);
+        assertThat(minHash.bandKey(signature, 3)).isEqualTo(minHash.bandKey(same, 3));
+
+        // 모든 칸이 같아도 밴드 번호가 다르면 키가 다르다
+        int[] flat = new int[256];
+        assertThat(minHash.bandKey(flat, 0)).isNotEqualTo(minHash.bandKey(flat, 1));
+    }
+
+    @Test
+    void rejectsBandsThatDoNotDivideHashes() {
+        assertThatThrownBy(() -> new MinHash(10, 4, 1L)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
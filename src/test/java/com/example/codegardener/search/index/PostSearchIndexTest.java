@@ -0,0 +1,125 @@
+package com.example.codegardener.search.index;
+
+import com.example.codegardener.post.index.PostDocument;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostSearchIndexTest {
+
+    private final PostSearchIndex index = new PostSearchIndex();
+
+    private void add(long postId, String title, String content) {
+        index.index(PostDocument.builder().postId(postId).title(title).content(content).authorName("writer").build());
+    }
+
+    @Test
+    void matchesOnlyPostsContainingEveryTerm() {
+        add(1, "스프링 트랜잭션", "전파 속성 정리");
+        add(2, "스프링 시큐리티", "필터 체인");
+        add(3, "리액트 훅", "상태 관리");
+
+        assertThat(index.search("스프링").ids()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("스프링 필터").ids()).containsExactly(2L);
+        assertThat(index.search("스프링 리액트").size()).isZero();
+    }
+
+    @Test
+    void titleMatchOutranksBodyMatch() {
+        add(1, "일반 글", "bm25 는 본문에만 한 번");
+        add(2, "bm25 정리", "검색 랭킹");
+
+        assertThat(index.search("bm25").rankedIds(2)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void tiesAreBrokenByNewestPostFirst() {
+        add(1, "same title", "");
+        add(2, "same title", "");
+        add(3, "same title", "");
+
+        assertThat(index.search("same").rankedIds(3)).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void rankedIdsSortsOnlyTheWindowButKeepsTheFullCount() {
+        for (long id = 1; id <= 50; id++) {
+            add(id, "keyword " + "keyword ".repeat((int) (id % 7)), "filler text");
+        }
+        PostSearchIndex.Hits hits = index.search("keyword");
+        List<Long> full = hits.rankedIds(50);
+        List<Long> windowed = hits.rankedIds(10);
+
+        assertThat(windowed).hasSize(50);
+        assertThat(windowed.subList(0, 10)).isEqualTo(full.subList(0, 10));
+        assertThat(windowed).containsExactlyInAnyOrderElementsOf(full);
+    }
+
+    @Test
+    void latinTermsMatchByPrefix() {
+        add(1, "spring boot", "");
+        add(2, "sprint review", "");
+        add(3, "summer", "");
+
+        assertThat(index.search("spr").ids()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("ring").size()).isZero(); // 단어 중간 일치는 지원하지 않음
+    }
+
+    @Test
+    void tooManyPrefixExpansionsFallBackToSql() {
+        add(1, "java", "");
+        for (long id = 2; id <= 70; id++) {
+            add(id, "ja" + id, ""); // "ja" 로 시작하는 용어 69개 (ja2 ~ ja70) 가 "java" 보다 앞에 정렬된다
+        }
+
+        assertThat(index.search("ja")).isNull();
+        assertThat(index.search("java").ids()).containsExactly(1L);
+        assertThat(index.search("ja6").size()).isEqualTo(11); // 이어지는 용어가 적으면 모두 합친다 (ja6, ja60 ~ ja69)
+    }
+
+    @Test
+    void singleHangulCharacterFallsBackToSql() {
+        add(1, "자바 기초", "");
+
+        assertThat(index.search("자")).isNull();
+        assertThat(index.search("!!")).isNull();
+    }
+
+    @Test
+    void reindexReplacesAndRemoveDrops() {
+        add(1, "old title", "");
+        add(1, "new title", "");
+
+        assertThat(index.search("old").size()).isZero();
+        assertThat(index.search("new").ids()).containsExactly(1L);
+
+        index.remove(1L);
+        assertThat(index.search("new").size()).isZero();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void outOfOrderInsertsAndManyRemovalsKeepPostingsConsistent() {
+        for (long id = 100; id >= 1; id--) add(id, "common", id % 2 == 0 ? "even" : "odd");
+        for (long id = 1; id <= 80; id++) index.remove(id); // 표시된 칸이 절반을 넘어 압축된다
+        add(40, "common", "even");                          // 압축 뒤 가운데에 다시 끼워 넣기
+
+        assertThat(index.search("common").size()).isEqualTo(21);
+        assertThat(index.search("common even").ids()).containsExactlyInAnyOrder(
+                40L, 82L, 84L, 86L, 88L, 90L, 92L, 94L, 96L, 98L, 100L);
+        assertThat(index.search("odd").size()).isEqualTo(10);
+        assertThat(index.size()).isEqualTo(21);
+    }
+
+    @Test
+    void filterKeepsScores() {
+        add(1, "filter me", "");
+        add(2, "filter filter me", "");
+        add(3, "filter", "");
+
+        PostSearchIndex.Hits hits = index.search("filter").filter(id -> id != 3L);
+        assertThat(hits.rankedIds(2)).containsExactly(2L, 1L);
+    }
+}
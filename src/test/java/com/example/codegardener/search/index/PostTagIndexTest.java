@@ -0,0 +1,61 @@
+package com.example.codegardener.search.index;
+
+import com.example.codegardener.post.index.PostDocument;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostTagIndexTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    private final PostTagIndex index = new PostTagIndex();
+
+    private void add(long postId, String langs, LocalDateTime createdAt) {
+        index.index(PostDocument.builder().postId(postId).langTags(langs).contentsType(true).createdAt(createdAt).build());
+    }
+
+    @Test
+    void filterCombinesDimensions() {
+        add(1, "java", T);
+        add(2, "java,kotlin", T);
+        add(3, "python", T);
+
+        assertThat(index.latest(index.filter(null, List.of("java", "python"), List.of()))).containsExactly(3L, 2L, 1L);
+        assertThat(index.latest(index.filter(true, List.of("kotlin"), List.of()))).containsExactly(2L);
+    }
+
+    @Test
+    void latestFollowsCreatedAtNotPostId() {
+        add(1, "java", T);
+        add(2, "java", T.plusHours(1));
+        add(3, "java", T.minusYears(3)); // 원래 작성 시각으로 가져온 게시물
+        add(4, "java", T.plusHours(1));  // 같은 시각이면 postId 내림차순
+
+        RoaringBitmap java = index.filter(null, List.of("java"), List.of());
+        assertThat(index.latest(java)).containsExactly(4L, 2L, 1L, 3L);
+        assertThat(index.sortLatest(List.of(1L, 3L, 2L))).containsExactly(2L, 1L, 3L);
+        assertThat(index.latestKey(3L)).isLessThan(PostTagIndex.latestKey(T, 1L));
+    }
+
+    @Test
+    void latestSkipsRemovedPostsAndKeepsUpdatedOnesInPlace() {
+        for (long id = 1; id <= 40; id++) add(id, "java", T.plusMinutes(id));
+        add(5, "java", T.plusMinutes(5));  // 수정: 작성 시각은 그대로
+        for (long id = 10; id <= 35; id++) index.remove(id);
+
+        RoaringBitmap java = index.filter(null, List.of("java"), List.of());
+        assertThat(index.latest(java)).containsExactly(40L, 39L, 38L, 37L, 36L, 9L, 8L, 7L, 6L, 5L, 4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    void smallFilterIsSortedDirectly() {
+        for (long id = 1; id <= 100; id++) add(id, id == 50 || id == 60 ? "rust" : "java", T.minusMinutes(id));
+
+        assertThat(index.latest(index.filter(null, List.of("rust"), List.of()))).containsExactly(50L, 60L);
+    }
+}
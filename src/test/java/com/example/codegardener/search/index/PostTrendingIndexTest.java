@@ -0,0 +1,115 @@
+package com.example.codegardener.search.index;
+
+import com.example.codegardener.post.counter.PostCounter;
+import com.example.codegardener.post.index.PostDocument;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PostTrendingIndexTest {
+
+    private static final double HALF_LIFE_HOURS = 24;
+
+    private final PostTrendingIndex index = new PostTrendingIndex(null, HALF_LIFE_HOURS);
+
+    private void add(long postId, LocalDateTime createdAt) {
+        index.index(PostDocument.builder().postId(postId).contentsType(true).createdAt(createdAt).build());
+    }
+
+    @Test
+    void scoreDoublesEveryHalfLife() {
+        LocalDateTime t = LocalDateTime.of(2025, 6, 1, 0, 0);
+
+        double now = index.logDecayed(3, t);
+        double later = index.logDecayed(3, t.plusHours((long) HALF_LIFE_HOURS));
+
+        assertThat(later - now).isCloseTo(1.0, within(1e-9));
+        assertThat(index.logDecayed(0, t)).isEqualTo(Double.NEGATIVE_INFINITY);
+    }
+
+    @Test
+    void logAddMatchesLinearSum() {
+        double a = Math.log(6) / Math.log(2);
+        double b = Math.log(10) / Math.log(2);
+
+        assertThat(Math.pow(2, PostTrendingIndex.logAdd(a, b))).isCloseTo(16.0, within(1e-9));
+        assertThat(PostTrendingIndex.logAdd(Double.NEGATIVE_INFINITY, b)).isEqualTo(b);
+    }
+
+    @Test
+    void newerPostRanksFirstWithoutEvents() {
+        LocalDateTime now = LocalDateTime.now();
+        add(1, now.minusDays(2));
+        add(2, now.minusDays(1));
+
+        assertThat(index.top(true, 10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void recentLikesLiftAnOlderPost() {
+        LocalDateTime now = LocalDateTime.now();
+        add(1, now.minusDays(2));
+        add(2, now.minusDays(1));
+
+        for (int i = 0; i < 10; i++) index.onCounterChanged(1L, PostCounter.LIKES, 1);
+
+        assertThat(index.top(true, 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void unlikeOnOldPostDoesNotEraseItsScore() {
+        // 취소 시점 가중치(지금)는 오래된 게시물의 전체 점수보다 크지만, 점수가 사라지면 안 된다
+        LocalDateTime now = LocalDateTime.now();
+        add(1, now.minusDays(30));
+        add(2, now.minusDays(31));
+
+        index.onCounterChanged(1L, PostCounter.LIKES, 1);
+        index.onCounterChanged(1L, PostCounter.LIKES, -1);
+
+        assertThat(index.top(true, 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void unlikeReturnsToTheScoreBeforeTheLike() {
+        LocalDateTime now = LocalDateTime.now();
+        add(1, now.minusDays(2));
+        add(2, now.minusDays(1));
+
+        index.onCounterChanged(1L, PostCounter.LIKES, 1);
+        index.onCounterChanged(1L, PostCounter.LIKES, 1);
+        index.onCounterChanged(1L, PostCounter.LIKES, -2);
+        index.onCounterChanged(1L, PostCounter.LIKES, -1); // 누적분보다 많이 취소해도 작성 점수는 남는다
+
+        assertThat(index.top(true, 10)).containsExactly(2L, 1L);
+        assertThat(index.sort(List.of(1L, 2L, 3L))).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    void viewsAreAppliedInBatches() {
+        LocalDateTime now = LocalDateTime.now();
+        add(1, now.minusDays(2));
+        add(2, now.minusDays(1));
+
+        for (int i = 0; i < 50; i++) index.onCounterChanged(1L, PostCounter.VIEWS, 1);
+        assertThat(index.top(true, 10)).containsExactly(2L, 1L);
+
+        index.applyPendingViews();
+        assertThat(index.top(true, 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void removedPostDropsPendingViews() {
+        LocalDateTime now = LocalDateTime.now();
+        add(1, now.minusDays(1));
+        index.onCounterChanged(1L, PostCounter.VIEWS, 5);
+
+        index.remove(1L);
+        index.applyPendingViews();
+
+        assertThat(index.top(true, 10)).isEmpty();
+    }
+}
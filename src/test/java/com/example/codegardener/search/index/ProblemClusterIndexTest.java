@@ -0,0 +1,98 @@
+package com.example.codegardener.search.index;
+
+import com.example.codegardener.post.index.PostDocument;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProblemClusterIndexTest {
+
+    private static final String STAIRS = "계단을 한 번에 한 칸 또는 두 칸씩 오를 수 있을 때 n 번째 계단까지 오르는 방법의 수를 구하시오.";
+    private static final String STAIRS_REWORDED = "계단을 한번에 한 칸 또는 두 칸씩 오를 수 있다. n 번째 계단까지 오르는 방법의 수를 구하라!";
+    private static final String PRIMES = "자연수 n 이 주어질 때 1 이상 n 이하의 소수의 개수를 에라토스테네스의 체로 구하는 프로그램을 작성하시오.";
+
+    private final ProblemClusterIndex index = new ProblemClusterIndex();
+
+    private void add(long postId, String statement) {
+        index.index(PostDocument.builder().postId(postId).contentsType(false).problemStatement(statement).build());
+    }
+
+    @Test
+    void rewordedStatementJoinsTheSameCluster() {
+        add(1, STAIRS);
+        add(2, STAIRS_REWORDED);
+        add(3, PRIMES);
+
+        assertThat(index.otherSolutions(1L)).containsExactly(2L);
+        assertThat(index.otherSolutions(3L)).isEmpty();
+    }
+
+    @Test
+    void shortStatementsMatchOnlyExactly() {
+        add(1, "A + B");
+        add(2, "a+b");
+        add(3, "A - B");
+
+        assertThat(index.otherSolutions(1L)).containsExactly(2L);
+        assertThat(index.otherSolutions(3L)).isEmpty();
+    }
+
+    @Test
+    void devPostsAreNotClustered() {
+        add(1, STAIRS);
+        index.index(PostDocument.builder().postId(2L).contentsType(true).problemStatement(STAIRS).build());
+
+        assertThat(index.otherSolutions(1L)).isEmpty();
+        assertThat(index.otherSolutions(2L)).isEmpty();
+    }
+
+    @Test
+    void editingAPostMovesItToItsNewCluster() {
+        add(1, STAIRS);
+        add(2, STAIRS_REWORDED);
+        add(3, PRIMES);
+
+        add(2, PRIMES);
+
+        assertThat(index.otherSolutions(1L)).isEmpty();
+        assertThat(index.otherSolutions(3L)).containsExactly(2L);
+    }
+
+    @Test
+    void membersAreRegroupedWhenTheirOnlyLinkIsEdited() {
+        // 1~2, 2~3 은 비슷하지만 1~3 은 아니다 (문장 6개 중 겹치는 수 5 / 5 / 4)
+        add(1, chain(1, 6));
+        add(2, chain(2, 7));
+        add(3, chain(3, 8));
+        assertThat(index.otherSolutions(1L)).containsExactly(3L, 2L);
+
+        add(2, PRIMES);
+
+        assertThat(index.otherSolutions(1L)).isEmpty();
+        assertThat(index.otherSolutions(3L)).isEmpty();
+        assertThat(index.otherSolutions(2L)).isEmpty();
+    }
+
+    @Test
+    void removingAMemberKeepsTheRestTogetherWhenStillSimilar() {
+        add(1, STAIRS);
+        add(2, STAIRS_REWORDED);
+        add(3, STAIRS_REWORDED + " 단, n 은 45 이하.");
+
+        index.remove(1L);
+
+        assertThat(index.otherSolutions(2L)).containsExactly(3L);
+    }
+
+    private static final String[] SENTENCES = {
+            "정수 배열이 주어진다.", "각 원소는 서로 다르다.", "연속 부분 수열을 고른다.", "그 합이 최대가 되도록 한다.",
+            "길이는 적어도 하나다.", "최대 합을 출력하시오.", "음수만 있을 수도 있다.", "시간 제한은 일 초이다."
+    };
+
+    // from 번째 ~ to 번째 문장 (1부터)
+    private static String chain(int from, int to) {
+        return String.join(" ", Arrays.copyOfRange(SENTENCES, from - 1, to));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.codegardener.search.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchTokenizerTest {
+
+    @Test
+    void lowercasesWordsAndSplitsOnPunctuation() {
+        assertThat(SearchTokenizer.tokenize("Spring-Boot JPA_test, v2"))
+                .containsExactly("spring", "boot", "jpa_test", "v2");
+    }
+
+    @Test
+    void splitsHangulIntoBigrams() {
+        assertThat(SearchTokenizer.tokenize("자바스크립트")).containsExactly("자바", "바스", "스크", "크립", "립트");
+    }
+
+    @Test
+    void keepsSingleHangulCharacterAsUnigram() {
+        assertThat(SearchTokenizer.tokenize("자")).containsExactly("자");
+        assertThat(SearchTokenizer.isSingleCjk("자")).isTrue();
+        assertThat(SearchTokenizer.isSingleCjk("자바")).isFalse();
+        assertThat(SearchTokenizer.isSingleCjk("a")).isFalse();
+    }
+
+    @Test
+    void separatesHangulFromAdjacentLatin() {
+        assertThat(SearchTokenizer.tokenize("java배열")).containsExactly("java", "배열");
+    }
+
+    @Test
+    void dropsOverlongWords() {
+        assertThat(SearchTokenizer.tokenize("a".repeat(41) + " ok")).containsExactly("ok");
+    }
+
+    @Test
+    void emptyInputHasNoTokens() {
+        assertThat(SearchTokenizer.tokenize(null)).isEmpty();
+        assertThat(SearchTokenizer.tokenize("  ,. ")).isEmpty();
+    }
+}
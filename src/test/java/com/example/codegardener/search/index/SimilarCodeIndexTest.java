@@ -0,0 +1,58 @@
+package com.example.codegardener.search.index;
+
+import com.example.codegardener.post.index.PostDocument;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimilarCodeIndexTest {
+
+    private static final String BFS = """
+            Queue<Integer> queue = new ArrayDeque<>();
+            queue.add(start);
+            visited[start] = true;
+            while (!queue.isEmpty()) {
+                int cur = queue.poll();
+                for (int next : graph.get(cur)) {
+                    if (!visited[next]) {
+                        visited[next] = true;
+                        queue.add(next);
+                    }
+                }
+            }
+            """;
+
+    private final SimilarCodeIndex index = new SimilarCodeIndex();
+
+    private void add(long postId, String code) {
+        index.index(PostDocument.builder().postId(postId).code(code).build());
+    }
+
+    @Test
+    void renamedCopyIsRecommendedFirst() {
+        add(1, BFS);
+        add(2, BFS.replace("cur", "node"));
+        add(3, "print(sum(map(int, input().split())))");
+
+        assertThat(index.similarTo(1L, 5).stream().map(SimilarCodeIndex.Similar::postId).toList()).containsExactly(2L);
+        assertThat(index.similarTo(1L, 5).get(0).similarity()).isGreaterThan(0.5);
+        assertThat(index.similarTo(3L, 5)).isEmpty();
+    }
+
+    @Test
+    void tooShortCodeHasNoSignature() {
+        assertThat(SimilarCodeIndex.signatureOf("x = 1")).isNull();
+        assertThat(SimilarCodeIndex.signatureOf(BFS)).isEqualTo(SimilarCodeIndex.signatureOf(BFS));
+    }
+
+    @Test
+    void removedPostIsNoLongerRecommended() {
+        add(1, BFS);
+        add(2, BFS);
+
+        index.remove(2L);
+
+        assertThat(index.similarTo(1L, 5)).isEmpty();
+        assertThat(index.similarTo(2L, 5)).isEmpty();
+    }
+}